@@ -0,0 +1,103 @@
+package com.bloomberg.analyzer.bench;
+
+import com.bloomberg.analyzer.deals.api.dto.DealImportRequest;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reproducible HTTP load against a running application: posts {@code --requests} synthetic JSON batches of
+ * {@code --rows} rows from {@code --concurrency} clients and prints rows per second and the summed counters. Batches
+ * are generated up front from {@code --seed}, so two runs with the same arguments send identical traffic (use a fresh
+ * id prefix, or a fresh database, to avoid every row being a duplicate on the second run).
+ *
+ * <p>Options: {@code --url --requests --rows --concurrency --duplicates --invalid --seed --prefix --mode}.
+ */
+public final class DealImportLoadDriver {
+
+    private DealImportLoadDriver() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String url = options.getOrDefault("url", "http://localhost:8080/api/v1/deals/import");
+        int requests = Integer.parseInt(options.getOrDefault("requests", "100"));
+        int rows = Integer.parseInt(options.getOrDefault("rows", "1000"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "4"));
+        double duplicates = Double.parseDouble(options.getOrDefault("duplicates", "0.05"));
+        double invalid = Double.parseDouble(options.getOrDefault("invalid", "0.05"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        String prefix = options.getOrDefault("prefix", "LOAD-" + seed + "-");
+        String mode = options.getOrDefault("mode", "batched");
+
+        JsonMapper mapper = JsonMapper.builder().build();
+        SyntheticDealGenerator generator = new SyntheticDealGenerator(seed, duplicates, invalid, prefix);
+        List<byte[]> bodies = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            List<DealImportRequest> batch = generator.generate(rows);
+            bodies.add(mapper.writeValueAsBytes(batch));
+        }
+
+        HttpClient client = HttpClient.newHttpClient();
+        URI uri = URI.create(url + "?mode=" + mode + "&response=summary");
+        AtomicLong[] totals = {new AtomicLong(), new AtomicLong(), new AtomicLong(), new AtomicLong(), new AtomicLong()};
+        String[] counters = {"total", "imported", "duplicates", "failedValidation", "failedPersistence"};
+
+        long started = System.nanoTime();
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<?>> futures = new ArrayList<>(requests);
+            for (byte[] body : bodies) {
+                futures.add(clients.submit(() -> {
+                    HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri)
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                            .build(), HttpResponse.BodyHandlers.ofString());
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("HTTP " + response.statusCode() + ": " + response.body());
+                    }
+                    JsonNode summary = mapper.readTree(response.body());
+                    for (int c = 0; c < counters.length; c++) {
+                        totals[c].addAndGet(summary.get(counters[c]).asLong());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        System.out.printf("requests=%d rows=%d seconds=%.3f rowsPerSecond=%.0f%n",
+                requests, totals[0].get(), seconds, totals[0].get() / seconds);
+        for (int c = 1; c < counters.length; c++) {
+            System.out.printf("%s=%d%n", counters[c], totals[c].get());
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("expected --option value pairs, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+}
@@ -0,0 +1,89 @@
+package com.bloomberg.analyzer.bench;
+
+import com.bloomberg.analyzer.AnalyzerApplication;
+import com.bloomberg.analyzer.deals.api.dto.DealImportRequest;
+import com.bloomberg.analyzer.deals.api.dto.DealsImportResponse;
+import com.bloomberg.analyzer.deals.service.DealImportMode;
+import com.bloomberg.analyzer.deals.service.DealImportResponseMode;
+import com.bloomberg.analyzer.deals.service.DealImportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end import (validation, duplicate checks, inserts, rollups) through the real {@link DealImportService}
+ * against a running PostgreSQL, in rows per second. The database is taken from {@code -Dbench.jdbc.url}
+ * (default: the docker compose instance on localhost) and should be a throwaway one: benchmark deals are deleted
+ * afterwards, but rollups keep their counts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DealImportPersistBenchmark {
+    static final int ROWS = 5_000;
+
+    @Param({"BATCHED", "COPY", "PARALLEL"})
+    public DealImportMode mode;
+
+    @Param({"0.05"})
+    public double duplicateRatio;
+
+    @Param({"0.05"})
+    public double invalidRatio;
+
+    private ConfigurableApplicationContext context;
+    private DealImportService importService;
+    private SyntheticDealGenerator generator;
+    private List<DealImportRequest> batch;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        SpringApplication application = new SpringApplication(AnalyzerApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        context = application.run(
+                "--spring.datasource.url=" + System.getProperty("bench.jdbc.url", "jdbc:postgresql://localhost:5432/analyzer"),
+                "--spring.datasource.username=" + System.getProperty("bench.jdbc.user", "analyzer"),
+                "--spring.datasource.password=" + System.getProperty("bench.jdbc.password", "analyzer"),
+                "--logging.level.com.bloomberg.analyzer=error");
+        importService = context.getBean(DealImportService.class);
+        generator = new SyntheticDealGenerator(System.nanoTime(), duplicateRatio, invalidRatio, "BENCH-" + System.nanoTime() + "-");
+    }
+
+    @Setup(Level.Invocation)
+    public void nextBatch() {
+        batch = generator.generate(ROWS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public DealsImportResponse importBatch() {
+        return importService.importDeals(batch, mode, DealImportResponseMode.SUMMARY);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.getBean(JdbcTemplate.class).update("delete from deals where deal_id like 'BENCH-%'");
+        context.close();
+    }
+}
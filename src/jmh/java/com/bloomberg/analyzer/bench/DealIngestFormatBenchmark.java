@@ -0,0 +1,79 @@
+package com.bloomberg.analyzer.bench;
+
+import com.bloomberg.analyzer.deals.api.DealBatchBinaryCodec;
+import com.bloomberg.analyzer.deals.api.dto.DealImportRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request body decoding throughput of the accepted import formats, in rows per second, on identical rows. The encoded
+ * body size per row, i.e. what each format costs in bandwidth, is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DealIngestFormatBenchmark {
+    static final int ROWS = 10_000;
+
+    @Param({"json", "cbor", "smile", "binary"})
+    public String format;
+
+    private ObjectReader requestReader;
+    private byte[] requestBody;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<DealImportRequest> deals = new SyntheticDealGenerator(42, 0.05, 0.05, "F-").generate(ROWS);
+        if (format.equals("binary")) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            DealBatchBinaryCodec.write(deals, out);
+            requestBody = out.toByteArray();
+        } else {
+            ObjectMapper mapper = switch (format) {
+                case "json" -> JsonMapper.builder().build();
+                case "cbor" -> CBORMapper.builder().build();
+                case "smile" -> SmileMapper.builder().build();
+                default -> throw new IllegalArgumentException(format);
+            };
+            requestReader = mapper.readerFor(new TypeReference<List<DealImportRequest>>() {
+            });
+            requestBody = mapper.writeValueAsBytes(deals);
+        }
+        System.out.printf("%nformat=%s bodyBytes=%d bytesPerRow=%.1f%n", format, requestBody.length,
+                (double) requestBody.length / ROWS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<DealImportRequest> decode() throws IOException {
+        if (requestReader == null) {
+            return DealBatchBinaryCodec.read(new ByteArrayInputStream(requestBody));
+        }
+        return requestReader.readValue(requestBody);
+    }
+}
@@ -0,0 +1,73 @@
+package com.bloomberg.analyzer.bench;
+
+import com.bloomberg.analyzer.deals.api.dto.DealImportRequest;
+import com.bloomberg.analyzer.deals.api.dto.DealRowResult;
+import com.bloomberg.analyzer.deals.api.dto.DealsImportResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request body deserialization and response serialization throughput, in rows per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DealJsonBenchmark {
+    static final int ROWS = 10_000;
+
+    private ObjectReader requestReader;
+    private ObjectWriter responseWriter;
+    private byte[] requestBody;
+    private DealsImportResponse response;
+
+    @Setup
+    public void setUp() {
+        JsonMapper mapper = JsonMapper.builder().build();
+        requestReader = mapper.readerFor(new TypeReference<List<DealImportRequest>>() {
+        });
+        responseWriter = mapper.writerFor(DealsImportResponse.class);
+
+        List<DealImportRequest> deals = new SyntheticDealGenerator(42, 0.05, 0.05, "J-").generate(ROWS);
+        requestBody = mapper.writeValueAsBytes(deals);
+
+        List<DealRowResult> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(i % 20 == 0
+                    ? new DealRowResult(i, deals.get(i).dealId(), DealRowResult.Status.DUPLICATE, List.of("duplicate dealId"))
+                    : new DealRowResult(i, deals.get(i).dealId(), DealRowResult.Status.IMPORTED, List.of()));
+        }
+        response = new DealsImportResponse(ROWS, ROWS - ROWS / 20, ROWS / 20, 0, 0, rows);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<DealImportRequest> deserializeRequest() {
+        return requestReader.readValue(requestBody);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public byte[] serializeResponse() {
+        return responseWriter.writeValueAsBytes(response);
+    }
+}
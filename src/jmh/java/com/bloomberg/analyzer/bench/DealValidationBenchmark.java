@@ -0,0 +1,62 @@
+package com.bloomberg.analyzer.bench;
+
+import com.bloomberg.analyzer.deals.api.dto.DealImportRequest;
+import com.bloomberg.analyzer.deals.service.BeanValidationDealRowValidator;
+import com.bloomberg.analyzer.deals.service.DealRowValidator;
+import com.bloomberg.analyzer.deals.service.PrecompiledDealRowValidator;
+import jakarta.validation.Validation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row validation throughput in rows per second; run with {@code -prof gc} for bytes allocated per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DealValidationBenchmark {
+    static final int ROWS = 10_000;
+
+    @Param({"precompiled", "bean"})
+    public String validator;
+
+    @Param({"0.0", "0.1"})
+    public double invalidRatio;
+
+    private DealRowValidator rowValidator;
+    private List<DealImportRequest> rows;
+
+    @Setup
+    public void setUp() {
+        rowValidator = "bean".equals(validator)
+                ? new BeanValidationDealRowValidator(Validation.buildDefaultValidatorFactory().getValidator())
+                : new PrecompiledDealRowValidator();
+        rows = new SyntheticDealGenerator(42, 0, invalidRatio, "V-").generate(ROWS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int validate() {
+        int errors = 0;
+        for (DealImportRequest row : rows) {
+            errors += rowValidator.validate(row).size();
+        }
+        return errors;
+    }
+}
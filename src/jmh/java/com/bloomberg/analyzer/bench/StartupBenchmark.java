@@ -0,0 +1,191 @@
+package com.bloomberg.analyzer.bench;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Starts the packaged application repeatedly in each startup mode and prints the median time until Spring reports
+ * started, until the readiness probe reports {@code UP}, and of the first import request after that. Each run is a
+ * fresh JVM, launched and stopped by this driver; modes alternate so drift in the machine affects them alike.
+ *
+ * <ul>
+ *     <li>{@code baseline}: {@code java -jar}, schema scripts on every start, no warm-up</li>
+ *     <li>{@code cds}: baseline plus the class-data-sharing archive</li>
+ *     <li>{@code fast-start}: the {@code fast-start} profile with the AOT-generated context and the CDS archive, as the
+ *     Docker image runs</li>
+ * </ul>
+ *
+ * The application must have been built with {@code -Pfast-start} and unpacked into {@code --dir} with
+ * {@code java -Djarmode=tools -jar target/analyzer-0.0.1-SNAPSHOT.jar extract --destination <dir>
+ * --application-filename app.jar}; the CDS archive is trained there on first use, exactly as the Dockerfile does. The
+ * database from {@code SPRING_DATASOURCE_URL} receives {@code --rows} deals per run, so use a throwaway one.
+ *
+ * <p>Options: {@code --dir --runs --modes --port --rows}.
+ */
+public final class StartupBenchmark {
+    private static final Pattern STARTED =
+            Pattern.compile("Started \\S+ in ([0-9.]+) seconds \\(process running for ([0-9.]+)\\)");
+    private static final Duration READY_TIMEOUT = Duration.ofMinutes(3);
+    private static final String ARCHIVE = "application.jsa";
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        Path dir = Path.of(options.getOrDefault("dir", "target/startup")).toAbsolutePath();
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        List<String> modes = Arrays.asList(options.getOrDefault("modes", "baseline,cds,fast-start").split(","));
+        int port = Integer.parseInt(options.getOrDefault("port", "8080"));
+        int rows = Integer.parseInt(options.getOrDefault("rows", "500"));
+
+        if (!Files.isRegularFile(dir.resolve("app.jar"))) {
+            throw new IllegalArgumentException(dir.resolve("app.jar") + " not found; see the class description");
+        }
+        if (!Files.exists(dir.resolve(ARCHIVE))) {
+            train(dir);
+        }
+
+        JsonMapper mapper = JsonMapper.builder().build();
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        Map<String, List<double[]>> samples = new LinkedHashMap<>();
+        modes.forEach(mode -> samples.put(mode, new ArrayList<>()));
+        for (int run = 0; run < runs; run++) {
+            for (String mode : modes) {
+                double[] sample = runOnce(dir, mode, port, client, mapper, rows, "STARTUP-" + System.nanoTime() + "-");
+                samples.get(mode).add(sample);
+                System.out.printf("run=%d mode=%s startedMs=%.0f readyMs=%.0f firstImportMs=%.1f%n",
+                        run, mode, sample[0], sample[1], sample[2]);
+            }
+        }
+
+        System.out.printf("%n%-12s %12s %12s %16s%n", "mode", "startedMs", "readyMs", "firstImportMs");
+        for (Map.Entry<String, List<double[]>> entry : samples.entrySet()) {
+            System.out.printf("%-12s %12.0f %12.0f %16.1f%n", entry.getKey(),
+                    median(entry.getValue(), 0), median(entry.getValue(), 1), median(entry.getValue(), 2));
+        }
+    }
+
+    /**
+     * @return JVM uptime when Spring reported started, wall time from launch until ready, and the first import, in ms
+     */
+    private static double[] runOnce(Path dir, String mode, int port, HttpClient client, JsonMapper mapper, int rows,
+                                    String prefix) throws Exception {
+        List<String> command = new ArrayList<>(List.of(java(), "-Dserver.port=" + port,
+                "-Dmanagement.endpoint.health.probes.enabled=true"));
+        switch (mode) {
+            case "baseline" -> {
+            }
+            case "cds" -> command.add("-XX:SharedArchiveFile=" + ARCHIVE);
+            case "fast-start" -> command.addAll(List.of("-XX:SharedArchiveFile=" + ARCHIVE,
+                    "-Dspring.aot.enabled=true", "-Dspring.profiles.active=fast-start"));
+            default -> throw new IllegalArgumentException("unknown mode " + mode);
+        }
+        command.addAll(List.of("-jar", "app.jar"));
+
+        Path log = Files.createTempFile("startup-" + mode, ".log");
+        long launched = System.nanoTime();
+        Process process = new ProcessBuilder(command).directory(dir.toFile())
+                .redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            URI readiness = URI.create("http://localhost:" + port + "/actuator/health/readiness");
+            long deadline = launched + READY_TIMEOUT.toNanos();
+            while (!isUp(client, readiness)) {
+                if (!process.isAlive() || System.nanoTime() > deadline) {
+                    throw new IllegalStateException("application did not become ready, see " + log);
+                }
+                Thread.sleep(10);
+            }
+            double readyMs = (System.nanoTime() - launched) / 1e6;
+
+            byte[] body = mapper.writeValueAsBytes(new SyntheticDealGenerator(prefix.hashCode(), 0, 0, prefix)
+                    .generate(rows));
+            long importStarted = System.nanoTime();
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(
+                            URI.create("http://localhost:" + port + "/api/v1/deals/import?response=summary"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            double importMs = (System.nanoTime() - importStarted) / 1e6;
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("HTTP " + response.statusCode() + ": " + response.body());
+            }
+
+            Matcher started = STARTED.matcher(Files.readString(log));
+            if (!started.find()) {
+                throw new IllegalStateException("no startup line in " + log);
+            }
+            Files.delete(log);
+            return new double[]{Double.parseDouble(started.group(2)) * 1000, readyMs, importMs};
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    /**
+     * Records the CDS archive the way the Dockerfile does: the context is refreshed without touching the database and
+     * the JVM exits, dumping every class it loaded.
+     */
+    private static void train(Path dir) throws IOException, InterruptedException {
+        System.out.println("Training " + dir.resolve(ARCHIVE));
+        Process process = new ProcessBuilder(java(), "-XX:ArchiveClassesAtExit=" + ARCHIVE,
+                "-Dspring.context.exit=onRefresh", "-Dspring.aot.enabled=true", "-Dspring.profiles.active=fast-start",
+                "-Dspring.sql.init.mode=never", "-jar", "app.jar")
+                .directory(dir.toFile()).redirectErrorStream(true).redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("CDS training run failed");
+        }
+    }
+
+    private static boolean isUp(HttpClient client, URI readiness) throws InterruptedException {
+        try {
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(readiness).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            return response.statusCode() == 200 && response.body().contains("\"UP\"");
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static String java() {
+        return ProcessHandle.current().info().command().orElse("java");
+    }
+
+    private static double median(List<double[]> samples, int column) {
+        double[] values = samples.stream().mapToDouble(sample -> sample[column]).sorted().toArray();
+        int mid = values.length / 2;
+        return values.length % 2 == 1 ? values[mid] : (values[mid - 1] + values[mid]) / 2;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("expected --option value pairs, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+}
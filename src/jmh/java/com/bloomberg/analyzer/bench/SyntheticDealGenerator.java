@@ -0,0 +1,79 @@
+package com.bloomberg.analyzer.bench;
+
+import com.bloomberg.analyzer.deals.api.dto.DealImportRequest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic source of import rows for benchmarks and load tests. For a given seed the same rows are produced on
+ * every run. A {@code duplicateRatio} share of rows repeats the id of an earlier row, and an {@code invalidRatio}
+ * share breaks one validation rule.
+ */
+public final class SyntheticDealGenerator {
+    private static final String[] CURRENCIES = {"USD", "EUR", "GBP", "JPY", "CHF", "AUD", "CAD", "SEK", "NOK", "SGD"};
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+    private static final long YEAR_SECONDS = 365L * 24 * 3600;
+
+    private final SplittableRandom random;
+    private final double duplicateRatio;
+    private final double invalidRatio;
+    private final String idPrefix;
+    private long nextId;
+
+    public SyntheticDealGenerator(long seed, double duplicateRatio, double invalidRatio, String idPrefix) {
+        if (duplicateRatio < 0 || invalidRatio < 0 || duplicateRatio + invalidRatio > 1) {
+            throw new IllegalArgumentException("ratios must be non-negative and add up to at most 1");
+        }
+        this.random = new SplittableRandom(seed);
+        this.duplicateRatio = duplicateRatio;
+        this.invalidRatio = invalidRatio;
+        this.idPrefix = idPrefix;
+    }
+
+    public List<DealImportRequest> generate(int rows) {
+        List<DealImportRequest> deals = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            double roll = random.nextDouble();
+            if (roll < duplicateRatio && !deals.isEmpty()) {
+                DealImportRequest earlier = deals.get(random.nextInt(deals.size()));
+                deals.add(valid(earlier.dealId() == null ? newId() : earlier.dealId()));
+            } else if (roll < duplicateRatio + invalidRatio) {
+                deals.add(invalid(newId()));
+            } else {
+                deals.add(valid(newId()));
+            }
+        }
+        return deals;
+    }
+
+    private String newId() {
+        return idPrefix + nextId++;
+    }
+
+    private DealImportRequest valid(String dealId) {
+        int from = random.nextInt(CURRENCIES.length);
+        int to = (from + 1 + random.nextInt(CURRENCIES.length - 1)) % CURRENCIES.length;
+        return new DealImportRequest(
+                dealId,
+                CURRENCIES[from],
+                CURRENCIES[to],
+                START.plusSeconds(random.nextLong(YEAR_SECONDS)),
+                BigDecimal.valueOf(1 + random.nextLong(100_000_000L), 2)
+        );
+    }
+
+    private DealImportRequest invalid(String dealId) {
+        DealImportRequest row = valid(dealId);
+        return switch (random.nextInt(4)) {
+            case 0 -> new DealImportRequest(row.dealId(), "ZZZ", row.toCurrency(), row.timestamp(), row.amount());
+            case 1 -> new DealImportRequest(row.dealId(), row.fromCurrency(), "usd", row.timestamp(), row.amount());
+            case 2 -> new DealImportRequest(row.dealId(), row.fromCurrency(), row.toCurrency(), null, row.amount());
+            default -> new DealImportRequest(row.dealId(), row.fromCurrency(), row.toCurrency(), row.timestamp(),
+                    row.amount().negate());
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package com.bloomberg.analyzer.common.web;
+
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration(proxyBeanMethods = false)
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    /**
+     * Binds enum request parameters leniently (case-insensitive), so {@code ?response=failures} and
+     * {@code ?mode=copy} work alongside the upper-case constant names.
+     */
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        ApplicationConversionService.addApplicationConverters(registry);
+    }
+}
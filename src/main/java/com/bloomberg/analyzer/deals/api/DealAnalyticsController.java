@@ -0,0 +1,51 @@
+package com.bloomberg.analyzer.deals.api;
+
+import com.bloomberg.analyzer.deals.api.dto.DealAmountSeries;
+import com.bloomberg.analyzer.deals.api.dto.DealAmountStats;
+import com.bloomberg.analyzer.deals.api.dto.DealAnalyticsPairs;
+import com.bloomberg.analyzer.deals.service.DealAnalyticsService;
+import com.bloomberg.analyzer.deals.service.DealPairOrder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(path = "/api/v1/deals/analytics", produces = MediaType.APPLICATION_JSON_VALUE)
+public class DealAnalyticsController {
+    private final DealAnalyticsService dealAnalyticsService;
+
+    @GetMapping("/pairs")
+    public DealAnalyticsPairs pairs(@RequestParam(required = false) Instant from,
+                                    @RequestParam(required = false) Instant to,
+                                    @RequestParam(defaultValue = "count") DealPairOrder orderBy,
+                                    @RequestParam(defaultValue = "10") int limit) {
+        return dealAnalyticsService.pairs(from, to, orderBy, limit);
+    }
+
+    @GetMapping("/amounts")
+    public DealAmountStats amounts(@RequestParam(required = false) Instant from,
+                                   @RequestParam(required = false) Instant to,
+                                   @RequestParam(required = false) String fromCurrency,
+                                   @RequestParam(required = false) String toCurrency,
+                                   @RequestParam(required = false) List<Double> percentiles) {
+        return dealAnalyticsService.amounts(from, to, fromCurrency, toCurrency, percentiles);
+    }
+
+    @GetMapping("/series")
+    public DealAmountSeries series(@RequestParam Instant from,
+                                   @RequestParam Instant to,
+                                   @RequestParam Duration step,
+                                   @RequestParam(required = false) Duration window,
+                                   @RequestParam(required = false) String fromCurrency,
+                                   @RequestParam(required = false) String toCurrency) {
+        return dealAnalyticsService.series(from, to, step, window, fromCurrency, toCurrency);
+    }
+}
@@ -0,0 +1,143 @@
+package com.bloomberg.analyzer.deals.api;
+
+import com.bloomberg.analyzer.deals.api.dto.DealImportRequest;
+import org.springframework.http.MediaType;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-layout binary encoding of an import batch ({@code application/x-deal-batch}), which binds without any text
+ * parsing: timestamps are epoch nanoseconds and amounts a scaled {@code long}. All numbers are big-endian.
+ *
+ * <pre>
+ * batch  := "DLB1" count:int32 record{count}
+ * record := present:uint8 [dealId:str] [fromCurrency:str] [toCurrency:str]
+ *           [timestamp:int64 epoch nanos] [amount:int64 unscaled value, int8 scale]
+ * str    := length:uint16 UTF-8 bytes
+ * </pre>
+ *
+ * Bit {@code i} of {@code present} is set when the {@code i}-th field follows, so a missing field stays {@code null} and
+ * is reported by validation exactly as in JSON. Timestamps must lie between 1677 and 2262 and amounts must have an
+ * unscaled value that fits a {@code long}; batches with other values have to be sent as JSON.
+ */
+public final class DealBatchBinaryCodec {
+    public static final String MEDIA_TYPE_VALUE = "application/x-deal-batch";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    private static final int MAGIC = 0x444C4231; // "DLB1"
+    private static final int DEAL_ID = 1;
+    private static final int FROM_CURRENCY = 1 << 1;
+    private static final int TO_CURRENCY = 1 << 2;
+    private static final int TIMESTAMP = 1 << 3;
+    private static final int AMOUNT = 1 << 4;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    // Rows are only preallocated up to this many, so a forged count cannot reserve memory before any row is read.
+    private static final int MAX_PREALLOCATED_ROWS = 10_000;
+
+    private DealBatchBinaryCodec() {
+    }
+
+    /**
+     * @throws IOException if the input ends early or is not a batch in this format
+     */
+    public static List<DealImportRequest> read(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(input);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("not a deal batch");
+        }
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("negative row count");
+        }
+        List<DealImportRequest> deals = new ArrayList<>(Math.min(count, MAX_PREALLOCATED_ROWS));
+        for (int i = 0; i < count; i++) {
+            int present = in.readUnsignedByte();
+            String dealId = (present & DEAL_ID) != 0 ? readString(in) : null;
+            String fromCurrency = (present & FROM_CURRENCY) != 0 ? readString(in) : null;
+            String toCurrency = (present & TO_CURRENCY) != 0 ? readString(in) : null;
+            Instant timestamp = null;
+            if ((present & TIMESTAMP) != 0) {
+                long nanos = in.readLong();
+                timestamp = Instant.ofEpochSecond(Math.floorDiv(nanos, NANOS_PER_SECOND),
+                        Math.floorMod(nanos, NANOS_PER_SECOND));
+            }
+            BigDecimal amount = null;
+            if ((present & AMOUNT) != 0) {
+                long unscaled = in.readLong();
+                amount = BigDecimal.valueOf(unscaled, in.readByte());
+            }
+            deals.add(new DealImportRequest(dealId, fromCurrency, toCurrency, timestamp, amount));
+        }
+        if (in.read() != -1) {
+            throw new IOException("trailing bytes after " + count + " rows");
+        }
+        return deals;
+    }
+
+    /**
+     * @throws IllegalArgumentException if a value cannot be represented, see the class description
+     */
+    public static void write(List<DealImportRequest> deals, OutputStream output) throws IOException {
+        DataOutputStream out = new DataOutputStream(output);
+        out.writeInt(MAGIC);
+        out.writeInt(deals.size());
+        for (DealImportRequest deal : deals) {
+            int present = (deal.dealId() != null ? DEAL_ID : 0)
+                    | (deal.fromCurrency() != null ? FROM_CURRENCY : 0)
+                    | (deal.toCurrency() != null ? TO_CURRENCY : 0)
+                    | (deal.timestamp() != null ? TIMESTAMP : 0)
+                    | (deal.amount() != null ? AMOUNT : 0);
+            out.writeByte(present);
+            writeString(out, deal.dealId());
+            writeString(out, deal.fromCurrency());
+            writeString(out, deal.toCurrency());
+            if (deal.timestamp() != null) {
+                out.writeLong(epochNanos(deal.timestamp()));
+            }
+            if (deal.amount() != null) {
+                BigDecimal amount = deal.amount();
+                if (amount.unscaledValue().bitLength() > 63 || amount.scale() != (byte) amount.scale()) {
+                    throw new IllegalArgumentException("amount " + amount + " does not fit a scaled long");
+                }
+                out.writeLong(amount.unscaledValue().longValueExact());
+                out.writeByte(amount.scale());
+            }
+        }
+        out.flush();
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readUnsignedShort()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("string longer than 65535 bytes");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static long epochNanos(Instant timestamp) {
+        try {
+            return Math.addExact(Math.multiplyExact(timestamp.getEpochSecond(), NANOS_PER_SECOND), timestamp.getNano());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("timestamp " + timestamp + " is outside the epoch-nanos range");
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.bloomberg.analyzer.deals.api;
+
+import com.bloomberg.analyzer.deals.api.dto.DealImportRequest;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractSmartHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binds {@code application/x-deal-batch} bodies ({@link DealBatchBinaryCodec}) to {@code List<DealImportRequest>}.
+ * Read-only: responses are still written as JSON.
+ */
+public class DealBatchBinaryHttpMessageConverter extends AbstractSmartHttpMessageConverter<List<DealImportRequest>> {
+
+    public DealBatchBinaryHttpMessageConverter() {
+        super(DealBatchBinaryCodec.MEDIA_TYPE);
+    }
+
+    @Override
+    public boolean canRead(ResolvableType type, MediaType mediaType) {
+        return type.toClass() == List.class && type.resolveGeneric(0) == DealImportRequest.class && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(ResolvableType targetType, Class<?> valueClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public List<DealImportRequest> read(ResolvableType type, HttpInputMessage inputMessage, Map<String, Object> hints)
+            throws IOException {
+        try {
+            return DealBatchBinaryCodec.read(inputMessage.getBody());
+        } catch (IOException e) {
+            throw new HttpMessageNotReadableException("Invalid deal batch: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(List<DealImportRequest> deals, ResolvableType type, HttpOutputMessage outputMessage,
+                                 Map<String, Object> hints) {
+        throw new HttpMessageNotWritableException("application/x-deal-batch is only accepted as a request body");
+    }
+}
@@ -0,0 +1,39 @@
+package com.bloomberg.analyzer.deals.api;
+
+import com.bloomberg.analyzer.deals.api.dto.DealFileImportRequest;
+import com.bloomberg.analyzer.deals.api.dto.DealFileImportStatus;
+import com.bloomberg.analyzer.deals.service.DealFileImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(path = "/api/v1/deals/import/files", produces = MediaType.APPLICATION_JSON_VALUE)
+public class DealFileImportsController {
+    private final DealFileImportService dealFileImportService;
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<DealFileImportStatus> submit(@RequestBody DealFileImportRequest request) {
+        DealFileImportStatus status = dealFileImportService.submit(request.path(), request.format(), request.restart());
+        URI location = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                .path("/{id}")
+                .buildAndExpand(status.id())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(status);
+    }
+
+    @GetMapping("/{id}")
+    public DealFileImportStatus status(@PathVariable long id) {
+        return dealFileImportService.status(id);
+    }
+}
@@ -0,0 +1,61 @@
+package com.bloomberg.analyzer.deals.api;
+
+import com.bloomberg.analyzer.deals.service.DealImportAdmission;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Applies {@link DealImportAdmission} before an import request body is read, so refused requests cost neither parsing
+ * nor a connection. The admitted permit is exposed as the {@value #PERMIT_ATTRIBUTE} request attribute, where the
+ * controller reserves the rows it holds, and is released once the request completes.
+ */
+public class DealImportAdmissionInterceptor implements HandlerInterceptor {
+    public static final String PERMIT_ATTRIBUTE = "dealImportAdmissionPermit";
+
+    private final DealImportAdmission admission;
+    private final boolean acquireSlot;
+
+    /**
+     * @param acquireSlot whether requests take an import slot, or only have their size checked
+     */
+    public DealImportAdmissionInterceptor(DealImportAdmission admission, boolean acquireSlot) {
+        this.admission = admission;
+        this.acquireSlot = acquireSlot;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!admission.isEnabled()) {
+            return true;
+        }
+        if (!isNdjson(request)) {
+            admission.checkRequestSize(request.getContentLengthLong());
+        }
+        if (acquireSlot) {
+            request.setAttribute(PERMIT_ATTRIBUTE, admission.acquire());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof DealImportAdmission.Permit permit) {
+            permit.close();
+        }
+    }
+
+    private static boolean isNdjson(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            return MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.bloomberg.analyzer.deals.api;
+
+import com.bloomberg.analyzer.deals.api.dto.DealImportJobStatus;
+import com.bloomberg.analyzer.deals.api.dto.DealImportRequest;
+import com.bloomberg.analyzer.deals.service.DealImportJobService;
+import com.bloomberg.analyzer.deals.service.DealImportMode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(path = "/api/v1/deals/import/jobs", produces = MediaType.APPLICATION_JSON_VALUE)
+public class DealImportJobsController {
+    private final DealImportJobService dealImportJobService;
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<DealImportJobStatus> submit(@RequestBody List<DealImportRequest> deals,
+                                                      @RequestParam(defaultValue = "batched") DealImportMode mode) {
+        DealImportJobStatus job = dealImportJobService.submit(deals, mode);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                .path("/{jobId}")
+                .buildAndExpand(job.jobId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+
+    @GetMapping("/{jobId}")
+    public DealImportJobStatus status(@PathVariable UUID jobId,
+                                      @RequestParam(defaultValue = "0") int offset,
+                                      @RequestParam(defaultValue = "100") int limit) {
+        return dealImportJobService.status(jobId, offset, limit);
+    }
+}
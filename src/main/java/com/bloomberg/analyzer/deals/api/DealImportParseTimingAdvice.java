@@ -0,0 +1,54 @@
+package com.bloomberg.analyzer.deals.api;
+
+import com.bloomberg.analyzer.deals.api.dto.DealImportRequest;
+import com.bloomberg.analyzer.deals.service.DealImportMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Times the binding of JSON import bodies ({@code List<DealImportRequest>}), including reading the body from the
+ * connection, into {@code deal.import.parse}.
+ */
+@ControllerAdvice(assignableTypes = {DealsImportController.class, DealImportJobsController.class})
+@RequiredArgsConstructor
+public class DealImportParseTimingAdvice extends RequestBodyAdviceAdapter {
+    private static final String STARTED_ATTRIBUTE = DealImportParseTimingAdvice.class.getName() + ".started";
+
+    private final DealImportMetrics metrics;
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        ResolvableType type = ResolvableType.forType(targetType);
+        return List.class.isAssignableFrom(type.toClass()) && type.resolveGeneric(0) == DealImportRequest.class;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestContextHolder.currentRequestAttributes()
+                .setAttribute(STARTED_ATTRIBUTE, System.nanoTime(), RequestAttributes.SCOPE_REQUEST);
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        Object started = RequestContextHolder.currentRequestAttributes()
+                .getAttribute(STARTED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (started instanceof Long startedNanos && body instanceof List<?> rows) {
+            metrics.recordParse(System.nanoTime() - startedNanos, rows.size());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,35 @@
+package com.bloomberg.analyzer.deals.api;
+
+import com.bloomberg.analyzer.deals.api.dto.DealRejectPage;
+import com.bloomberg.analyzer.deals.api.dto.DealRejectResubmission;
+import com.bloomberg.analyzer.deals.api.dto.DealRejectResubmitRequest;
+import com.bloomberg.analyzer.deals.api.dto.DealRowResult;
+import com.bloomberg.analyzer.deals.service.DealRejectService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(path = "/api/v1/deals/rejects", produces = MediaType.APPLICATION_JSON_VALUE)
+public class DealRejectsController {
+    private final DealRejectService dealRejectService;
+
+    @GetMapping
+    public DealRejectPage rejects(@RequestParam(required = false) DealRowResult.Status status,
+                                  @RequestParam(required = false) String dealId,
+                                  @RequestParam(required = false) String cursor,
+                                  @RequestParam(defaultValue = "100") int limit) {
+        return dealRejectService.page(status, dealId, cursor, limit);
+    }
+
+    @PostMapping(path = "/resubmit", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public DealRejectResubmission resubmit(@RequestBody DealRejectResubmitRequest request) {
+        return dealRejectService.resubmit(request.ids());
+    }
+}
@@ -0,0 +1,31 @@
+package com.bloomberg.analyzer.deals.api;
+
+import com.bloomberg.analyzer.deals.api.dto.DealRollupBucket;
+import com.bloomberg.analyzer.deals.persistence.RollupResolution;
+import com.bloomberg.analyzer.deals.service.DealRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(path = "/api/v1/deals/rollups", produces = MediaType.APPLICATION_JSON_VALUE)
+public class DealRollupsController {
+    private final DealRollupService dealRollupService;
+
+    @GetMapping
+    public List<DealRollupBucket> rollups(@RequestParam(defaultValue = "hour") RollupResolution resolution,
+                                          @RequestParam Instant from,
+                                          @RequestParam Instant to,
+                                          @RequestParam(required = false) String fromCurrency,
+                                          @RequestParam(required = false) String toCurrency,
+                                          @RequestParam(defaultValue = "1000") int limit) {
+        return dealRollupService.find(resolution, from, to, fromCurrency, toCurrency, limit);
+    }
+}
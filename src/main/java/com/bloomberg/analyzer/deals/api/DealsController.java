@@ -0,0 +1,143 @@
+package com.bloomberg.analyzer.deals.api;
+
+import com.bloomberg.analyzer.deals.api.dto.DealLookupRequest;
+import com.bloomberg.analyzer.deals.api.dto.DealLookupResponse;
+import com.bloomberg.analyzer.deals.api.dto.DealPage;
+import com.bloomberg.analyzer.deals.api.dto.DealView;
+import com.bloomberg.analyzer.deals.persistence.DealFilter;
+import com.bloomberg.analyzer.deals.service.DealLookupService;
+import com.bloomberg.analyzer.deals.service.DealQueryService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.function.Consumer;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(path = "/api/v1/deals", produces = MediaType.APPLICATION_JSON_VALUE)
+public class DealsController {
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final String CSV_HEADER = "dealId,fromCurrency,toCurrency,timestamp,amount\n";
+
+    private final DealQueryService dealQueryService;
+    private final DealLookupService dealLookupService;
+    private final JsonMapper jsonMapper;
+
+    @GetMapping
+    public DealPage deals(@RequestParam(required = false) Instant from,
+                          @RequestParam(required = false) Instant to,
+                          @RequestParam(required = false) String fromCurrency,
+                          @RequestParam(required = false) String toCurrency,
+                          @RequestParam(required = false) String cursor,
+                          @RequestParam(defaultValue = "100") int limit) {
+        return dealQueryService.page(from, to, fromCurrency, toCurrency, cursor, limit);
+    }
+
+    /**
+     * Looks up one deal. Ids live under their own segment, so no deal id can shadow a route such as {@code /export}.
+     */
+    @GetMapping("/by-id/{dealId}")
+    public DealView deal(@PathVariable String dealId) {
+        return dealLookupService.find(dealId);
+    }
+
+    /**
+     * Looks up several deals by id at once; ids that are not stored are listed under {@code missing}.
+     */
+    @PostMapping(path = "/lookup", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public DealLookupResponse lookup(@RequestBody DealLookupRequest request) {
+        return dealLookupService.findAll(request.dealIds());
+    }
+
+    /**
+     * Streams matching deals as CSV straight from a database cursor to the response.
+     */
+    @GetMapping(path = "/export", produces = TEXT_CSV_VALUE)
+    public void exportCsv(@RequestParam(required = false) Instant from,
+                          @RequestParam(required = false) Instant to,
+                          @RequestParam(required = false) String fromCurrency,
+                          @RequestParam(required = false) String toCurrency,
+                          HttpServletResponse response) throws IOException {
+        DealFilter filter = dealQueryService.validate(from, to, fromCurrency, toCurrency);
+        Writer out = open(response, TEXT_CSV_VALUE, "deals.csv");
+        out.write(CSV_HEADER);
+        export(filter, out, deal -> {
+            writeCsvField(out, deal.dealId());
+            out.write(',');
+            out.write(deal.fromCurrency());
+            out.write(',');
+            out.write(deal.toCurrency());
+            out.write(',');
+            out.write(deal.timestamp().toString());
+            out.write(',');
+            out.write(deal.amount().toPlainString());
+            out.write('\n');
+        });
+    }
+
+    /**
+     * Streams matching deals as NDJSON straight from a database cursor to the response.
+     */
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportNdjson(@RequestParam(required = false) Instant from,
+                             @RequestParam(required = false) Instant to,
+                             @RequestParam(required = false) String fromCurrency,
+                             @RequestParam(required = false) String toCurrency,
+                             HttpServletResponse response) throws IOException {
+        DealFilter filter = dealQueryService.validate(from, to, fromCurrency, toCurrency);
+        Writer out = open(response, MediaType.APPLICATION_NDJSON_VALUE, "deals.ndjson");
+        export(filter, out, deal -> {
+            out.write(jsonMapper.writeValueAsString(deal));
+            out.write('\n');
+        });
+    }
+
+    private void export(DealFilter filter, Writer out, RowWriter rowWriter) throws IOException {
+        Consumer<DealView> consumer = deal -> {
+            try {
+                rowWriter.write(deal);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        dealQueryService.export(filter, consumer);
+        out.flush();
+    }
+
+    private static Writer open(HttpServletResponse response, String contentType, String filename) throws IOException {
+        response.setContentType(contentType);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+        return response.getWriter();
+    }
+
+    private static void writeCsvField(Writer out, String value) throws IOException {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(DealView deal) throws IOException;
+    }
+}
@@ -2,26 +2,100 @@ package com.bloomberg.analyzer.deals.api;
 
 import com.bloomberg.analyzer.deals.api.dto.DealImportRequest;
 import com.bloomberg.analyzer.deals.api.dto.DealsImportResponse;
+import com.bloomberg.analyzer.deals.service.DealImportAdmission;
+import com.bloomberg.analyzer.deals.service.DealImportMetrics;
+import com.bloomberg.analyzer.deals.service.DealImportMode;
+import com.bloomberg.analyzer.deals.service.DealImportReplayCache;
+import com.bloomberg.analyzer.deals.service.DealImportResponseMode;
 import com.bloomberg.analyzer.deals.service.DealImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping(path = "/api/v1/deals", produces = MediaType.APPLICATION_JSON_VALUE)
 public class DealsImportController {
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    static final String SMILE_VALUE = "application/x-jackson-smile";
+
     private final DealImportService dealImportService;
+    private final JsonMapper jsonMapper;
+    private final DealImportMetrics metrics;
+    private final DealImportReplayCache replayCache;
 
-    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
-    public DealsImportResponse importDeals(@RequestBody List<DealImportRequest> deals) {
-        return dealImportService.importDeals(deals);
+    /**
+     * Imports a batch sent as JSON, CBOR, Smile or {@link DealBatchBinaryCodec the fixed binary layout}; the response is
+     * always JSON. A retried batch, recognised by its {@code Idempotency-Key} header or its content, is answered with
+     * the original response and {@code Idempotent-Replayed: true} without being imported again.
+     */
+    @PostMapping(path = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+            SMILE_VALUE, DealBatchBinaryCodec.MEDIA_TYPE_VALUE})
+    public DealsImportResponse importDeals(@RequestBody List<DealImportRequest> deals,
+                                           @RequestParam(defaultValue = "batched") DealImportMode mode,
+                                           @RequestParam(defaultValue = "full") DealImportResponseMode response,
+                                           @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                           @RequestAttribute(name = DealImportAdmissionInterceptor.PERMIT_ATTRIBUTE, required = false)
+                                           DealImportAdmission.Permit permit,
+                                           HttpServletResponse httpResponse) {
+        if (permit != null && deals != null) {
+            permit.reserveRows(deals.size());
+        }
+        if (!replayCache.isEnabled()) {
+            return dealImportService.importDeals(deals, mode, response);
+        }
+        DealImportReplayCache.Outcome outcome = replayCache.execute(idempotencyKey, deals, mode, response,
+                () -> dealImportService.importDeals(deals, mode, response));
+        if (outcome.replayed()) {
+            httpResponse.setHeader(REPLAYED_HEADER, "true");
+        }
+        return outcome.response();
     }
-}
 
+    /**
+     * Streams an NDJSON upload through the import window by window and writes one NDJSON result line per row as soon
+     * as its window is persisted, so neither the request nor the response is ever fully materialised.
+     */
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importDealsNdjson(HttpServletRequest request, HttpServletResponse response,
+                                  @RequestAttribute(name = DealImportAdmissionInterceptor.PERMIT_ATTRIBUTE, required = false)
+                                  DealImportAdmission.Permit permit) throws IOException {
+        if (permit != null) {
+            permit.reserveWindow();
+        }
+        if (request.getCharacterEncoding() == null) {
+            request.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        }
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
 
+        NdjsonDealReader rows = new NdjsonDealReader(request.getReader(), jsonMapper.reader());
+        Writer out = response.getWriter();
+        dealImportService.importDeals(rows, row -> {
+            try {
+                out.write(jsonMapper.writeValueAsString(row));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        metrics.recordParse(rows.parseNanos(), rows.parsed());
+        out.flush();
+    }
+}
@@ -0,0 +1,99 @@
+package com.bloomberg.analyzer.deals.api;
+
+import com.bloomberg.analyzer.deals.api.dto.DealImportRequest;
+import com.bloomberg.analyzer.deals.service.DealRowParseException;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads newline-delimited JSON deals one line at a time. Only the current line is held in memory and each line is
+ * parsed independently, so a malformed line is reported as a single {@link DealRowParseException} and reading resumes
+ * with the next line. Blank lines are skipped.
+ */
+class NdjsonDealReader implements Iterator<DealImportRequest> {
+    static final int MAX_LINE_LENGTH = 64 * 1024;
+
+    private final Reader in;
+    private final ObjectReader objectReader;
+    private final StringBuilder line = new StringBuilder(256);
+
+    private String current;
+    private boolean lineReady;
+    private boolean lineTooLong;
+    private boolean eof;
+    private long parseNanos;
+    private int parsed;
+
+    NdjsonDealReader(Reader in, ObjectReader objectReader) {
+        this.in = in;
+        this.objectReader = objectReader.forType(DealImportRequest.class);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!lineReady && !eof) {
+            readLine();
+            current = line.toString();
+            lineReady = lineTooLong || !current.isBlank();
+        }
+        return lineReady;
+    }
+
+    @Override
+    public DealImportRequest next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        lineReady = false;
+        if (lineTooLong) {
+            throw new DealRowParseException("row exceeds " + MAX_LINE_LENGTH + " characters");
+        }
+        long started = System.nanoTime();
+        try {
+            return objectReader.readValue(current);
+        } catch (JacksonException e) {
+            throw new DealRowParseException("malformed JSON", current);
+        } finally {
+            parseNanos += System.nanoTime() - started;
+            parsed++;
+        }
+    }
+
+    /**
+     * Time spent parsing lines so far, excluding time spent waiting for input.
+     */
+    long parseNanos() {
+        return parseNanos;
+    }
+
+    int parsed() {
+        return parsed;
+    }
+
+    private void readLine() {
+        line.setLength(0);
+        lineTooLong = false;
+        try {
+            int c;
+            while ((c = in.read()) != -1) {
+                if (c == '\n') {
+                    return;
+                }
+                if (line.length() < MAX_LINE_LENGTH) {
+                    line.append((char) c);
+                } else {
+                    lineTooLong = true;
+                }
+            }
+            eof = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
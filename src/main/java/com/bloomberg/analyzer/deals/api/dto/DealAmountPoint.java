@@ -0,0 +1,16 @@
+package com.bloomberg.analyzer.deals.api.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Deals in {@code [start, end)}; {@code averageAmount} is {@code null} when there are none.
+ */
+public record DealAmountPoint(
+        Instant start,
+        Instant end,
+        long dealCount,
+        BigDecimal totalAmount,
+        BigDecimal averageAmount
+) {
+}
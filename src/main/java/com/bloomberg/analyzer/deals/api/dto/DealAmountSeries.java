@@ -0,0 +1,21 @@
+package com.bloomberg.analyzer.deals.api.dto;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One point per {@code step} from {@code from} until {@code to}, each covering the {@code window} that ends with its
+ * step, so a window wider than the step gives a sliding average.
+ */
+public record DealAmountSeries(
+        Instant from,
+        Instant to,
+        Duration step,
+        Duration window,
+        String fromCurrency,
+        String toCurrency,
+        boolean complete,
+        List<DealAmountPoint> points
+) {
+}
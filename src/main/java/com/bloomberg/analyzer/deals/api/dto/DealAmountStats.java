@@ -0,0 +1,26 @@
+package com.bloomberg.analyzer.deals.api.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Amount statistics of deals in {@code [from, to)}, for one currency pair or for all pairs when the currencies are
+ * {@code null}. Percentiles are only present when requested, keyed by the requested percentile, e.g. {@code "99.9"}.
+ * They are nearest-rank, within 0.2% of the exact amount, and exact for the first and last rank. They and the averages
+ * and extremes are {@code null} when no deal matched.
+ */
+public record DealAmountStats(
+        Instant from,
+        Instant to,
+        String fromCurrency,
+        String toCurrency,
+        boolean complete,
+        long dealCount,
+        BigDecimal totalAmount,
+        BigDecimal averageAmount,
+        BigDecimal minAmount,
+        BigDecimal maxAmount,
+        Map<String, BigDecimal> percentiles
+) {
+}
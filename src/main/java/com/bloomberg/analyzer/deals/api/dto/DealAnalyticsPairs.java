@@ -0,0 +1,16 @@
+package com.bloomberg.analyzer.deals.api.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Top currency pairs of deals in {@code [from, to)}; {@code to} is {@code null} when the range is open-ended.
+ * {@code complete} is {@code false} while the store is still loading or when deals in the range were evicted.
+ */
+public record DealAnalyticsPairs(
+        Instant from,
+        Instant to,
+        boolean complete,
+        List<DealPairStats> pairs
+) {
+}
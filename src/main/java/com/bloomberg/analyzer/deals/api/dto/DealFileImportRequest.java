@@ -0,0 +1,12 @@
+package com.bloomberg.analyzer.deals.api.dto;
+
+/**
+ * A file to import from the drop directory. {@code format} ({@code csv} or {@code ndjson}) is inferred from the file
+ * extension when omitted; {@code restart} discards an earlier checkpoint of the same path.
+ */
+public record DealFileImportRequest(
+        String path,
+        String format,
+        boolean restart
+) {
+}
@@ -0,0 +1,24 @@
+package com.bloomberg.analyzer.deals.api.dto;
+
+import java.time.Instant;
+
+/**
+ * Progress of a file import. {@code byteOffset} is the checkpoint an interrupted import resumes from; the counters
+ * cover every row up to it.
+ */
+public record DealFileImportStatus(
+        long id,
+        String path,
+        String format,
+        DealImportJobStatus.State state,
+        long fileSize,
+        long byteOffset,
+        long rowsProcessed,
+        long imported,
+        long duplicates,
+        long failedValidation,
+        long failedPersistence,
+        String error,
+        Instant updatedAt
+) {
+}
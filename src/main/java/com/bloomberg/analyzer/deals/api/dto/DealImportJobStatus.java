@@ -0,0 +1,28 @@
+package com.bloomberg.analyzer.deals.api.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public record DealImportJobStatus(
+        UUID jobId,
+        State state,
+        Instant submittedAt,
+        Instant startedAt,
+        Instant completedAt,
+        int total,
+        int processed,
+        int imported,
+        int duplicates,
+        int failedValidation,
+        int failedPersistence,
+        int offset,
+        List<DealRowResult> rows
+) {
+    public enum State {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -0,0 +1,8 @@
+package com.bloomberg.analyzer.deals.api.dto;
+
+import java.util.List;
+
+public record DealLookupRequest(
+        List<String> dealIds
+) {
+}
@@ -0,0 +1,12 @@
+package com.bloomberg.analyzer.deals.api.dto;
+
+import java.util.List;
+
+/**
+ * Deals found for a bulk lookup, in the order their ids were requested, and the requested ids that are not stored.
+ */
+public record DealLookupResponse(
+        List<DealView> deals,
+        List<String> missing
+) {
+}
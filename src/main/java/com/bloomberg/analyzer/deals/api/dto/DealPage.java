@@ -0,0 +1,12 @@
+package com.bloomberg.analyzer.deals.api.dto;
+
+import java.util.List;
+
+/**
+ * One page of deals. {@code nextCursor} is an opaque token for the following page, or {@code null} on the last page.
+ */
+public record DealPage(
+        List<DealView> deals,
+        String nextCursor
+) {
+}
@@ -0,0 +1,14 @@
+package com.bloomberg.analyzer.deals.api.dto;
+
+import java.math.BigDecimal;
+
+public record DealPairStats(
+        String fromCurrency,
+        String toCurrency,
+        long dealCount,
+        BigDecimal totalAmount,
+        BigDecimal averageAmount,
+        BigDecimal minAmount,
+        BigDecimal maxAmount
+) {
+}
@@ -0,0 +1,13 @@
+package com.bloomberg.analyzer.deals.api.dto;
+
+import java.util.List;
+
+/**
+ * One page of rejected rows. {@code nextCursor} is an opaque token for the following page, or {@code null} on the last
+ * page.
+ */
+public record DealRejectPage(
+        List<DealRejectView> rejects,
+        String nextCursor
+) {
+}
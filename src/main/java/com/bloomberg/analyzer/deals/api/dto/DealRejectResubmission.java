@@ -0,0 +1,15 @@
+package com.bloomberg.analyzer.deals.api.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of re-importing rejected rows. Row {@code i} of {@code result} is reject {@code resubmitted[i]}; the
+ * resubmitted rejects are removed, and rows that fail again are recorded as new rejects. Rejects without a usable
+ * payload, or that no longer exist, are listed in {@code skipped} and left untouched.
+ */
+public record DealRejectResubmission(
+        List<Long> resubmitted,
+        List<Long> skipped,
+        DealsImportResponse result
+) {
+}
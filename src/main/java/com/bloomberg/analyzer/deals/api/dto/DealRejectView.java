@@ -0,0 +1,19 @@
+package com.bloomberg.analyzer.deals.api.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A rejected import row. {@code index} is the row's position in its original import and {@code payload} the row as
+ * received, or {@code null} if nothing could be read.
+ */
+public record DealRejectView(
+        long id,
+        int index,
+        String dealId,
+        DealRowResult.Status status,
+        List<String> errors,
+        String payload,
+        Instant rejectedAt
+) {
+}
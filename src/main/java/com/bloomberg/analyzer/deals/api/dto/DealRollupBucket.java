@@ -0,0 +1,13 @@
+package com.bloomberg.analyzer.deals.api.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record DealRollupBucket(
+        String fromCurrency,
+        String toCurrency,
+        Instant bucketStart,
+        long dealCount,
+        BigDecimal totalAmount
+) {
+}
@@ -0,0 +1,18 @@
+package com.bloomberg.analyzer.deals.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration(proxyBeanMethods = false)
+public class ClockConfiguration {
+
+    /**
+     * Time source of the partition maintenance job and the analytics window; partitions are aligned to UTC months.
+     */
+    @Bean
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
+}
@@ -0,0 +1,20 @@
+package com.bloomberg.analyzer.deals.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+
+@Configuration(proxyBeanMethods = false)
+public class DealAnalyticsConfiguration {
+
+    /**
+     * Scans analytics queries in parallel, apart from the common pool so that they neither wait behind nor hold up
+     * other users of it. Workers are started on first use.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ForkJoinPool dealAnalyticsPool(DealAnalyticsProperties properties) {
+        int parallelism = properties.getParallelism();
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+}
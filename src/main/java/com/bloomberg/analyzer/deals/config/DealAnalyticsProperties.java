@@ -0,0 +1,58 @@
+package com.bloomberg.analyzer.deals.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "analyzer.analytics")
+public class DealAnalyticsProperties {
+
+    /**
+     * Whether recent deals are kept in the in-process columnar store behind {@code /api/v1/deals/analytics}. It is
+     * filled from the database in the background once the application is ready.
+     */
+    private boolean enabled = false;
+
+    /**
+     * How far back deals are kept; older deals are evicted a bucket at a time.
+     */
+    @NotNull
+    private Duration window = Duration.ofDays(7);
+
+    /**
+     * Time span of one storage bucket, the unit of eviction. Buckets are aligned to the epoch.
+     */
+    @NotNull
+    private Duration bucket = Duration.ofHours(1);
+
+    /**
+     * Upper bound for the column arrays, at 20 bytes per deal. When reached, the oldest buckets are evicted early and
+     * queries reaching back before them report {@code complete=false}.
+     */
+    @NotNull
+    private DataSize maxMemory = DataSize.ofMegabytes(256);
+
+    /**
+     * Decimal places kept of each amount, which is stored as a long of {@code 10^-amount-scale} units. Amounts that
+     * do not fit are not stored.
+     */
+    @Min(0)
+    @Max(12)
+    private int amountScale = 4;
+
+    /**
+     * Threads that scan in parallel for one query; 0 uses one per available processor.
+     */
+    @Min(0)
+    private int parallelism = 0;
+}
@@ -0,0 +1,26 @@
+package com.bloomberg.analyzer.deals.config;
+
+import com.bloomberg.analyzer.deals.api.DealImportAdmissionInterceptor;
+import com.bloomberg.analyzer.deals.service.DealImportAdmission;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration(proxyBeanMethods = false)
+@RequiredArgsConstructor
+public class DealImportAdmissionConfiguration implements WebMvcConfigurer {
+    private final DealImportAdmission dealImportAdmission;
+
+    /**
+     * Synchronous imports take an admission slot; job submissions only have their size checked, since the job queue
+     * already bounds how many run.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new DealImportAdmissionInterceptor(dealImportAdmission, true))
+                .addPathPatterns("/api/v1/deals/import");
+        registry.addInterceptor(new DealImportAdmissionInterceptor(dealImportAdmission, false))
+                .addPathPatterns("/api/v1/deals/import/jobs");
+    }
+}
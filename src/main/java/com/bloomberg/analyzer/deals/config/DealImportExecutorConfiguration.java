@@ -0,0 +1,71 @@
+package com.bloomberg.analyzer.deals.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration(proxyBeanMethods = false)
+public class DealImportExecutorConfiguration {
+
+    /**
+     * Bounded pool for asynchronous import jobs: at most {@code workers} jobs run at once and at most
+     * {@code queue-capacity} wait; anything beyond that is rejected rather than queued without limit.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService dealImportJobExecutor(DealImportProperties properties) {
+        DealImportProperties.Jobs jobs = properties.getJobs();
+        return new ThreadPoolExecutor(
+                jobs.getWorkers(),
+                jobs.getWorkers(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                jobs.getQueueCapacity() == 0 ? new SynchronousQueue<>() : new ArrayBlockingQueue<>(jobs.getQueueCapacity()),
+                threadFactory("deal-import-job-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /**
+     * Workers for {@code PARALLEL} imports. Each partition task holds one pooled connection while it runs, so
+     * {@code analyzer.import.parallel.workers} should stay below the connection pool size.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService dealImportParallelExecutor(DealImportProperties properties) {
+        return Executors.newFixedThreadPool(properties.getParallel().getWorkers(), threadFactory("deal-import-partition-"));
+    }
+
+    /**
+     * Workers for file imports; like import jobs, submissions beyond {@code queue-capacity} are rejected.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService dealFileImportExecutor(DealImportProperties properties) {
+        DealImportProperties.Files files = properties.getFiles();
+        return new ThreadPoolExecutor(
+                files.getWorkers(),
+                files.getWorkers(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                files.getQueueCapacity() == 0 ? new SynchronousQueue<>() : new ArrayBlockingQueue<>(files.getQueueCapacity()),
+                threadFactory("deal-file-import-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    static ThreadFactory threadFactory(String prefix) {
+        try {
+            return new VirtualThreadTaskExecutor(prefix).getVirtualThreadFactory();
+        } catch (UnsupportedOperationException e) {
+            // Virtual threads need JDK 21+; fall back to platform threads on older runtimes.
+            return new CustomizableThreadFactory(prefix);
+        }
+    }
+}
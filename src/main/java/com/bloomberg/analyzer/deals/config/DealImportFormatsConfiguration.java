@@ -0,0 +1,19 @@
+package com.bloomberg.analyzer.deals.config;
+
+import com.bloomberg.analyzer.deals.api.DealBatchBinaryHttpMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the fixed-layout {@code application/x-deal-batch} import format. CBOR and Smile need no registration:
+ * their Jackson converters are added by default because the dataformats are on the classpath.
+ */
+@Configuration(proxyBeanMethods = false)
+public class DealImportFormatsConfiguration implements WebMvcConfigurer {
+
+    @Override
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        builder.addCustomConverter(new DealBatchBinaryHttpMessageConverter());
+    }
+}
@@ -0,0 +1,292 @@
+package com.bloomberg.analyzer.deals.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "analyzer.import")
+public class DealImportProperties {
+
+    /**
+     * Number of validated rows written per multi-row insert statement. Bounded so a single statement stays well
+     * below the PostgreSQL limit of 65535 bind parameters.
+     */
+    @Min(1)
+    @Max(10_000)
+    private int batchSize = 500;
+
+    /**
+     * Row validation engine: the allocation-free precompiled validator, or reflective Bean Validation.
+     */
+    @NotNull
+    private Validation validation = Validation.PRECOMPILED;
+
+    @Valid
+    private final Jobs jobs = new Jobs();
+
+    @Valid
+    private final Parallel parallel = new Parallel();
+
+    @Valid
+    private final Dedupe dedupe = new Dedupe();
+
+    @Valid
+    private final Rejects rejects = new Rejects();
+
+    @Valid
+    private final Admission admission = new Admission();
+
+    @Valid
+    private final Files files = new Files();
+
+    @Valid
+    private final Replay replay = new Replay();
+
+    public enum Validation {
+        PRECOMPILED,
+        BEAN
+    }
+
+    @Getter
+    @Setter
+    public static class Jobs {
+        /**
+         * Import jobs executed concurrently. Workers are virtual threads when the runtime supports them.
+         */
+        @Min(1)
+        private int workers = 4;
+
+        /**
+         * Submitted jobs allowed to wait for a free worker; further submissions are rejected.
+         */
+        @Min(0)
+        private int queueCapacity = 32;
+
+        /**
+         * Finished jobs kept for polling; the oldest finished jobs are evicted first.
+         */
+        @Min(1)
+        private int maxRetained = 1000;
+
+        /**
+         * How long a finished job stays available for polling.
+         */
+        @NotNull
+        private Duration retention = Duration.ofHours(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Parallel {
+        /**
+         * Partitions imported concurrently in {@code PARALLEL} mode; each partition uses its own connection.
+         */
+        @Min(1)
+        private int workers = 4;
+    }
+
+    @Getter
+    @Setter
+    public static class Dedupe {
+        /**
+         * Whether known deal ids are pre-filtered in memory before inserting.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Number of deal ids the filter is sized for; beyond this the false-positive rate rises.
+         */
+        @Min(1)
+        private long expectedIds = 10_000_000;
+
+        /**
+         * Target false-positive rate at {@code expected-ids}; false positives cost one existence check, never
+         * correctness.
+         */
+        @DecimalMin("0.000001")
+        @DecimalMax("0.5")
+        private double falsePositiveRate = 0.01;
+    }
+
+    @Getter
+    @Setter
+    public static class Rejects {
+        /**
+         * Whether rejected rows are written to the {@code deal_rejects} dead-letter table.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Whether {@code DUPLICATE} rows are stored as well; they are always counted in the aggregated log lines.
+         */
+        private boolean includeDuplicates = true;
+
+        /**
+         * Rejected rows buffered for the writer; when the buffer is full further rows are dropped (and counted)
+         * instead of slowing the import down.
+         */
+        @Min(1)
+        private int capacity = 65_536;
+
+        /**
+         * Maximum rows written per insert statement.
+         */
+        @Min(1)
+        @Max(1_000)
+        private int batchSize = 500;
+
+        /**
+         * How long the writer waits for more rows before writing a partial batch.
+         */
+        @NotNull
+        private Duration flushInterval = Duration.ofMillis(200);
+
+        /**
+         * Interval of the aggregated {@code dealImport.rejected} log lines, and the minimum gap between two logged
+         * dead-letter write failures.
+         */
+        @NotNull
+        private Duration logInterval = Duration.ofSeconds(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Admission {
+        /**
+         * Whether synchronous imports are subject to admission control.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Synchronous imports running at once. Each holds a request thread and, while persisting, a pooled
+         * connection, so this should stay well below both the Tomcat thread and the connection pool size.
+         */
+        @Min(1)
+        private int maxConcurrent = 4;
+
+        /**
+         * Imports allowed to wait for a free slot; further imports are refused with {@code 429} straight away.
+         */
+        @Min(0)
+        private int maxQueued = 8;
+
+        /**
+         * How long a queued import waits for a slot before it is refused with {@code 429}.
+         */
+        @NotNull
+        private Duration queueTimeout = Duration.ofMillis(500);
+
+        /**
+         * Rows held by all running imports together. A JSON import holds all of its rows, an NDJSON import one window
+         * of {@code batch-size} rows; imports that would exceed the budget are refused with {@code 503}.
+         */
+        @Min(1)
+        private int maxRowsInFlight = 200_000;
+
+        /**
+         * Largest accepted request body, checked against {@code Content-Length} before the body is read
+         * ({@code 413} when exceeded). NDJSON uploads are streamed and exempt.
+         */
+        @NotNull
+        private DataSize maxRequestSize = DataSize.ofMegabytes(32);
+
+        /**
+         * Value of the {@code Retry-After} header sent with {@code 429} and {@code 503} responses.
+         */
+        @NotNull
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Files {
+        /**
+         * Directory file imports are read from; submitted paths are resolved against it and may not leave it.
+         */
+        @NotNull
+        private Path dropDirectory = Path.of("imports");
+
+        /**
+         * Size of the read buffer a file is streamed through.
+         */
+        @NotNull
+        private DataSize readBuffer = DataSize.ofMegabytes(1);
+
+        /**
+         * File imports executed concurrently.
+         */
+        @Min(1)
+        private int workers = 1;
+
+        /**
+         * Submitted file imports allowed to wait for a free worker; further submissions are rejected.
+         */
+        @Min(0)
+        private int queueCapacity = 16;
+
+        /**
+         * Whether imports left running or queued by a previous run are resumed from their checkpoint on startup.
+         */
+        private boolean resumeOnStartup = true;
+    }
+
+    @Getter
+    @Setter
+    public static class Replay {
+        /**
+         * Whether retried JSON imports are answered from the replay cache instead of being imported again.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Whether requests without an {@code Idempotency-Key} header are keyed by a hash of their content, so resending
+         * an identical batch within {@code ttl} replays the first response.
+         */
+        private boolean contentHashFallback = true;
+
+        /**
+         * How long a response can be replayed.
+         */
+        @NotNull
+        private Duration ttl = Duration.ofHours(1);
+
+        /**
+         * Responses kept in memory; the least recently used are evicted first.
+         */
+        @Min(1)
+        private int maxEntries = 10_000;
+
+        /**
+         * Row results kept in memory across all cached responses; the least recently used responses are evicted
+         * first.
+         */
+        @Min(0)
+        private int maxRows = 1_000_000;
+
+        /**
+         * How long a request waits for an identical request that is still being imported.
+         */
+        @NotNull
+        private Duration waitTimeout = Duration.ofSeconds(30);
+
+        /**
+         * Whether responses are also stored in {@code deal_import_replays}, so they survive restarts and are shared
+         * between instances.
+         */
+        private boolean persistent = false;
+    }
+}
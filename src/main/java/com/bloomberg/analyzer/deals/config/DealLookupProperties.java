@@ -0,0 +1,47 @@
+package com.bloomberg.analyzer.deals.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "analyzer.lookup")
+public class DealLookupProperties {
+
+    /**
+     * Most deal ids accepted by one bulk lookup; they are resolved with a single query.
+     */
+    @Min(1)
+    @Max(10_000)
+    private int maxIds = 1_000;
+
+    @Valid
+    private final Cache cache = new Cache();
+
+    @Getter
+    @Setter
+    public static class Cache {
+        /**
+         * Whether lookups are served through the in-process deal cache.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Deals kept in the cache; the least recently used are evicted first.
+         */
+        @Min(1)
+        private int maxEntries = 100_000;
+
+        /**
+         * Whether deals are added to the cache as they are imported, so lookups right after an import never reach the
+         * database. Turn off if large backfills would push frequently read deals out.
+         */
+        private boolean fillOnImport = true;
+    }
+}
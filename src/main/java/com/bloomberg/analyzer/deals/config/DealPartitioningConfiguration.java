@@ -0,0 +1,11 @@
+package com.bloomberg.analyzer.deals.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration(proxyBeanMethods = false)
+@EnableScheduling
+@ConditionalOnProperty(prefix = "analyzer.partitioning", name = "enabled", havingValue = "true")
+public class DealPartitioningConfiguration {
+}
@@ -0,0 +1,52 @@
+package com.bloomberg.analyzer.deals.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "analyzer.partitioning")
+public class DealPartitioningProperties {
+
+    /**
+     * Whether {@code deals} uses the monthly partitioned layout of {@code schema-partitioned.sql}. Must match the
+     * schema the database was created with; the {@code partitioned} profile sets both.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Months after the current one for which partitions are created ahead of time.
+     */
+    @Min(0)
+    private int premakeMonths = 3;
+
+    /**
+     * Full months of deals to keep before the current one; older partitions are removed by the retention job.
+     * {@code 0} keeps every partition.
+     */
+    @Min(0)
+    private int retentionMonths = 0;
+
+    /**
+     * What the retention job does with an expired partition: detach it into a standalone table for archiving, or
+     * drop it.
+     */
+    @NotNull
+    private RetentionAction retentionAction = RetentionAction.DETACH;
+
+    /**
+     * Schedule of the partition maintenance and retention job.
+     */
+    @NotNull
+    private String maintenanceCron = "0 15 * * * *";
+
+    public enum RetentionAction {
+        DETACH,
+        DROP
+    }
+}
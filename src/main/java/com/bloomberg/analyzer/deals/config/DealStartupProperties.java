@@ -0,0 +1,46 @@
+package com.bloomberg.analyzer.deals.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "analyzer.startup")
+public class DealStartupProperties {
+
+    /**
+     * Whether the schema scripts are skipped when the same scripts were already applied to the database, as recorded
+     * in {@code schema_script_versions}. Any change to a script, or to the list of scripts, runs them again.
+     */
+    private boolean skipCurrentSchema = false;
+
+    @Valid
+    private final Warmup warmup = new Warmup();
+
+    @Getter
+    @Setter
+    public static class Warmup {
+        /**
+         * Whether JSON binding, validation and persistence are exercised with synthetic deals before the application
+         * reports ready. Persistence runs in transactions that are rolled back, so nothing is stored.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Rounds of synthetic deals; each binds, validates and inserts {@code rows} deals.
+         */
+        @Min(1)
+        private int iterations = 20;
+
+        /**
+         * Deals per round; defaults to one import chunk.
+         */
+        @Min(1)
+        private int rows = 500;
+    }
+}
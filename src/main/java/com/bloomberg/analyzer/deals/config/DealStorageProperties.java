@@ -0,0 +1,27 @@
+package com.bloomberg.analyzer.deals.config;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "analyzer.storage")
+public class DealStorageProperties {
+
+    /**
+     * Physical encoding of deals. {@code compact} stores currencies as dictionary codes and amounts as scaled
+     * integers in {@code deals_compact} behind a {@code deals} view (see {@code schema-compact.sql}); it must match
+     * the schema the database was created with, and the {@code compact} profile sets both.
+     */
+    @NotNull
+    private Encoding encoding = Encoding.STANDARD;
+
+    public enum Encoding {
+        STANDARD,
+        COMPACT
+    }
+}
@@ -0,0 +1,25 @@
+package com.bloomberg.analyzer.deals.config;
+
+import com.bloomberg.analyzer.deals.persistence.VersionedSchemaInitializer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.sql.autoconfigure.init.SqlInitializationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Replaces Spring Boot's schema initializer, which backs off when this one is present, so the scripts can be skipped
+ * when they are already applied. Whether they are is decided at runtime, so an AOT-processed build honours
+ * {@code analyzer.startup.skip-current-schema} like any other.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(SqlInitializationProperties.class)
+public class SchemaInitializationConfiguration {
+
+    @Bean
+    public VersionedSchemaInitializer schemaInitializer(DataSource dataSource, SqlInitializationProperties sql,
+                                                        DealStartupProperties startup) {
+        return new VersionedSchemaInitializer(dataSource, sql, startup.isSkipCurrentSchema());
+    }
+}
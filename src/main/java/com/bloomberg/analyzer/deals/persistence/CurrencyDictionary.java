@@ -0,0 +1,100 @@
+package com.bloomberg.analyzer.deals.persistence;
+
+import com.bloomberg.analyzer.deals.config.DealPartitioningProperties;
+import com.bloomberg.analyzer.deals.config.DealStorageProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory copy of the {@code currencies} dictionary used by the compact encoding. On first use every currency the
+ * JDK knows (the validator accepts no others) is registered with its ISO 4217 minor units as amount exponent, unless
+ * already present, and the whole dictionary is loaded. Codes and exponents are never changed once assigned, because
+ * stored rows are decoded with them.
+ */
+@Repository
+public class CurrencyDictionary {
+    private static final String SEED_SQL =
+            "insert into currencies (iso, amount_exponent) values (?, ?) on conflict (iso) do nothing";
+    private static final String LOAD_SQL = "select iso, code, amount_exponent from currencies";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private volatile Map<String, Entry> entries;
+
+    public CurrencyDictionary(JdbcTemplate jdbcTemplate, DealStorageProperties storage,
+                              DealPartitioningProperties partitioning) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = storage.getEncoding() == DealStorageProperties.Encoding.COMPACT;
+        if (enabled && partitioning.isEnabled()) {
+            throw new IllegalStateException("the compact storage encoding cannot be combined with partitioning");
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Registers and loads the dictionary if that has not happened yet.
+     */
+    public void ensureLoaded() {
+        if (entries == null) {
+            load();
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the currency is not in the dictionary
+     */
+    public Entry get(String iso) {
+        Map<String, Entry> loaded = entries;
+        if (loaded == null) {
+            loaded = load();
+        }
+        Entry entry = loaded.get(iso);
+        if (entry == null) {
+            throw new IllegalArgumentException("unknown currency " + iso);
+        }
+        return entry;
+    }
+
+    private synchronized Map<String, Entry> load() {
+        if (entries == null) {
+            List<Object[]> seed = Currency.getAvailableCurrencies().stream()
+                    .map(c -> new Object[]{c.getCurrencyCode(), (short) Math.max(0, c.getDefaultFractionDigits())})
+                    .toList();
+            jdbcTemplate.batchUpdate(SEED_SQL, seed);
+
+            Map<String, Entry> loaded = new HashMap<>();
+            jdbcTemplate.query(LOAD_SQL, rs -> {
+                loaded.put(rs.getString(1), new Entry(rs.getShort(2), rs.getShort(3)));
+            });
+            entries = Map.copyOf(loaded);
+        }
+        return entries;
+    }
+
+    /**
+     * Dictionary code of a currency and the decimal exponent its amounts are scaled by.
+     */
+    public record Entry(short code, int exponent) {
+
+        /**
+         * @return {@code amount * 10^exponent} if that is an integer that fits a {@code bigint}, otherwise
+         * {@code null} (the amount is then stored as numeric)
+         */
+        public Long units(BigDecimal amount) {
+            try {
+                return amount.movePointRight(exponent).longValueExact();
+            } catch (ArithmeticException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.bloomberg.analyzer.deals.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes deals with multi-row {@code INSERT ... ON CONFLICT DO NOTHING} statements instead of one JPA flush per row.
+ * The JPA mapping uses {@code IDENTITY} ids, which disables Hibernate JDBC batching, so bulk writes go through JDBC.
+ * With the partitioned layout each id is first registered in {@code deal_ids}, and only rows whose registration
+ * succeeded are inserted into {@code deals}; with the compact encoding rows are encoded through the
+ * {@link CurrencyDictionary} and written to {@code deals_compact}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DealBatchWriter {
+    private static final String INSERT_PREFIX =
+            "insert into deals (deal_id, from_currency, to_currency, deal_ts, amount) values ";
+    private static final String VALUES_ROW = "(?, ?, ?, ?, ?)";
+    private static final String INSERT_SUFFIX = " on conflict (deal_id) do nothing returning deal_id";
+
+    private static final String REGISTERED_INSERT_PREFIX =
+            "with v (deal_id, from_currency, to_currency, deal_ts, amount) as (values ";
+    private static final String REGISTERED_INSERT_SUFFIX = """
+            ), registered as (
+                insert into deal_ids (deal_id, deal_ts)
+                select deal_id, deal_ts::timestamptz from v
+                on conflict (deal_id) do nothing
+                returning deal_id
+            )
+            insert into deals (deal_id, from_currency, to_currency, deal_ts, amount)
+            select distinct on (v.deal_id) v.deal_id, v.from_currency, v.to_currency, v.deal_ts::timestamptz, v.amount::numeric
+            from v join registered r on r.deal_id = v.deal_id
+            returning deal_id
+            """;
+
+    private static final String COMPACT_INSERT_PREFIX =
+            "insert into deals_compact (deal_id, from_code, to_code, deal_ts, amount_units, amount) values ";
+    private static final String COMPACT_VALUES_ROW = "(?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DealPartitionManager partitionManager;
+    private final CurrencyDictionary currencyDictionary;
+
+    /**
+     * Inserts all deals in a single statement, skipping deal ids that already exist. The statement is atomic: when it
+     * fails, none of the rows are inserted. With the partitioned layout, the partitions must already exist; see
+     * {@link DealPartitionManager#ensurePartitionsFor}.
+     *
+     * @return deal ids that were actually inserted by this call
+     */
+    public Set<String> insertIgnoringDuplicates(List<DealEntity> deals) {
+        if (deals.isEmpty()) {
+            return Set.of();
+        }
+
+        String sql;
+        PreparedStatementSetter binder;
+        if (partitionManager.isEnabled()) {
+            sql = valuesSql(REGISTERED_INSERT_PREFIX, VALUES_ROW, deals.size(), REGISTERED_INSERT_SUFFIX);
+            binder = ps -> bind(ps, deals);
+        } else if (currencyDictionary.isEnabled()) {
+            sql = valuesSql(COMPACT_INSERT_PREFIX, COMPACT_VALUES_ROW, deals.size(), INSERT_SUFFIX);
+            binder = ps -> bindCompact(ps, deals);
+        } else {
+            sql = valuesSql(INSERT_PREFIX, VALUES_ROW, deals.size(), INSERT_SUFFIX);
+            binder = ps -> bind(ps, deals);
+        }
+
+        List<String> inserted = jdbcTemplate.query(sql, binder, (rs, rowNum) -> rs.getString(1));
+        return new HashSet<>(inserted);
+    }
+
+    private static String valuesSql(String prefix, String row, int rows, String suffix) {
+        StringBuilder sql = new StringBuilder(prefix.length() + rows * (row.length() + 2) + suffix.length());
+        sql.append(prefix);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(row);
+        }
+        return sql.append(suffix).toString();
+    }
+
+    private static void bind(PreparedStatement ps, List<DealEntity> deals) throws SQLException {
+        int p = 1;
+        for (DealEntity deal : deals) {
+            ps.setString(p++, deal.getDealId());
+            ps.setString(p++, deal.getFromCurrency());
+            ps.setString(p++, deal.getToCurrency());
+            ps.setObject(p++, deal.getDealTs().atOffset(ZoneOffset.UTC));
+            ps.setBigDecimal(p++, deal.getAmount());
+        }
+    }
+
+    private void bindCompact(PreparedStatement ps, List<DealEntity> deals) throws SQLException {
+        int p = 1;
+        for (DealEntity deal : deals) {
+            CurrencyDictionary.Entry from = currencyDictionary.get(deal.getFromCurrency());
+            Long units = from.units(deal.getAmount());
+            ps.setString(p++, deal.getDealId());
+            ps.setShort(p++, from.code());
+            ps.setShort(p++, currencyDictionary.get(deal.getToCurrency()).code());
+            ps.setObject(p++, deal.getDealTs().atOffset(ZoneOffset.UTC));
+            if (units != null) {
+                ps.setLong(p++, units);
+                ps.setNull(p++, Types.NUMERIC);
+            } else {
+                ps.setNull(p++, Types.BIGINT);
+                ps.setBigDecimal(p++, deal.getAmount());
+            }
+        }
+    }
+}
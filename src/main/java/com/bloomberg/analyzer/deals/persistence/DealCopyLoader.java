@@ -0,0 +1,182 @@
+package com.bloomberg.analyzer.deals.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.util.BitSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bulk-loads deals with PostgreSQL {@code COPY}: rows are streamed into the unlogged {@code deals_import_staging} table
+ * and merged into {@code deals} with one set-based insert. The whole load runs in one transaction, so it either
+ * succeeds as a unit or leaves no trace. With the partitioned layout the merge registers ids in {@code deal_ids} first;
+ * with the compact encoding it encodes currencies and amounts into {@code deals_compact}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DealCopyLoader {
+    private static final String COPY_SQL =
+            "copy deals_import_staging (load_id, row_index, deal_id, from_currency, to_currency, deal_ts, amount) "
+                    + "from stdin with (format csv)";
+
+    // uk_deals_deal_id is a unique index rather than a constraint, so the conflict target is inferred from the column.
+    private static final String MERGE_SQL = """
+            with candidates as (
+                select distinct on (deal_id) row_index, deal_id, from_currency, to_currency, deal_ts, amount
+                from deals_import_staging
+                where load_id = ?
+                order by deal_id, row_index
+            ), inserted as (
+                insert into deals (deal_id, from_currency, to_currency, deal_ts, amount)
+                select deal_id, from_currency, to_currency, deal_ts, amount from candidates
+                on conflict (deal_id) do nothing
+                returning deal_id
+            )
+            select c.row_index from candidates c join inserted i on i.deal_id = c.deal_id
+            """;
+
+    private static final String REGISTERED_MERGE_SQL = """
+            with candidates as (
+                select distinct on (deal_id) row_index, deal_id, from_currency, to_currency, deal_ts, amount
+                from deals_import_staging
+                where load_id = ?
+                order by deal_id, row_index
+            ), registered as (
+                insert into deal_ids (deal_id, deal_ts)
+                select deal_id, deal_ts from candidates
+                on conflict (deal_id) do nothing
+                returning deal_id
+            ), inserted as (
+                insert into deals (deal_id, from_currency, to_currency, deal_ts, amount)
+                select c.deal_id, c.from_currency, c.to_currency, c.deal_ts, c.amount
+                from candidates c join registered r on r.deal_id = c.deal_id
+                returning deal_id
+            )
+            select c.row_index from candidates c join inserted i on i.deal_id = c.deal_id
+            """;
+
+    private static final String COMPACT_MERGE_SQL = """
+            with candidates as (
+                select distinct on (deal_id) row_index, deal_id, from_currency, to_currency, deal_ts, amount
+                from deals_import_staging
+                where load_id = ?
+                order by deal_id, row_index
+            ), inserted as (
+                insert into deals_compact (deal_id, from_code, to_code, deal_ts, amount_units, amount)
+                select c.deal_id, f.code, t.code, c.deal_ts,
+                       case when s.fits then x.scaled::bigint end,
+                       case when s.fits then null else c.amount end
+                from candidates c
+                join currencies f on f.iso = c.from_currency
+                join currencies t on t.iso = c.to_currency
+                cross join lateral (select c.amount * power(10::numeric, f.amount_exponent) as scaled) x
+                cross join lateral (select x.scaled = trunc(x.scaled) and abs(x.scaled) <= 9223372036854775807 as fits) s
+                on conflict (deal_id) do nothing
+                returning deal_id
+            )
+            select c.row_index from candidates c join inserted i on i.deal_id = c.deal_id
+            """;
+
+    private static final String CLEANUP_SQL = "delete from deals_import_staging where load_id = ?";
+
+    private static final int COPY_BUFFER_BYTES = 1 << 16;
+    private static final int RESULT_FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DealPartitionManager partitionManager;
+    private final CurrencyDictionary currencyDictionary;
+
+    /**
+     * Loads the deals and reports which of them were inserted. A deal is not inserted when its id already exists in
+     * {@code deals} or appears earlier in the same load. With the partitioned layout, the partitions must already
+     * exist; see {@link DealPartitionManager#ensurePartitionsFor}.
+     *
+     * @return positions (into {@code deals}) of the rows that were inserted
+     */
+    public BitSet load(List<DealEntity> deals) {
+        if (deals.isEmpty()) {
+            return new BitSet();
+        }
+
+        String mergeSql = mergeSql();
+
+        UUID loadId = UUID.randomUUID();
+        return transactionTemplate.execute(status -> {
+            copyIntoStaging(loadId, deals);
+
+            BitSet inserted = new BitSet(deals.size());
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(mergeSql);
+                ps.setObject(1, loadId);
+                ps.setFetchSize(RESULT_FETCH_SIZE);
+                return ps;
+            }, (RowCallbackHandler) rs -> inserted.set(rs.getInt(1)));
+
+            jdbcTemplate.update(CLEANUP_SQL, loadId);
+            return inserted;
+        });
+    }
+
+    private String mergeSql() {
+        if (partitionManager.isEnabled()) {
+            return REGISTERED_MERGE_SQL;
+        }
+        if (currencyDictionary.isEnabled()) {
+            // The merge joins against the dictionary, so every currency must be registered beforehand.
+            currencyDictionary.ensureLoaded();
+            return COMPACT_MERGE_SQL;
+        }
+        return MERGE_SQL;
+    }
+
+    private void copyIntoStaging(UUID loadId, List<DealEntity> deals) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+            PGConnection pg = con.unwrap(PGConnection.class);
+            try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                    new PGCopyOutputStream(pg, COPY_SQL, COPY_BUFFER_BYTES), StandardCharsets.UTF_8))) {
+                String load = loadId.toString();
+                for (int i = 0; i < deals.size(); i++) {
+                    DealEntity deal = deals.get(i);
+                    out.write(load);
+                    out.write(',');
+                    out.write(Integer.toString(i));
+                    out.write(',');
+                    writeQuoted(out, deal.getDealId());
+                    out.write(',');
+                    out.write(deal.getFromCurrency());
+                    out.write(',');
+                    out.write(deal.getToCurrency());
+                    out.write(',');
+                    out.write(deal.getDealTs().toString());
+                    out.write(',');
+                    out.write(deal.getAmount().toPlainString());
+                    out.write('\n');
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        });
+    }
+
+    private static void writeQuoted(Writer out, String value) throws IOException {
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
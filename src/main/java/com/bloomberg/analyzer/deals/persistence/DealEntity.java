@@ -13,6 +13,10 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.Instant;
 
+/**
+ * A stored deal. With the compact storage encoding {@code deals} is a view that decodes {@code deals_compact}, so the
+ * entity is only read through it; imports write through {@link DealBatchWriter} and {@link DealCopyLoader}.
+ */
 @Entity
 @Table(name = "deals")
 @Getter
@@ -0,0 +1,102 @@
+package com.bloomberg.analyzer.deals.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Checkpoints of file imports in {@code deal_file_imports}, one row per file path.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DealFileImportRepository {
+    private static final String COLUMNS = "id, path, format, file_size, file_modified_at, state, byte_offset,"
+            + " rows_processed, imported, duplicates, failed_validation, failed_persistence, error, updated_at";
+
+    private static final RowMapper<DealFileImportRow> ROW_MAPPER = (rs, rowNum) -> new DealFileImportRow(
+            rs.getLong(1),
+            rs.getString(2),
+            rs.getString(3),
+            rs.getLong(4),
+            rs.getObject(5, OffsetDateTime.class).toInstant(),
+            rs.getString(6),
+            rs.getLong(7),
+            rs.getLong(8),
+            rs.getLong(9),
+            rs.getLong(10),
+            rs.getLong(11),
+            rs.getLong(12),
+            rs.getString(13),
+            rs.getObject(14, OffsetDateTime.class).toInstant()
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<DealFileImportRow> findById(long id) {
+        return jdbcTemplate.query("select " + COLUMNS + " from deal_file_imports where id = ?", ROW_MAPPER, id)
+                .stream().findFirst();
+    }
+
+    public Optional<DealFileImportRow> findByPath(String path) {
+        return jdbcTemplate.query("select " + COLUMNS + " from deal_file_imports where path = ?", ROW_MAPPER, path)
+                .stream().findFirst();
+    }
+
+    public List<DealFileImportRow> findByState(String state) {
+        return jdbcTemplate.query("select " + COLUMNS + " from deal_file_imports where state = ? order by id",
+                ROW_MAPPER, state);
+    }
+
+    /**
+     * Starts the import of a file from the beginning, discarding any earlier checkpoint of the same path.
+     *
+     * @return the import id
+     */
+    public long start(String path, String format, long fileSize, Instant fileModifiedAt, String state) {
+        return jdbcTemplate.queryForObject("""
+                insert into deal_file_imports (path, format, file_size, file_modified_at, state, byte_offset,
+                                               rows_processed, imported, duplicates, failed_validation,
+                                               failed_persistence, error, updated_at)
+                values (?, ?, ?, ?, ?, 0, 0, 0, 0, 0, 0, null, now())
+                on conflict (path) do update set
+                    format = excluded.format,
+                    file_size = excluded.file_size,
+                    file_modified_at = excluded.file_modified_at,
+                    state = excluded.state,
+                    byte_offset = 0,
+                    rows_processed = 0,
+                    imported = 0,
+                    duplicates = 0,
+                    failed_validation = 0,
+                    failed_persistence = 0,
+                    error = null,
+                    updated_at = now()
+                returning id
+                """, Long.class, path, format, fileSize, fileModifiedAt.atOffset(ZoneOffset.UTC), state);
+    }
+
+    public void updateState(long id, String state, String error) {
+        jdbcTemplate.update("update deal_file_imports set state = ?, error = ?, updated_at = now() where id = ?",
+                state, error, id);
+    }
+
+    /**
+     * Records progress up to {@code byteOffset}; every row before it has been committed.
+     */
+    public void checkpoint(long id, long byteOffset, long rowsProcessed, long imported, long duplicates,
+                           long failedValidation, long failedPersistence) {
+        jdbcTemplate.update("""
+                update deal_file_imports
+                set byte_offset = ?, rows_processed = ?, imported = ?, duplicates = ?, failed_validation = ?,
+                    failed_persistence = ?, updated_at = now()
+                where id = ?
+                """, byteOffset, rowsProcessed, imported, duplicates, failedValidation, failedPersistence, id);
+    }
+}
@@ -0,0 +1,24 @@
+package com.bloomberg.analyzer.deals.persistence;
+
+import java.time.Instant;
+
+/**
+ * A row of {@code deal_file_imports}: where a file import stands and what it has done so far.
+ */
+public record DealFileImportRow(
+        long id,
+        String path,
+        String format,
+        long fileSize,
+        Instant fileModifiedAt,
+        String state,
+        long byteOffset,
+        long rowsProcessed,
+        long imported,
+        long duplicates,
+        long failedValidation,
+        long failedPersistence,
+        String error,
+        Instant updatedAt
+) {
+}
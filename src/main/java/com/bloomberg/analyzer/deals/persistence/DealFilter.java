@@ -0,0 +1,14 @@
+package com.bloomberg.analyzer.deals.persistence;
+
+import java.time.Instant;
+
+/**
+ * Deal read filter. {@code from} is inclusive and {@code to} exclusive; any {@code null} component is unrestricted.
+ */
+public record DealFilter(
+        Instant from,
+        Instant to,
+        String fromCurrency,
+        String toCurrency
+) {
+}
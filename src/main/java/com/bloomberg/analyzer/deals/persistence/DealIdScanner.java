@@ -0,0 +1,31 @@
+package com.bloomberg.analyzer.deals.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.function.Consumer;
+
+/**
+ * Streams every stored deal id through a server-side cursor, holding at most one fetch window in memory.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DealIdScanner {
+    private static final String SELECT_SQL = "select deal_id from deals";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public void scan(int fetchSize, Consumer<String> consumer) {
+        // PostgreSQL only honours the fetch size (i.e. uses a cursor) inside a transaction.
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_SQL);
+            ps.setFetchSize(fetchSize);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(rs.getString(1))));
+    }
+}
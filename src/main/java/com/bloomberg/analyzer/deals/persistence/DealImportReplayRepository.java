@@ -0,0 +1,62 @@
+package com.bloomberg.analyzer.deals.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+/**
+ * Import responses kept for replay in {@code deal_import_replays}, one row per idempotency key.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DealImportReplayRepository {
+    private static final RowMapper<DealImportReplayRow> ROW_MAPPER = (rs, rowNum) -> new DealImportReplayRow(
+            rs.getString(1),
+            rs.getString(2),
+            rs.getString(3),
+            rs.getObject(4, OffsetDateTime.class).toInstant()
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * The response stored for {@code key}, unless it was stored before {@code createdAfter}.
+     */
+    public Optional<DealImportReplayRow> find(String key, Instant createdAfter) {
+        return jdbcTemplate.query("""
+                        select idempotency_key, fingerprint, response, created_at
+                        from deal_import_replays
+                        where idempotency_key = ? and created_at > ?
+                        """, ROW_MAPPER, key, createdAfter.atOffset(ZoneOffset.UTC))
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Stores a response. A row for the same key stored at or before {@code expiredBefore} is replaced, a newer one is
+     * kept.
+     */
+    public void insert(DealImportReplayRow row, Instant expiredBefore) {
+        jdbcTemplate.update("""
+                        insert into deal_import_replays (idempotency_key, fingerprint, response, created_at)
+                        values (?, ?, ?, ?)
+                        on conflict (idempotency_key) do update set
+                            fingerprint = excluded.fingerprint,
+                            response = excluded.response,
+                            created_at = excluded.created_at
+                        where deal_import_replays.created_at <= ?
+                        """, row.idempotencyKey(), row.fingerprint(), row.response(),
+                row.createdAt().atOffset(ZoneOffset.UTC), expiredBefore.atOffset(ZoneOffset.UTC));
+    }
+
+    public int deleteCreatedBefore(Instant cutoff) {
+        return jdbcTemplate.update("delete from deal_import_replays where created_at <= ?",
+                cutoff.atOffset(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,11 @@
+package com.bloomberg.analyzer.deals.persistence;
+
+import java.time.Instant;
+
+public record DealImportReplayRow(
+        String idempotencyKey,
+        String fingerprint,
+        String response,
+        Instant createdAt
+) {
+}
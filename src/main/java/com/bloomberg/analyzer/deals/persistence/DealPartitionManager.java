@@ -0,0 +1,143 @@
+package com.bloomberg.analyzer.deals.persistence;
+
+import com.bloomberg.analyzer.deals.config.DealPartitioningProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Creates, lists and removes the monthly partitions of {@code deals} when the partitioned layout is enabled. All
+ * methods are no-ops (or return nothing) for the default, unpartitioned layout.
+ */
+@Slf4j
+@Repository
+public class DealPartitionManager {
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("'deals_p'yyyy_MM");
+    private static final Pattern NAME_PATTERN = Pattern.compile("deals_p(\\d{4})_(\\d{2})");
+
+    private static final String LIST_SQL = """
+            select c.relname from pg_inherits i
+            join pg_class c on c.oid = i.inhrelid
+            where i.inhparent = 'deals'::regclass
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final Set<YearMonth> known = ConcurrentHashMap.newKeySet();
+
+    public DealPartitionManager(JdbcTemplate jdbcTemplate, DealPartitioningProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = properties.isEnabled();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Makes sure a partition exists for the month of every deal. Months already seen by this instance cost one set
+     * lookup per deal. Call it before opening the transaction that inserts the deals: see {@link #ensurePartition}.
+     */
+    public void ensurePartitionsFor(List<DealEntity> deals) {
+        if (!enabled) {
+            return;
+        }
+        Set<YearMonth> missing = null;
+        for (DealEntity deal : deals) {
+            YearMonth month = monthOf(deal.getDealTs());
+            if (!known.contains(month)) {
+                if (missing == null) {
+                    missing = new TreeSet<>();
+                }
+                missing.add(month);
+            }
+        }
+        if (missing != null) {
+            missing.forEach(this::ensurePartition);
+        }
+    }
+
+    /**
+     * Creates the partition for the month unless this instance already knows it exists. The DDL autocommits, which
+     * keeps the exclusive lock it takes on {@code deals} short. It must not run inside a transaction: there it would
+     * either hold that lock until the transaction ends, or need a second pooled connection while the transaction holds
+     * the first, which can exhaust the pool when every worker does it at once.
+     *
+     * @throws IllegalStateException if called with a transaction active and the partition is not known yet
+     */
+    public void ensurePartition(YearMonth month) {
+        if (!enabled || known.contains(month)) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("partitions must be created before the transaction that needs them");
+        }
+        String name = partitionName(month);
+        try {
+            jdbcTemplate.execute("create table if not exists " + name + " partition of deals for values from ('"
+                    + month.atDay(1) + " 00:00:00+00') to ('" + month.plusMonths(1).atDay(1) + " 00:00:00+00')");
+        } catch (DataAccessException e) {
+            // A concurrent import may have created the same partition between the existence check and the create.
+            if (!exists(name)) {
+                throw e;
+            }
+        }
+        known.add(month);
+        log.info("dealPartition.ready partition={}", name);
+    }
+
+    /**
+     * Months that currently have an attached partition, oldest first.
+     */
+    public List<YearMonth> listPartitions() {
+        if (!enabled) {
+            return List.of();
+        }
+        TreeSet<YearMonth> months = new TreeSet<>();
+        jdbcTemplate.queryForList(LIST_SQL, String.class).forEach(name -> {
+            Matcher m = NAME_PATTERN.matcher(name);
+            if (m.matches()) {
+                months.add(YearMonth.of(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2))));
+            }
+        });
+        return List.copyOf(months);
+    }
+
+    /**
+     * Detaches the partition; its rows stay available in a standalone table of the same name.
+     */
+    public void detach(YearMonth month) {
+        known.remove(month);
+        jdbcTemplate.execute("alter table deals detach partition " + partitionName(month));
+    }
+
+    public void drop(YearMonth month) {
+        known.remove(month);
+        jdbcTemplate.execute("drop table if exists " + partitionName(month));
+    }
+
+    static YearMonth monthOf(Instant ts) {
+        return YearMonth.from(ts.atOffset(ZoneOffset.UTC));
+    }
+
+    static String partitionName(YearMonth month) {
+        return NAME_FORMAT.format(month);
+    }
+
+    private boolean exists(String name) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("select to_regclass(?) is not null", Boolean.class, name));
+    }
+}
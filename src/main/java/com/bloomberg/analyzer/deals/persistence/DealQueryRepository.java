@@ -0,0 +1,113 @@
+package com.bloomberg.analyzer.deals.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Range reads over {@code deals} in {@code (deal_ts, id)} order. Both reads are driven by {@code ix_deals_deal_ts}:
+ * the time range and the keyset position are index range conditions, and ties on {@code deal_ts} are ordered by
+ * {@code id} with an incremental sort, so no read ever skips over rows with {@code OFFSET}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DealQueryRepository {
+    private static final String SELECT_SQL =
+            "select id, deal_id, from_currency, to_currency, deal_ts, amount from deals where true";
+    private static final String ORDER_BY = " order by deal_ts, id";
+
+    private static final RowMapper<StoredDeal> ROW_MAPPER = (rs, rowNum) -> new StoredDeal(
+            rs.getLong(1),
+            rs.getString(2),
+            rs.getString(3),
+            rs.getString(4),
+            rs.getObject(5, OffsetDateTime.class).toInstant(),
+            rs.getBigDecimal(6)
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Up to {@code limit} deals matching the filter that sort strictly after {@code (afterTs, afterId)}, or from the
+     * start of the range when {@code afterTs} is {@code null}.
+     */
+    public List<StoredDeal> findPage(DealFilter filter, Instant afterTs, long afterId, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        List<Object> args = new ArrayList<>();
+        where(filter, sql, args);
+        if (afterTs != null) {
+            // Row-value comparison is not matched to a single-column index, so the keyset is spelled out.
+            OffsetDateTime ts = afterTs.atOffset(ZoneOffset.UTC);
+            sql.append(" and deal_ts >= ? and (deal_ts > ? or id > ?)");
+            args.add(ts);
+            args.add(ts);
+            args.add(afterId);
+        }
+        sql.append(ORDER_BY).append(" limit ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+    }
+
+    /**
+     * The stored deals among {@code dealIds}, in no particular order; one query for the whole set.
+     */
+    public List<StoredDeal> findByDealIds(Collection<String> dealIds) {
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_SQL + " and deal_id = any(?)");
+            ps.setArray(1, con.createArrayOf("varchar", dealIds.toArray()));
+            return ps;
+        }, ROW_MAPPER);
+    }
+
+    /**
+     * Streams every matching deal through a server-side cursor, holding at most one fetch window in memory.
+     */
+    public void stream(DealFilter filter, int fetchSize, Consumer<StoredDeal> consumer) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        List<Object> args = new ArrayList<>();
+        where(filter, sql, args);
+        sql.append(ORDER_BY);
+
+        // PostgreSQL only honours the fetch size (i.e. uses a cursor) inside a transaction.
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql.toString());
+            for (int i = 0; i < args.size(); i++) {
+                ps.setObject(i + 1, args.get(i));
+            }
+            ps.setFetchSize(fetchSize);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(ROW_MAPPER.mapRow(rs, 0))));
+    }
+
+    private static void where(DealFilter filter, StringBuilder sql, List<Object> args) {
+        if (filter.from() != null) {
+            sql.append(" and deal_ts >= ?");
+            args.add(filter.from().atOffset(ZoneOffset.UTC));
+        }
+        if (filter.to() != null) {
+            sql.append(" and deal_ts < ?");
+            args.add(filter.to().atOffset(ZoneOffset.UTC));
+        }
+        if (filter.fromCurrency() != null) {
+            sql.append(" and from_currency = ?");
+            args.add(filter.fromCurrency());
+        }
+        if (filter.toCurrency() != null) {
+            sql.append(" and to_currency = ?");
+            args.add(filter.toCurrency());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.bloomberg.analyzer.deals.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stores and reads rejected import rows in {@code deal_rejects}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DealRejectRepository {
+    private static final String INSERT_PREFIX =
+            "insert into deal_rejects (row_index, deal_id, status, errors, payload, rejected_at) values ";
+    private static final String VALUES_ROW = "(?, ?, ?, ?, ?, ?)";
+    private static final String COLUMNS = "id, row_index, deal_id, status, errors, payload, rejected_at";
+
+    // Bounds the statement size; PostgreSQL accepts at most 65535 bind parameters per statement.
+    private static final int MAX_ROWS_PER_STATEMENT = 1_000;
+
+    private static final RowMapper<DealRejectRow> ROW_MAPPER = (rs, rowNum) -> new DealRejectRow(
+            rs.getLong(1),
+            rs.getInt(2),
+            rs.getString(3),
+            rs.getString(4),
+            Arrays.asList((String[]) rs.getArray(5).getArray()),
+            rs.getString(6),
+            rs.getObject(7, OffsetDateTime.class).toInstant()
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(List<DealRejectRow> rows) {
+        for (int from = 0; from < rows.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<DealRejectRow> part = rows.subList(from, Math.min(rows.size(), from + MAX_ROWS_PER_STATEMENT));
+            jdbcTemplate.update(insertSql(part.size()), ps -> bind(ps, part));
+        }
+    }
+
+    /**
+     * Rejects with an id greater than {@code afterId}, oldest first, optionally restricted to a status and deal id.
+     */
+    public List<DealRejectRow> findPage(String status, String dealId, long afterId, int limit) {
+        StringBuilder sql = new StringBuilder("select ").append(COLUMNS).append(" from deal_rejects where id > ?");
+        List<Object> args = new ArrayList<>(4);
+        args.add(afterId);
+        if (status != null) {
+            sql.append(" and status = ?");
+            args.add(status);
+        }
+        if (dealId != null) {
+            sql.append(" and deal_id = ?");
+            args.add(dealId);
+        }
+        sql.append(" order by id limit ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+    }
+
+    public List<DealRejectRow> findByIds(List<Long> ids) {
+        return jdbcTemplate.query(
+                con -> {
+                    PreparedStatement ps = con.prepareStatement(
+                            "select " + COLUMNS + " from deal_rejects where id = any(?) order by id");
+                    ps.setArray(1, con.createArrayOf("bigint", ids.toArray()));
+                    return ps;
+                },
+                ROW_MAPPER);
+    }
+
+    public int delete(List<Long> ids) {
+        return jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement("delete from deal_rejects where id = any(?)");
+            ps.setArray(1, con.createArrayOf("bigint", ids.toArray()));
+            return ps;
+        });
+    }
+
+    private static String insertSql(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows * (VALUES_ROW.length() + 2));
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(VALUES_ROW);
+        }
+        return sql.toString();
+    }
+
+    private static void bind(PreparedStatement ps, List<DealRejectRow> rows) throws SQLException {
+        int p = 1;
+        for (DealRejectRow row : rows) {
+            Array errors = ps.getConnection().createArrayOf("text", row.errors().toArray());
+            ps.setInt(p++, row.index());
+            ps.setString(p++, row.dealId());
+            ps.setString(p++, row.status());
+            ps.setArray(p++, errors);
+            ps.setString(p++, row.payload());
+            ps.setObject(p++, row.rejectedAt().atOffset(ZoneOffset.UTC));
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.bloomberg.analyzer.deals.persistence;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A row of {@code deal_rejects}; {@code id} is {@code null} until the row is stored.
+ */
+public record DealRejectRow(
+        Long id,
+        int index,
+        String dealId,
+        String status,
+        List<String> errors,
+        String payload,
+        Instant rejectedAt
+) {
+}
@@ -1,9 +1,18 @@
 package com.bloomberg.analyzer.deals.persistence;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.Set;
 
 public interface DealRepository extends JpaRepository<DealEntity, Long> {
     boolean existsByDealId(String dealId);
-}
-
 
+    /**
+     * Set-based counterpart of {@link #existsByDealId(String)}: returns the subset of {@code dealIds} already stored.
+     */
+    @Query("select d.dealId from DealEntity d where d.dealId in :dealIds")
+    Set<String> findExistingDealIds(@Param("dealIds") Collection<String> dealIds);
+}
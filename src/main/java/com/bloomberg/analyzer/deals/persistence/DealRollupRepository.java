@@ -0,0 +1,95 @@
+package com.bloomberg.analyzer.deals.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Reads and incrementally maintains the {@code deal_rollups_*} tables.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DealRollupRepository {
+    private static final String VALUES_ROW = "(?, ?, ?, ?, ?)";
+    private static final String COLUMNS = "from_currency, to_currency, bucket_start, deal_count, total_amount";
+
+    // Bounds the statement size; PostgreSQL accepts at most 65535 bind parameters per statement.
+    private static final int MAX_ROWS_PER_STATEMENT = 1_000;
+
+    private static final RowMapper<DealRollupRow> ROW_MAPPER = (rs, rowNum) -> new DealRollupRow(
+            rs.getString(1),
+            rs.getString(2),
+            rs.getObject(3, OffsetDateTime.class).toInstant(),
+            rs.getLong(4),
+            rs.getBigDecimal(5)
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Adds the deltas to the stored buckets, creating missing ones. Callers pass one delta per key and keep a stable
+     * key order, so concurrent imports lock rollup rows in the same order and cannot deadlock each other.
+     */
+    public void add(RollupResolution resolution, List<DealRollupRow> deltas) {
+        for (int from = 0; from < deltas.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<DealRollupRow> part = deltas.subList(from, Math.min(deltas.size(), from + MAX_ROWS_PER_STATEMENT));
+            jdbcTemplate.update(upsertSql(resolution, part.size()), ps -> bind(ps, part));
+        }
+    }
+
+    /**
+     * Buckets starting in {@code [from, to)}, ordered by bucket start. When {@code fromCurrency} and
+     * {@code toCurrency} are given only that pair is read, otherwise every pair is.
+     */
+    public List<DealRollupRow> find(RollupResolution resolution, Instant from, Instant to,
+                                    String fromCurrency, String toCurrency, int limit) {
+        OffsetDateTime start = from.atOffset(ZoneOffset.UTC);
+        OffsetDateTime end = to.atOffset(ZoneOffset.UTC);
+        if (fromCurrency != null && toCurrency != null) {
+            return jdbcTemplate.query(
+                    "select " + COLUMNS + " from " + resolution.table()
+                            + " where from_currency = ? and to_currency = ? and bucket_start >= ? and bucket_start < ?"
+                            + " order by bucket_start limit ?",
+                    ROW_MAPPER, fromCurrency, toCurrency, start, end, limit);
+        }
+        return jdbcTemplate.query(
+                "select " + COLUMNS + " from " + resolution.table()
+                        + " where bucket_start >= ? and bucket_start < ?"
+                        + " order by bucket_start, from_currency, to_currency limit ?",
+                ROW_MAPPER, start, end, limit);
+    }
+
+    private static String upsertSql(RollupResolution resolution, int rows) {
+        StringBuilder sql = new StringBuilder(256 + rows * (VALUES_ROW.length() + 2));
+        sql.append("insert into ").append(resolution.table()).append(" as r (").append(COLUMNS).append(") values ");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(VALUES_ROW);
+        }
+        return sql.append(" on conflict (from_currency, to_currency, bucket_start) do update set")
+                .append(" deal_count = r.deal_count + excluded.deal_count,")
+                .append(" total_amount = r.total_amount + excluded.total_amount")
+                .toString();
+    }
+
+    private static void bind(PreparedStatement ps, List<DealRollupRow> rows) throws SQLException {
+        int p = 1;
+        for (DealRollupRow row : rows) {
+            ps.setString(p++, row.fromCurrency());
+            ps.setString(p++, row.toCurrency());
+            ps.setObject(p++, row.bucketStart().atOffset(ZoneOffset.UTC));
+            ps.setLong(p++, row.dealCount());
+            ps.setBigDecimal(p++, row.totalAmount());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.bloomberg.analyzer.deals.persistence;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Deal count and summed amount of one currency pair in one bucket, either as stored or as a delta to add.
+ */
+public record DealRollupRow(
+        String fromCurrency,
+        String toCurrency,
+        Instant bucketStart,
+        long dealCount,
+        BigDecimal totalAmount
+) {
+}
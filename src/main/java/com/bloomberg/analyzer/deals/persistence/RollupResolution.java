@@ -0,0 +1,28 @@
+package com.bloomberg.analyzer.deals.persistence;
+
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Bucket width of a currency-pair rollup and the table that stores it. Buckets are aligned to UTC.
+ */
+public enum RollupResolution {
+    MINUTE(ChronoUnit.MINUTES, "deal_rollups_minute"),
+    HOUR(ChronoUnit.HOURS, "deal_rollups_hour"),
+    DAY(ChronoUnit.DAYS, "deal_rollups_day");
+
+    private final ChronoUnit unit;
+    private final String table;
+
+    RollupResolution(ChronoUnit unit, String table) {
+        this.unit = unit;
+        this.table = table;
+    }
+
+    public ChronoUnit unit() {
+        return unit;
+    }
+
+    String table() {
+        return table;
+    }
+}
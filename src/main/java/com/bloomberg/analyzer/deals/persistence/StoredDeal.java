@@ -0,0 +1,17 @@
+package com.bloomberg.analyzer.deals.persistence;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Read-side projection of a {@code deals} row, including the surrogate id used as keyset tie-breaker.
+ */
+public record StoredDeal(
+        long id,
+        String dealId,
+        String fromCurrency,
+        String toCurrency,
+        Instant dealTs,
+        BigDecimal amount
+) {
+}
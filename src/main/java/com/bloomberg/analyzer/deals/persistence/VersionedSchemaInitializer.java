@@ -0,0 +1,93 @@
+package com.bloomberg.analyzer.deals.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.jdbc.autoconfigure.ApplicationDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.sql.autoconfigure.init.SqlInitializationProperties;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Runs the {@code spring.sql.init} scripts like Spring Boot's own initializer, and records a SHA-256 of their names and
+ * content in {@code schema_script_versions} once they have all been applied. With {@code skipCurrent} the scripts are
+ * not run again when that hash is already recorded, which saves a round trip per statement on every start; editing a
+ * script, or switching to a profile with other scripts, changes the hash and runs them again.
+ */
+@Slf4j
+public class VersionedSchemaInitializer extends ApplicationDataSourceScriptDatabaseInitializer {
+    private static final String TABLE_EXISTS_SQL = "select to_regclass('schema_script_versions') is not null";
+    private static final String APPLIED_SQL =
+            "select exists (select 1 from schema_script_versions where script_hash = ?)";
+    private static final String RECORD_SQL = """
+            insert into schema_script_versions (script_hash, locations, applied_at) values (?, ?, now())
+            on conflict (script_hash) do nothing
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean skipCurrent;
+
+    public VersionedSchemaInitializer(DataSource dataSource, SqlInitializationProperties properties,
+                                      boolean skipCurrent) {
+        super(dataSource, properties);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.skipCurrent = skipCurrent;
+    }
+
+    @Override
+    protected void runScripts(Scripts scripts) {
+        List<String> names = new ArrayList<>();
+        String hash = hash(scripts, names);
+        if (skipCurrent && isRecorded(hash)) {
+            log.info("schema.current hash={} scripts={}", hash, names);
+            return;
+        }
+        long started = System.nanoTime();
+        super.runScripts(scripts);
+        if (hasVersionTable()) {
+            jdbcTemplate.update(RECORD_SQL, hash, String.join(",", names));
+        }
+        log.info("schema.applied hash={} scripts={} tookMs={}", hash, names, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private boolean isRecorded(String hash) {
+        return hasVersionTable() && Boolean.TRUE.equals(jdbcTemplate.queryForObject(APPLIED_SQL, Boolean.class, hash));
+    }
+
+    private boolean hasVersionTable() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(TABLE_EXISTS_SQL, Boolean.class));
+    }
+
+    private static String hash(Scripts scripts, List<String> names) {
+        MessageDigest digest = sha256();
+        for (Resource script : scripts) {
+            String name = String.valueOf(script.getFilename());
+            names.add(name);
+            digest.update(name.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            try (InputStream in = script.getInputStream()) {
+                digest.update(in.readAllBytes());
+            } catch (IOException e) {
+                throw new IllegalStateException("cannot read schema script " + script, e);
+            }
+            digest.update((byte) 0);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.bloomberg.analyzer.deals.service;
+
+import com.bloomberg.analyzer.deals.api.dto.DealImportRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Validates rows with the Bean Validation constraints declared on {@link DealImportRequest} plus an ISO 4217 lookup.
+ * Selected with {@code analyzer.import.validation=bean}.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "analyzer.import", name = "validation", havingValue = "bean")
+public class BeanValidationDealRowValidator implements DealRowValidator {
+    private final Validator validator;
+
+    @Override
+    public List<String> validate(DealImportRequest req) {
+        List<String> errors = new ArrayList<>();
+
+        Set<ConstraintViolation<DealImportRequest>> violations = validator.validate(req);
+        for (ConstraintViolation<DealImportRequest> v : violations) {
+            errors.add(v.getPropertyPath() + ": " + v.getMessage());
+        }
+
+        if (req.fromCurrency() != null && !isValidIsoCurrency(req.fromCurrency())) {
+            errors.add("fromCurrency: unknown ISO currency");
+        }
+        if (req.toCurrency() != null && !isValidIsoCurrency(req.toCurrency())) {
+            errors.add("toCurrency: unknown ISO currency");
+        }
+
+        return errors;
+    }
+
+    private boolean isValidIsoCurrency(String code) {
+        try {
+            Currency.getInstance(code);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.bloomberg.analyzer.deals.service;
+
+import com.bloomberg.analyzer.deals.api.dto.DealRowResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only row results of an import job, stored without one object per row: a status byte per row, all deal ids
+ * packed into a single UTF-8 buffer, and error lists only for validation failures (duplicate and persistence errors are
+ * constant). Rows must be appended in index order. One worker appends while any number of readers page through.
+ */
+final class CompactRowResults {
+    private static final DealRowResult.Status[] STATUSES = DealRowResult.Status.values();
+
+    private byte[] statuses;
+    private int[] idEnds;
+    private byte[] idBytes;
+    private final BitSet nullIds = new BitSet();
+    private final Map<Integer, List<String>> validationErrors = new HashMap<>();
+    private int size;
+
+    CompactRowResults(int expectedRows) {
+        int capacity = Math.max(expectedRows, 1);
+        statuses = new byte[capacity];
+        idEnds = new int[capacity];
+        idBytes = new byte[capacity * 12];
+    }
+
+    synchronized void add(DealRowResult row) {
+        if (size == statuses.length) {
+            int capacity = statuses.length * 2;
+            statuses = Arrays.copyOf(statuses, capacity);
+            idEnds = Arrays.copyOf(idEnds, capacity);
+        }
+
+        int idStart = size == 0 ? 0 : idEnds[size - 1];
+        if (row.dealId() == null) {
+            nullIds.set(size);
+            idEnds[size] = idStart;
+        } else {
+            byte[] id = row.dealId().getBytes(StandardCharsets.UTF_8);
+            if (idStart + id.length > idBytes.length) {
+                idBytes = Arrays.copyOf(idBytes, Math.max(idBytes.length * 2, idStart + id.length));
+            }
+            System.arraycopy(id, 0, idBytes, idStart, id.length);
+            idEnds[size] = idStart + id.length;
+        }
+
+        statuses[size] = (byte) row.status().ordinal();
+        if (row.status() == DealRowResult.Status.VALIDATION_FAILED) {
+            validationErrors.put(size, row.errors());
+        }
+        size++;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized List<DealRowResult> page(int offset, int limit) {
+        int from = Math.min(offset, size);
+        int to = (int) Math.min((long) from + limit, size);
+        List<DealRowResult> page = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            page.add(get(i));
+        }
+        return page;
+    }
+
+    /**
+     * Releases the spare capacity once no more rows will be appended.
+     */
+    synchronized void trim() {
+        statuses = Arrays.copyOf(statuses, size);
+        idEnds = Arrays.copyOf(idEnds, size);
+        idBytes = Arrays.copyOf(idBytes, size == 0 ? 0 : idEnds[size - 1]);
+    }
+
+    private DealRowResult get(int i) {
+        DealRowResult.Status status = STATUSES[statuses[i]];
+        String dealId = null;
+        if (!nullIds.get(i)) {
+            int start = i == 0 ? 0 : idEnds[i - 1];
+            dealId = new String(idBytes, start, idEnds[i] - start, StandardCharsets.UTF_8);
+        }
+        List<String> errors = switch (status) {
+            case IMPORTED -> List.of();
+            case DUPLICATE -> DealImportService.DUPLICATE_ERRORS;
+            case VALIDATION_FAILED -> validationErrors.get(i);
+            case PERSISTENCE_FAILED -> DealImportService.PERSISTENCE_ERRORS;
+        };
+        return new DealRowResult(i, dealId, status, errors);
+    }
+}
@@ -0,0 +1,401 @@
+package com.bloomberg.analyzer.deals.service;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Accumulators for scans of a {@link DealColumnStore}. Each fork/join leaf fills its own, so they need no locking, and
+ * they are combined pairwise. Sums of scaled amounts are kept as 128-bit integers in a pair of longs, which cannot
+ * overflow for any realistic number of deals and stays exact.
+ */
+final class DealAnalyticsAggregates {
+
+    private DealAnalyticsAggregates() {
+    }
+
+    /**
+     * Adds {@code value} to the two's complement 128-bit integer {@code (hi[i], lo[i])}.
+     */
+    static void add(long[] hi, long[] lo, int i, long value) {
+        long sum = lo[i] + value;
+        hi[i] += (value >> 63) + (Long.compareUnsigned(sum, lo[i]) < 0 ? 1 : 0);
+        lo[i] = sum;
+    }
+
+    static void add(long[] hi, long[] lo, int i, long otherHi, long otherLo) {
+        long sum = lo[i] + otherLo;
+        hi[i] += otherHi + (Long.compareUnsigned(sum, lo[i]) < 0 ? 1 : 0);
+        lo[i] = sum;
+    }
+
+    static BigDecimal decimal(long hi, long lo, int scale) {
+        BigInteger unscaled = BigInteger.valueOf(hi).shiftLeft(64)
+                .add(BigInteger.valueOf(lo >>> 1).shiftLeft(1).add(BigInteger.valueOf(lo & 1)));
+        return new BigDecimal(unscaled, scale);
+    }
+
+    static BigDecimal average(BigDecimal total, long count, int scale) {
+        return count == 0 ? null : total.divide(BigDecimal.valueOf(count), scale, RoundingMode.HALF_EVEN);
+    }
+
+    /**
+     * Count, sum, minimum and maximum per currency pair, in an open-addressing table keyed by the packed pair.
+     */
+    static final class PairTable {
+        private int[] keys = new int[64];
+        private long[] counts = new long[64];
+        private long[] sumHi = new long[64];
+        private long[] sumLo = new long[64];
+        private long[] mins = new long[64];
+        private long[] maxes = new long[64];
+        private int size;
+
+        static void scan(DealColumnStore.Slice slice, long from, long to, PairTable table) {
+            long[] timestamps = slice.timestamps();
+            int[] pairs = slice.pairs();
+            long[] amounts = slice.amounts();
+            for (int i = 0; i < slice.size(); i++) {
+                long timestamp = timestamps[i];
+                if (timestamp >= from && timestamp < to) {
+                    table.add(pairs[i], 1, 0, amounts[i], amounts[i], amounts[i]);
+                }
+            }
+        }
+
+        static PairTable combine(PairTable left, PairTable right) {
+            PairTable into = left.size >= right.size ? left : right;
+            PairTable from = into == left ? right : left;
+            for (int slot = 0; slot < from.keys.length; slot++) {
+                if (from.keys[slot] != 0) {
+                    into.add(from.keys[slot] - 1, from.counts[slot], from.sumHi[slot], from.sumLo[slot],
+                            from.mins[slot], from.maxes[slot]);
+                }
+            }
+            return into;
+        }
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * Visits every pair as {@code (pair, slot)}; read the slot with the accessors below.
+         */
+        void forEach(SlotConsumer consumer) {
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (keys[slot] != 0) {
+                    consumer.accept(keys[slot] - 1, slot);
+                }
+            }
+        }
+
+        long count(int slot) {
+            return counts[slot];
+        }
+
+        BigDecimal total(int slot, int scale) {
+            return decimal(sumHi[slot], sumLo[slot], scale);
+        }
+
+        long min(int slot) {
+            return mins[slot];
+        }
+
+        long max(int slot) {
+            return maxes[slot];
+        }
+
+        private void add(int pair, long count, long hi, long lo, long min, long max) {
+            // Keys are stored plus one so that zero marks a free slot.
+            int mask = keys.length - 1;
+            int slot = mix(pair) & mask;
+            while (keys[slot] != 0 && keys[slot] != pair + 1) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == 0) {
+                keys[slot] = pair + 1;
+                counts[slot] = count;
+                sumHi[slot] = hi;
+                sumLo[slot] = lo;
+                mins[slot] = min;
+                maxes[slot] = max;
+                if (++size * 2 > keys.length) {
+                    rehash();
+                }
+                return;
+            }
+            counts[slot] += count;
+            DealAnalyticsAggregates.add(sumHi, sumLo, slot, hi, lo);
+            mins[slot] = Math.min(mins[slot], min);
+            maxes[slot] = Math.max(maxes[slot], max);
+        }
+
+        private void rehash() {
+            int[] oldKeys = keys;
+            long[] oldCounts = counts;
+            long[] oldHi = sumHi;
+            long[] oldLo = sumLo;
+            long[] oldMins = mins;
+            long[] oldMaxes = maxes;
+            int capacity = oldKeys.length * 2;
+            keys = new int[capacity];
+            counts = new long[capacity];
+            sumHi = new long[capacity];
+            sumLo = new long[capacity];
+            mins = new long[capacity];
+            maxes = new long[capacity];
+            size = 0;
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldKeys[slot] != 0) {
+                    add(oldKeys[slot] - 1, oldCounts[slot], oldHi[slot], oldLo[slot], oldMins[slot], oldMaxes[slot]);
+                }
+            }
+        }
+
+        private static int mix(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+
+        @FunctionalInterface
+        interface SlotConsumer {
+            void accept(int pair, int slot);
+        }
+    }
+
+    /**
+     * Count, sum, minimum and maximum of the amounts of one pair or of all pairs, and optionally a histogram of them for
+     * percentiles.
+     */
+    static final class AmountStats {
+        private final long[] sumHi = new long[1];
+        private final long[] sumLo = new long[1];
+        private final AmountHistogram histogram;
+        private long count;
+        private long min = Long.MAX_VALUE;
+        private long max = Long.MIN_VALUE;
+
+        AmountStats(boolean withHistogram) {
+            this.histogram = withHistogram ? new AmountHistogram() : null;
+        }
+
+        /**
+         * @param pair the packed pair to match, or -1 for every pair
+         */
+        static DealColumnStore.ChunkScan<AmountStats> scan(int pair) {
+            return (slice, from, to, stats) -> {
+                long[] timestamps = slice.timestamps();
+                int[] pairs = slice.pairs();
+                long[] amounts = slice.amounts();
+                for (int i = 0; i < slice.size(); i++) {
+                    long timestamp = timestamps[i];
+                    if (timestamp >= from && timestamp < to && (pair < 0 || pairs[i] == pair)) {
+                        stats.add(amounts[i]);
+                    }
+                }
+            };
+        }
+
+        static AmountStats combine(AmountStats left, AmountStats right) {
+            left.count += right.count;
+            DealAnalyticsAggregates.add(left.sumHi, left.sumLo, 0, right.sumHi[0], right.sumLo[0]);
+            left.min = Math.min(left.min, right.min);
+            left.max = Math.max(left.max, right.max);
+            if (left.histogram != null) {
+                left.histogram.addAll(right.histogram);
+            }
+            return left;
+        }
+
+        long count() {
+            return count;
+        }
+
+        BigDecimal total(int scale) {
+            return decimal(sumHi[0], sumLo[0], scale);
+        }
+
+        long min() {
+            return min;
+        }
+
+        long max() {
+            return max;
+        }
+
+        /**
+         * The amount of nearest rank {@code rank} (1-based), to within the histogram's precision and never outside
+         * the minimum and maximum, which the first and last rank return exactly.
+         */
+        long valueAtRank(long rank) {
+            if (rank <= 1) {
+                return min;
+            }
+            if (rank >= count) {
+                return max;
+            }
+            return Math.max(min, Math.min(max, histogram.valueAtRank(rank)));
+        }
+
+        private void add(long amount) {
+            if (histogram != null) {
+                histogram.add(amount);
+            }
+            count++;
+            DealAnalyticsAggregates.add(sumHi, sumLo, 0, amount);
+            min = Math.min(min, amount);
+            max = Math.max(max, amount);
+        }
+    }
+
+    /**
+     * Counts of non-negative amounts in log-linear buckets: amounts below {@code 2^SIGNIFICANT_BITS} are counted
+     * exactly, larger ones in buckets that keep their top {@value #SIGNIFICANT_BITS} bits, so a bucket's midpoint is
+     * within 0.2% of any amount in it. Its size depends on the range of the amounts, not their number: each power of
+     * two that occurs costs one array of {@code 2^SIGNIFICANT_BITS} counts, allocated on first use. Negative amounts
+     * are counted as zero.
+     */
+    static final class AmountHistogram {
+        static final int SIGNIFICANT_BITS = 9;
+
+        private static final int BUCKETS = 1 << SIGNIFICANT_BITS;
+
+        /**
+         * Indexed by the right shift that brings an amount below {@code 2^SIGNIFICANT_BITS}, then by the shifted
+         * amount; above shift zero only the upper half of each array is used.
+         */
+        private final long[][] counts = new long[Long.SIZE - SIGNIFICANT_BITS + 1][];
+
+        void add(long amount) {
+            long value = Math.max(amount, 0);
+            int shift = Math.max(0, Long.SIZE - Long.numberOfLeadingZeros(value) - SIGNIFICANT_BITS);
+            long[] group = counts[shift];
+            if (group == null) {
+                group = counts[shift] = new long[BUCKETS];
+            }
+            group[(int) (value >>> shift)]++;
+        }
+
+        void addAll(AmountHistogram other) {
+            for (int shift = 0; shift < counts.length; shift++) {
+                long[] from = other.counts[shift];
+                if (from == null) {
+                    continue;
+                }
+                long[] into = counts[shift];
+                if (into == null) {
+                    counts[shift] = from;
+                    continue;
+                }
+                for (int i = 0; i < BUCKETS; i++) {
+                    into[i] += from[i];
+                }
+            }
+        }
+
+        /**
+         * The midpoint of the bucket holding the amount of nearest rank {@code rank} (1-based), or the largest bucket's
+         * if there are fewer amounts.
+         */
+        long valueAtRank(long rank) {
+            long seen = 0;
+            long last = 0;
+            for (int shift = 0; shift < counts.length; shift++) {
+                long[] group = counts[shift];
+                if (group == null) {
+                    continue;
+                }
+                for (int i = shift == 0 ? 0 : BUCKETS / 2; i < BUCKETS; i++) {
+                    if (group[i] == 0) {
+                        continue;
+                    }
+                    last = ((long) i << shift) + ((1L << shift) - 1) / 2;
+                    seen += group[i];
+                    if (seen >= rank) {
+                        return last;
+                    }
+                }
+            }
+            return last;
+        }
+    }
+
+    /**
+     * Count and sum per step of {@code stepMillis} from {@code start}.
+     */
+    static final class StepSeries {
+        private final long[] counts;
+        private final long[] sumHi;
+        private final long[] sumLo;
+
+        StepSeries(int steps) {
+            counts = new long[steps];
+            sumHi = new long[steps];
+            sumLo = new long[steps];
+        }
+
+        /**
+         * @param pair the packed pair to match, or -1 for every pair
+         */
+        static DealColumnStore.ChunkScan<StepSeries> scan(long start, long stepMillis, int pair) {
+            return (slice, from, to, series) -> {
+                long[] timestamps = slice.timestamps();
+                int[] pairs = slice.pairs();
+                long[] amounts = slice.amounts();
+                for (int i = 0; i < slice.size(); i++) {
+                    long timestamp = timestamps[i];
+                    if (timestamp >= from && timestamp < to && (pair < 0 || pairs[i] == pair)) {
+                        int step = (int) ((timestamp - start) / stepMillis);
+                        series.counts[step]++;
+                        DealAnalyticsAggregates.add(series.sumHi, series.sumLo, step, amounts[i]);
+                    }
+                }
+            };
+        }
+
+        static StepSeries combine(StepSeries left, StepSeries right) {
+            for (int step = 0; step < left.counts.length; step++) {
+                left.counts[step] += right.counts[step];
+                DealAnalyticsAggregates.add(left.sumHi, left.sumLo, step, right.sumHi[step], right.sumLo[step]);
+            }
+            return left;
+        }
+
+        /**
+         * Replaces each step by the sum of itself and the {@code width - 1} steps before it, via prefix sums.
+         */
+        void rollUp(int width) {
+            if (width == 1) {
+                return;
+            }
+            long[] prefixCounts = new long[counts.length + 1];
+            long[] prefixHi = new long[counts.length + 1];
+            long[] prefixLo = new long[counts.length + 1];
+            for (int step = 0; step < counts.length; step++) {
+                prefixCounts[step + 1] = prefixCounts[step] + counts[step];
+                prefixHi[step + 1] = prefixHi[step];
+                prefixLo[step + 1] = prefixLo[step];
+                DealAnalyticsAggregates.add(prefixHi, prefixLo, step + 1, sumHi[step], sumLo[step]);
+            }
+            for (int step = 0; step < counts.length; step++) {
+                int first = Math.max(0, step + 1 - width);
+                counts[step] = prefixCounts[step + 1] - prefixCounts[first];
+                // Subtracting is adding the two's complement negation.
+                long negLo = -prefixLo[first];
+                long negHi = ~prefixHi[first] + (prefixLo[first] == 0 ? 1 : 0);
+                sumHi[step] = prefixHi[step + 1];
+                sumLo[step] = prefixLo[step + 1];
+                DealAnalyticsAggregates.add(sumHi, sumLo, step, negHi, negLo);
+            }
+        }
+
+        long count(int step) {
+            return counts[step];
+        }
+
+        BigDecimal total(int step, int scale) {
+            return decimal(sumHi[step], sumLo[step], scale);
+        }
+    }
+}
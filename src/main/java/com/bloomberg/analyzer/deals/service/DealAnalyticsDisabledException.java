@@ -0,0 +1,12 @@
+package com.bloomberg.analyzer.deals.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.ErrorResponseException;
+
+public class DealAnalyticsDisabledException extends ErrorResponseException {
+    public DealAnalyticsDisabledException() {
+        super(HttpStatus.SERVICE_UNAVAILABLE, ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE,
+                "Deal analytics are disabled; set analyzer.analytics.enabled=true"), null);
+    }
+}
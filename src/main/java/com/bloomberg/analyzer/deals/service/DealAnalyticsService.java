@@ -0,0 +1,423 @@
+package com.bloomberg.analyzer.deals.service;
+
+import com.bloomberg.analyzer.deals.api.dto.DealAmountPoint;
+import com.bloomberg.analyzer.deals.api.dto.DealAmountSeries;
+import com.bloomberg.analyzer.deals.api.dto.DealAmountStats;
+import com.bloomberg.analyzer.deals.api.dto.DealAnalyticsPairs;
+import com.bloomberg.analyzer.deals.api.dto.DealPairStats;
+import com.bloomberg.analyzer.deals.config.DealAnalyticsProperties;
+import com.bloomberg.analyzer.deals.persistence.DealEntity;
+import com.bloomberg.analyzer.deals.persistence.DealFilter;
+import com.bloomberg.analyzer.deals.persistence.DealQueryRepository;
+import com.bloomberg.analyzer.deals.service.DealAnalyticsAggregates.AmountStats;
+import com.bloomberg.analyzer.deals.service.DealAnalyticsAggregates.PairTable;
+import com.bloomberg.analyzer.deals.service.DealAnalyticsAggregates.StepSeries;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Answers aggregate queries over recent deals from an in-process {@link DealColumnStore} instead of the database:
+ * top currency pairs, amount statistics with approximate percentiles, and amount series with sliding windows. Only
+ * deals of the last {@code analyzer.analytics.window} are held, within {@code max-memory}.
+ *
+ * <p>Once the application is ready the store is filled from {@code deals} on a background thread, which retries with
+ * growing delays until a load succeeds; from then on each imported chunk is added once it commits. Chunks committed
+ * before the load succeeds are held back and added after it, and the load skips their deals, so no deal is counted
+ * twice whichever side of the load's snapshot it fell on. Responses say {@code complete=false} until the load has
+ * finished, and for ranges reaching back past evicted deals.
+ *
+ * <p>{@code deal.analytics.rows} and {@code deal.analytics.memory} report the store's size,
+ * {@code deal.analytics.dropped} counts deals not stored, by reason, and {@code deal.analytics.load.failures} failed
+ * loads.
+ */
+@Service
+@Slf4j
+public class DealAnalyticsService implements ImportedDealsListener {
+    static final int MAX_LIMIT = 10_000;
+    static final int MAX_POINTS = 10_000;
+
+    private static final int LOAD_FETCH_SIZE = 10_000;
+    private static final int MAX_PERCENTILES = 20;
+    private static final Duration LOAD_RETRY_DELAY = Duration.ofSeconds(5);
+    private static final Duration LOAD_RETRY_MAX_DELAY = Duration.ofMinutes(5);
+
+    private final DealQueryRepository dealQueryRepository;
+    private final DealAnalyticsProperties properties;
+    private final ForkJoinPool pool;
+    private final Clock clock;
+    private final DealColumnStore store;
+    private final Counter evicted;
+    private final Counter full;
+    private final Counter unencodable;
+    private final Counter loadFailures;
+
+    private final Object pendingLock = new Object();
+    private final Set<String> pendingIds = ConcurrentHashMap.newKeySet();
+    private List<EncodedDeal> pending = new ArrayList<>(); // guarded by pendingLock; null once loaded
+    private volatile boolean loaded;
+
+    public DealAnalyticsService(DealQueryRepository dealQueryRepository, DealAnalyticsProperties properties,
+                                @Qualifier("dealAnalyticsPool") ForkJoinPool pool, Clock clock,
+                                MeterRegistry registry) {
+        this.dealQueryRepository = dealQueryRepository;
+        this.properties = properties;
+        this.pool = pool;
+        this.clock = clock;
+        this.store = properties.isEnabled()
+                ? new DealColumnStore(properties.getBucket().toMillis(), properties.getMaxMemory().toBytes())
+                : null;
+
+        evicted = dropped(registry, "evicted");
+        full = dropped(registry, "full");
+        unencodable = dropped(registry, "unencodable");
+        loadFailures = Counter.builder("deal.analytics.load.failures")
+                .description("Failed attempts to fill the analytics store from the database")
+                .register(registry);
+        if (store != null) {
+            Gauge.builder("deal.analytics.rows", store, DealColumnStore::rows)
+                    .description("Deals held by the analytics store")
+                    .register(registry);
+            Gauge.builder("deal.analytics.memory", store, DealColumnStore::allocatedBytes)
+                    .description("Bytes allocated to the analytics store's columns")
+                    .baseUnit("bytes")
+                    .register(registry);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void loadInBackground() {
+        if (store == null) {
+            return;
+        }
+        Thread loader = new Thread(this::loadWithRetries, "deal-analytics-load");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    private void loadWithRetries() {
+        Duration delay = LOAD_RETRY_DELAY;
+        while (!load()) {
+            log.info("analytics.loadRetry inMs={}", delay.toMillis());
+            try {
+                Thread.sleep(delay.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            Duration doubled = delay.multipliedBy(2);
+            delay = doubled.compareTo(LOAD_RETRY_MAX_DELAY) < 0 ? doubled : LOAD_RETRY_MAX_DELAY;
+        }
+    }
+
+    /**
+     * Fills the store with the stored deals of the current window, then adds the chunks imported meanwhile. Does
+     * nothing when disabled or already loaded. A failed load is logged and counted in
+     * {@code deal.analytics.load.failures}; the store is emptied again and keeps holding back imported chunks, so a
+     * later call can start over, and answers stay incomplete until one succeeds.
+     *
+     * @return whether the store is loaded (or disabled), i.e. {@code false} if this load failed
+     */
+    public synchronized boolean load() {
+        synchronized (pendingLock) {
+            if (store == null || pending == null) {
+                return true;
+            }
+        }
+        long started = System.nanoTime();
+        long[] read = new long[1];
+        try {
+            Instant from = clock.instant().minus(properties.getWindow());
+            dealQueryRepository.stream(new DealFilter(from, null, null, null), LOAD_FETCH_SIZE, deal -> {
+                read[0]++;
+                if (!pendingIds.contains(deal.dealId())) {
+                    EncodedDeal encoded = encode(deal.dealId(), deal.fromCurrency(), deal.toCurrency(),
+                            deal.dealTs(), deal.amount());
+                    if (encoded != null) {
+                        append(encoded);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            loadFailures.increment();
+            log.warn("analytics.loadFailed deals={}", read[0], e);
+            store.clear();
+            return false;
+        }
+        synchronized (pendingLock) {
+            pending.forEach(this::append);
+            pending = null;
+            pendingIds.clear();
+        }
+        loaded = true;
+        log.info("analytics.loaded deals={} rows={} tookMs={}", read[0], store.rows(),
+                (System.nanoTime() - started) / 1_000_000);
+        return true;
+    }
+
+    /**
+     * Adds the deals of a chunk once its transaction commits, so a rolled-back chunk never reaches the store.
+     */
+    @Override
+    public void onImported(List<DealEntity> deals) {
+        if (store == null || deals.isEmpty()) {
+            return;
+        }
+        List<EncodedDeal> encoded = new ArrayList<>(deals.size());
+        for (DealEntity deal : deals) {
+            EncodedDeal row = encode(deal.getDealId(), deal.getFromCurrency(), deal.getToCurrency(), deal.getDealTs(),
+                    deal.getAmount());
+            if (row != null) {
+                encoded.add(row);
+            }
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(encoded);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(encoded);
+            }
+        });
+    }
+
+    /**
+     * Currency pairs of deals in {@code [from, to)} ranked by {@code orderBy}. {@code from} defaults to the start of
+     * the window and {@code to} to open-ended; the limit is clamped to {@value #MAX_LIMIT}.
+     */
+    public DealAnalyticsPairs pairs(Instant from, Instant to, DealPairOrder orderBy, int limit) {
+        Range range = range(from, to);
+        PairTable table = store.scan(range.fromMillis(), range.toMillis(), pool, PairTable::new, PairTable::scan,
+                PairTable::combine);
+
+        int scale = properties.getAmountScale();
+        List<DealPairStats> pairs = new ArrayList<>(table.size());
+        table.forEach((pair, slot) -> {
+            BigDecimal total = table.total(slot, scale);
+            pairs.add(new DealPairStats(DealColumnStore.fromCurrency(pair), DealColumnStore.toCurrency(pair),
+                    table.count(slot), total, DealAnalyticsAggregates.average(total, table.count(slot), scale),
+                    BigDecimal.valueOf(table.min(slot), scale), BigDecimal.valueOf(table.max(slot), scale)));
+        });
+        Comparator<DealPairStats> order = orderBy == DealPairOrder.AMOUNT
+                ? Comparator.comparing(DealPairStats::totalAmount).reversed()
+                : Comparator.comparingLong(DealPairStats::dealCount).reversed();
+        pairs.sort(order.thenComparing(DealPairStats::fromCurrency).thenComparing(DealPairStats::toCurrency));
+
+        int safeLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        return new DealAnalyticsPairs(range.from(), to, range.complete(),
+                pairs.subList(0, Math.min(safeLimit, pairs.size())));
+    }
+
+    /**
+     * Count, total, average, extremes and nearest-rank percentiles of the amounts of deals in {@code [from, to)}, for
+     * one currency pair or for all pairs. Defaults are as for {@link #pairs}. Percentiles are only computed when asked
+     * for, from an {@link DealAnalyticsAggregates.AmountHistogram} per scan task: they are within 0.2% of the exact
+     * amount, and the memory they take depends on the range of the amounts rather than on the number of deals.
+     */
+    public DealAmountStats amounts(Instant from, Instant to, String fromCurrency, String toCurrency,
+                                   List<Double> percentiles) {
+        Range range = range(from, to);
+        int pair = pair(fromCurrency, toCurrency);
+        List<Double> requested = percentiles == null ? List.of() : percentiles;
+        if (requested.size() > MAX_PERCENTILES) {
+            throw new InvalidDealQueryException("at most " + MAX_PERCENTILES + " percentiles can be requested");
+        }
+        for (Double p : requested) {
+            if (p == null || !(p > 0 && p <= 100)) {
+                throw new InvalidDealQueryException("percentiles must be greater than 0 and at most 100");
+            }
+        }
+
+        boolean withHistogram = !requested.isEmpty();
+        AmountStats stats = store.scan(range.fromMillis(), range.toMillis(), pool,
+                () -> new AmountStats(withHistogram), AmountStats.scan(pair), AmountStats::combine);
+
+        int scale = properties.getAmountScale();
+        long count = stats.count();
+        Map<String, BigDecimal> values = new LinkedHashMap<>();
+        for (Double p : requested) {
+            BigDecimal percentile = BigDecimal.valueOf(p);
+            String key = percentile.stripTrailingZeros().toPlainString();
+            if (count == 0) {
+                values.put(key, null);
+                continue;
+            }
+            // In decimal, as 99.9 / 100 * 1000 in doubles is just above 999 and would round up to 1000.
+            long rank = percentile.multiply(BigDecimal.valueOf(count))
+                    .divide(BigDecimal.valueOf(100), 0, RoundingMode.CEILING).longValue();
+            values.put(key, BigDecimal.valueOf(stats.valueAtRank(Math.max(rank, 1)), scale));
+        }
+        BigDecimal total = stats.total(scale);
+        return new DealAmountStats(range.from(), to, upper(fromCurrency), upper(toCurrency), range.complete(), count,
+                total, DealAnalyticsAggregates.average(total, count, scale),
+                count == 0 ? null : BigDecimal.valueOf(stats.min(), scale),
+                count == 0 ? null : BigDecimal.valueOf(stats.max(), scale), values);
+    }
+
+    /**
+     * Count, total and average amount per {@code step} from {@code from} until {@code to}, for one currency pair or for
+     * all pairs. Each point covers the {@code window} ending with its step, which defaults to the step and must be a
+     * multiple of it. At most {@value #MAX_POINTS} points are returned.
+     */
+    public DealAmountSeries series(Instant from, Instant to, Duration step, Duration window, String fromCurrency,
+                                   String toCurrency) {
+        if (store == null) {
+            throw new DealAnalyticsDisabledException();
+        }
+        if (!from.isBefore(to)) {
+            throw new InvalidDealQueryException("'from' must be before 'to'");
+        }
+        long stepMillis = step.toMillis();
+        if (stepMillis <= 0) {
+            throw new InvalidDealQueryException("'step' must be at least 1ms");
+        }
+        Duration width = window == null ? step : window;
+        long windowMillis = width.toMillis();
+        if (windowMillis < stepMillis || windowMillis % stepMillis != 0) {
+            throw new InvalidDealQueryException("'window' must be a multiple of 'step'");
+        }
+        long spanMillis = Duration.between(from, to).toMillis();
+        long points = (spanMillis + stepMillis - 1) / stepMillis;
+        long stepsPerWindow = windowMillis / stepMillis;
+        if (points > MAX_POINTS || stepsPerWindow > MAX_POINTS) {
+            throw new InvalidDealQueryException("at most " + MAX_POINTS + " steps fit in a series or a window");
+        }
+        int pair = pair(fromCurrency, toCurrency);
+
+        // The first point's window starts stepsPerWindow - 1 steps before 'from'.
+        long scanFrom = from.toEpochMilli() - (stepsPerWindow - 1) * stepMillis;
+        long toMillis = to.toEpochMilli();
+        int steps = (int) (points + stepsPerWindow - 1);
+        expire();
+        StepSeries series = store.scan(scanFrom, toMillis, pool, () -> new StepSeries(steps),
+                StepSeries.scan(scanFrom, stepMillis, pair), StepSeries::combine);
+        series.rollUp((int) stepsPerWindow);
+
+        int scale = properties.getAmountScale();
+        List<DealAmountPoint> result = new ArrayList<>((int) points);
+        for (int i = (int) stepsPerWindow - 1; i < steps; i++) {
+            long start = scanFrom + (i + 1 - stepsPerWindow) * stepMillis;
+            long end = Math.min(scanFrom + (i + 1) * stepMillis, toMillis);
+            BigDecimal total = series.total(i, scale);
+            result.add(new DealAmountPoint(Instant.ofEpochMilli(start), Instant.ofEpochMilli(end),
+                    series.count(i), total, DealAnalyticsAggregates.average(total, series.count(i), scale)));
+        }
+        return new DealAmountSeries(from, to, step, width, upper(fromCurrency), upper(toCurrency),
+                loaded && scanFrom >= store.horizon(), result);
+    }
+
+    private void add(List<EncodedDeal> deals) {
+        synchronized (pendingLock) {
+            if (pending != null) {
+                pending.addAll(deals);
+                deals.forEach(deal -> pendingIds.add(deal.dealId()));
+                return;
+            }
+        }
+        expire();
+        deals.forEach(this::append);
+    }
+
+    private void append(EncodedDeal deal) {
+        switch (store.append(deal.timestamp(), deal.pair(), deal.amount())) {
+            case EVICTED -> evicted.increment();
+            case FULL -> full.increment();
+            case STORED -> {
+            }
+        }
+    }
+
+    private void expire() {
+        store.expireBefore(clock.millis() - properties.getWindow().toMillis());
+    }
+
+    private EncodedDeal encode(String dealId, String fromCurrency, String toCurrency, Instant dealTs,
+                               BigDecimal amount) {
+        int pair = DealColumnStore.pair(fromCurrency, toCurrency);
+        if (pair < 0 || dealTs == null || amount == null) {
+            unencodable.increment();
+            return null;
+        }
+        try {
+            long scaled = amount.movePointRight(properties.getAmountScale())
+                    .setScale(0, RoundingMode.HALF_EVEN)
+                    .longValueExact();
+            return new EncodedDeal(dealId, dealTs.toEpochMilli(), pair, scaled);
+        } catch (ArithmeticException e) {
+            unencodable.increment();
+            return null;
+        }
+    }
+
+    private Range range(Instant from, Instant to) {
+        if (store == null) {
+            throw new DealAnalyticsDisabledException();
+        }
+        Instant effectiveFrom = from != null ? from : clock.instant().minus(properties.getWindow());
+        if (to != null && !effectiveFrom.isBefore(to)) {
+            throw new InvalidDealQueryException("'from' must be before 'to'");
+        }
+        expire();
+        long fromMillis = effectiveFrom.toEpochMilli();
+        return new Range(effectiveFrom, fromMillis, to == null ? Long.MAX_VALUE : to.toEpochMilli(),
+                loaded && fromMillis >= store.horizon());
+    }
+
+    /**
+     * @return the packed pair, or -1 for all pairs when neither currency is given
+     */
+    private static int pair(String fromCurrency, String toCurrency) {
+        if ((fromCurrency == null) != (toCurrency == null)) {
+            throw new InvalidDealQueryException("'fromCurrency' and 'toCurrency' must be given together");
+        }
+        if (fromCurrency == null) {
+            return -1;
+        }
+        int pair = DealColumnStore.pair(upper(fromCurrency), upper(toCurrency));
+        if (pair < 0) {
+            throw new InvalidDealQueryException("'fromCurrency' and 'toCurrency' must be three-letter currency codes");
+        }
+        return pair;
+    }
+
+    private static String upper(String currency) {
+        return currency == null ? null : currency.toUpperCase(Locale.ROOT);
+    }
+
+    private static Counter dropped(MeterRegistry registry, String reason) {
+        return Counter.builder("deal.analytics.dropped")
+                .description("Deals not added to the analytics store, by reason")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    private record EncodedDeal(String dealId, long timestamp, int pair, long amount) {
+    }
+
+    private record Range(Instant from, long fromMillis, long toMillis, boolean complete) {
+    }
+}
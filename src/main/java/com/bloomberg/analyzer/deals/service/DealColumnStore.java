@@ -0,0 +1,316 @@
+package com.bloomberg.analyzer.deals.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Append-only columnar store of deals: per deal an epoch-millis timestamp, the currency pair packed into an int and the
+ * amount as a scaled long, in chunks of primitive arrays that grow to {@value #CHUNK_ROWS} rows. Chunks belong to
+ * buckets of {@code bucketMillis}, so evicting by time drops whole buckets and a time-range scan only visits the
+ * buckets it overlaps.
+ *
+ * <p>Appends are serialised on the store. Scans run concurrently with them, split the chunks across a fork/join pool
+ * and see at least every row appended before they started. No row at or after {@link #horizon()} has been evicted or
+ * turned away; rows before it are rejected.
+ */
+final class DealColumnStore {
+    static final int CHUNK_ROWS = 16_384;
+    static final int BYTES_PER_ROW = Long.BYTES + Integer.BYTES + Long.BYTES;
+
+    private static final int FIRST_CHUNK_ROWS = 64;
+    private static final int CURRENCY_CODES = 26 * 26 * 26;
+    private static final int LEAVES_PER_THREAD = 4;
+
+    enum Append {
+        STORED,
+        /**
+         * Older than the horizon, i.e. outside the window or in a bucket evicted to free memory.
+         */
+        EVICTED,
+        /**
+         * No memory left, and the only buckets that could be evicted are newer than the deal.
+         */
+        FULL
+    }
+
+    private final long bucketMillis;
+    private final long maxBytes;
+    private final ConcurrentSkipListMap<Long, Bucket> buckets = new ConcurrentSkipListMap<>();
+    private long allocatedBytes; // guarded by this
+    private volatile long rows;
+    private volatile long horizon = Long.MIN_VALUE;
+
+    DealColumnStore(long bucketMillis, long maxBytes) {
+        this.bucketMillis = bucketMillis;
+        this.maxBytes = maxBytes;
+    }
+
+    synchronized Append append(long timestamp, int pair, long amount) {
+        if (timestamp < horizon) {
+            return Append.EVICTED;
+        }
+        long start = Math.floorDiv(timestamp, bucketMillis) * bucketMillis;
+        Bucket bucket = buckets.get(start);
+        Chunk chunk = bucket == null ? null : bucket.tail();
+        if (chunk == null || chunk.size == CHUNK_ROWS) {
+            if (!reserve((long) FIRST_CHUNK_ROWS * BYTES_PER_ROW, start)) {
+                horizon = timestamp + 1;
+                return Append.FULL;
+            }
+            chunk = new Chunk();
+            if (bucket == null) {
+                bucket = new Bucket();
+                buckets.put(start, bucket);
+            }
+            bucket.add(chunk);
+        } else if (chunk.size == chunk.columns.timestamps.length) {
+            if (!reserve((long) chunk.size * BYTES_PER_ROW, start)) {
+                horizon = timestamp + 1;
+                return Append.FULL;
+            }
+            chunk.grow();
+        }
+        chunk.append(timestamp, pair, amount);
+        rows++;
+        return Append.STORED;
+    }
+
+    /**
+     * Evicts every bucket that ends at or before {@code cutoff} and rejects deals before it from now on.
+     */
+    synchronized void expireBefore(long cutoff) {
+        if (cutoff <= horizon) {
+            return;
+        }
+        horizon = cutoff;
+        for (Map.Entry<Long, Bucket> oldest = buckets.firstEntry();
+             oldest != null && oldest.getKey() <= cutoff - bucketMillis;
+             oldest = buckets.firstEntry()) {
+            evict(oldest.getKey(), oldest.getValue());
+        }
+    }
+
+    /**
+     * Evicts every bucket and accepts deals of any age again.
+     */
+    synchronized void clear() {
+        for (Map.Entry<Long, Bucket> oldest = buckets.firstEntry(); oldest != null; oldest = buckets.firstEntry()) {
+            evict(oldest.getKey(), oldest.getValue());
+        }
+        horizon = Long.MIN_VALUE;
+    }
+
+    long horizon() {
+        return horizon;
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    synchronized long allocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Folds the rows of every chunk that may hold deals in {@code [from, to)} into accumulators, one per leaf task of
+     * the pool, and combines them. The scan still has to check each row's timestamp against the range. Leaves take
+     * consecutive chunks, about {@value #LEAVES_PER_THREAD} per thread of the pool whatever the number of chunks, so
+     * accumulators that cost memory, such as histograms, stay few.
+     */
+    <A> A scan(long from, long to, ForkJoinPool pool, Supplier<A> accumulator, ChunkScan<A> scan,
+               BinaryOperator<A> combiner) {
+        Long first = buckets.floorKey(from);
+        NavigableMap<Long, Bucket> overlapping = first == null
+                ? buckets.headMap(to, false)
+                : buckets.subMap(first, true, to, false);
+        List<Slice> slices = new ArrayList<>();
+        for (Bucket bucket : overlapping.values()) {
+            for (Chunk chunk : bucket.chunks) {
+                // Size first: the columns published before it hold at least that many rows.
+                int size = chunk.size;
+                Columns columns = chunk.columns;
+                if (size > 0) {
+                    slices.add(new Slice(columns.timestamps, columns.pairs, columns.amounts, size));
+                }
+            }
+        }
+        if (slices.isEmpty()) {
+            return accumulator.get();
+        }
+        int leaves = pool.getParallelism() * LEAVES_PER_THREAD;
+        int slicesPerLeaf = (slices.size() + leaves - 1) / leaves;
+        return pool.invoke(new ScanTask<>(slices.toArray(Slice[]::new), 0, slices.size(), slicesPerLeaf, from, to,
+                accumulator, scan, combiner));
+    }
+
+    /**
+     * Packs a pair of three-letter upper-case codes into an int, or returns -1 for anything else.
+     */
+    static int pair(String fromCurrency, String toCurrency) {
+        int from = code(fromCurrency);
+        int to = code(toCurrency);
+        return from < 0 || to < 0 ? -1 : from * CURRENCY_CODES + to;
+    }
+
+    static String fromCurrency(int pair) {
+        return currency(pair / CURRENCY_CODES);
+    }
+
+    static String toCurrency(int pair) {
+        return currency(pair % CURRENCY_CODES);
+    }
+
+    private static int code(String currency) {
+        if (currency == null || currency.length() != 3) {
+            return -1;
+        }
+        int code = 0;
+        for (int i = 0; i < 3; i++) {
+            char c = currency.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                return -1;
+            }
+            code = code * 26 + (c - 'A');
+        }
+        return code;
+    }
+
+    private static String currency(int code) {
+        return new String(new char[]{
+                (char) ('A' + code / (26 * 26)), (char) ('A' + code / 26 % 26), (char) ('A' + code % 26)});
+    }
+
+    /**
+     * Makes room for {@code bytes} by evicting buckets older than the one at {@code start}, oldest first.
+     */
+    private boolean reserve(long bytes, long start) {
+        while (allocatedBytes + bytes > maxBytes) {
+            Map.Entry<Long, Bucket> oldest = buckets.firstEntry();
+            if (oldest == null || oldest.getKey() >= start) {
+                return false;
+            }
+            evict(oldest.getKey(), oldest.getValue());
+            horizon = Math.max(horizon, oldest.getKey() + bucketMillis);
+        }
+        allocatedBytes += bytes;
+        return true;
+    }
+
+    private void evict(long start, Bucket bucket) {
+        buckets.remove(start);
+        for (Chunk chunk : bucket.chunks) {
+            allocatedBytes -= (long) chunk.columns.timestamps.length * BYTES_PER_ROW;
+            rows -= chunk.size;
+        }
+    }
+
+    @FunctionalInterface
+    interface ChunkScan<A> {
+        /**
+         * Adds the rows of the slice with {@code from <= timestamp < to} to the accumulator.
+         */
+        void scan(Slice slice, long from, long to, A accumulator);
+    }
+
+    /**
+     * The first {@code size} rows of a chunk's columns.
+     */
+    record Slice(long[] timestamps, int[] pairs, long[] amounts, int size) {
+    }
+
+    private static final class Bucket {
+        private volatile Chunk[] chunks = new Chunk[0];
+
+        Chunk tail() {
+            Chunk[] current = chunks;
+            return current.length == 0 ? null : current[current.length - 1];
+        }
+
+        void add(Chunk chunk) {
+            Chunk[] grown = Arrays.copyOf(chunks, chunks.length + 1);
+            grown[grown.length - 1] = chunk;
+            chunks = grown;
+        }
+    }
+
+    private record Columns(long[] timestamps, int[] pairs, long[] amounts) {
+        Columns(int capacity) {
+            this(new long[capacity], new int[capacity], new long[capacity]);
+        }
+    }
+
+    /**
+     * Rows are written before {@code size} is raised past them, and grown columns are published before that, so a
+     * reader that reads {@code size} and then {@code columns} sees every row it counts.
+     */
+    private static final class Chunk {
+        private volatile Columns columns = new Columns(FIRST_CHUNK_ROWS);
+        private volatile int size;
+
+        void grow() {
+            Columns old = columns;
+            int capacity = Math.min(old.timestamps.length * 2, CHUNK_ROWS);
+            columns = new Columns(Arrays.copyOf(old.timestamps, capacity), Arrays.copyOf(old.pairs, capacity),
+                    Arrays.copyOf(old.amounts, capacity));
+        }
+
+        void append(long timestamp, int pair, long amount) {
+            Columns current = columns;
+            int index = size;
+            current.timestamps[index] = timestamp;
+            current.pairs[index] = pair;
+            current.amounts[index] = amount;
+            size = index + 1;
+        }
+    }
+
+    private static final class ScanTask<A> extends RecursiveTask<A> {
+        private final Slice[] slices;
+        private final int lo;
+        private final int hi;
+        private final int slicesPerLeaf;
+        private final long from;
+        private final long to;
+        private final Supplier<A> accumulator;
+        private final ChunkScan<A> scan;
+        private final BinaryOperator<A> combiner;
+
+        ScanTask(Slice[] slices, int lo, int hi, int slicesPerLeaf, long from, long to, Supplier<A> accumulator,
+                 ChunkScan<A> scan, BinaryOperator<A> combiner) {
+            this.slices = slices;
+            this.lo = lo;
+            this.hi = hi;
+            this.slicesPerLeaf = slicesPerLeaf;
+            this.from = from;
+            this.to = to;
+            this.accumulator = accumulator;
+            this.scan = scan;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected A compute() {
+            if (hi - lo <= slicesPerLeaf) {
+                A result = accumulator.get();
+                for (int i = lo; i < hi; i++) {
+                    scan.scan(slices[i], from, to, result);
+                }
+                return result;
+            }
+            int mid = (lo + hi) >>> 1;
+            ScanTask<A> left = new ScanTask<>(slices, lo, mid, slicesPerLeaf, from, to, accumulator, scan, combiner);
+            left.fork();
+            A right = new ScanTask<>(slices, mid, hi, slicesPerLeaf, from, to, accumulator, scan, combiner).compute();
+            return combiner.apply(left.join(), right);
+        }
+    }
+}
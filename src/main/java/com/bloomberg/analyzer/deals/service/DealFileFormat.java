@@ -0,0 +1,41 @@
+package com.bloomberg.analyzer.deals.service;
+
+import java.util.Locale;
+
+/**
+ * Layout of a file in the drop directory.
+ */
+public enum DealFileFormat {
+    /**
+     * Comma-separated with the header {@code dealId,fromCurrency,toCurrency,timestamp,amount}, as written by the CSV
+     * export; fields may be double-quoted.
+     */
+    CSV,
+    /**
+     * One JSON deal per line.
+     */
+    NDJSON;
+
+    /**
+     * @return the format named (case-insensitively) by {@code name}, or inferred from the file extension when
+     * {@code name} is {@code null}
+     * @throws InvalidDealFileImportException if neither gives a known format
+     */
+    static DealFileFormat resolve(String name, String fileName) {
+        if (name != null) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidDealFileImportException("Unknown format '" + name + "'");
+            }
+        }
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".csv")) {
+            return CSV;
+        }
+        if (lower.endsWith(".ndjson") || lower.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new InvalidDealFileImportException("Cannot infer the format of '" + fileName + "'; pass 'format'");
+    }
+}
@@ -0,0 +1,11 @@
+package com.bloomberg.analyzer.deals.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.ErrorResponseException;
+
+public class DealFileImportConflictException extends ErrorResponseException {
+    public DealFileImportConflictException(String detail) {
+        super(HttpStatus.CONFLICT, ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, detail), null);
+    }
+}
@@ -0,0 +1,286 @@
+package com.bloomberg.analyzer.deals.service;
+
+import com.bloomberg.analyzer.deals.api.dto.DealFileImportStatus;
+import com.bloomberg.analyzer.deals.api.dto.DealImportJobStatus;
+import com.bloomberg.analyzer.deals.api.dto.DealImportRequest;
+import com.bloomberg.analyzer.deals.api.dto.DealRowResult;
+import com.bloomberg.analyzer.deals.config.DealImportProperties;
+import com.bloomberg.analyzer.deals.persistence.DealFileImportRepository;
+import com.bloomberg.analyzer.deals.persistence.DealFileImportRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Imports large CSV or NDJSON files from the drop directory in the background, through the same windowed validation
+ * and persistence as the streaming import. After every committed window the byte offset just past its last row is
+ * checkpointed in {@code deal_file_imports}, so an import interrupted by a crash, restart or database outage resumes
+ * from there: on startup for imports that were running, or when the same file is submitted again. Rows of the window
+ * in progress at the time of the interruption are read again on resume; the idempotent insert reports them as
+ * duplicates rather than storing them twice.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class DealFileImportService {
+    private static final String QUEUED = DealImportJobStatus.State.QUEUED.name();
+    private static final String RUNNING = DealImportJobStatus.State.RUNNING.name();
+    private static final String COMPLETED = DealImportJobStatus.State.COMPLETED.name();
+    private static final String FAILED = DealImportJobStatus.State.FAILED.name();
+
+    private final DealImportService dealImportService;
+    private final DealFileImportRepository dealFileImportRepository;
+    private final DealImportMetrics metrics;
+    private final JsonMapper jsonMapper;
+    private final DealImportProperties properties;
+    @Qualifier("dealFileImportExecutor")
+    private final ExecutorService executor;
+
+    private final Set<Long> active = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Starts importing {@code path} (relative to the drop directory), or resumes it from its checkpoint if the same
+     * file was imported before and did not complete. A completed or currently running import is returned as is.
+     *
+     * @throws DealFileImportConflictException if the file changed since its checkpoint and {@code restart} is not set
+     */
+    public DealFileImportStatus submit(String path, String format, boolean restart) {
+        Path file = resolve(path);
+        BasicFileAttributes attributes = attributes(file);
+        String key = dropDirectory().relativize(file).toString().replace('\\', '/');
+        DealFileFormat fileFormat = DealFileFormat.resolve(format, file.getFileName().toString());
+
+        Optional<DealFileImportRow> existing = dealFileImportRepository.findByPath(key);
+        if (existing.isPresent() && active.contains(existing.get().id())) {
+            if (restart) {
+                throw new DealFileImportConflictException("Import of '" + key + "' is running");
+            }
+            return toStatus(existing.get());
+        }
+
+        long id;
+        if (existing.isPresent() && !restart) {
+            DealFileImportRow row = existing.get();
+            if (!sameFile(row, attributes)) {
+                throw new DealFileImportConflictException("'" + key + "' changed since its last checkpoint; "
+                        + "submit it with restart=true to import it from the beginning");
+            }
+            if (COMPLETED.equals(row.state())) {
+                return toStatus(row);
+            }
+            id = row.id();
+            dealFileImportRepository.updateState(id, QUEUED, null);
+            log.info("dealFileImport.resuming id={} path={} offset={}", id, key, row.byteOffset());
+        } else {
+            id = dealFileImportRepository.start(key, fileFormat.name(), attributes.size(),
+                    modifiedAt(attributes), QUEUED);
+            log.info("dealFileImport.submitted id={} path={} format={} bytes={}", id, key, fileFormat, attributes.size());
+        }
+
+        schedule(id);
+        return status(id);
+    }
+
+    public DealFileImportStatus status(long id) {
+        return dealFileImportRepository.findById(id)
+                .map(DealFileImportService::toStatus)
+                .orElseThrow(() -> new DealFileImportNotFoundException(id));
+    }
+
+    /**
+     * Resumes imports that a previous run left queued or running.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        if (!properties.getFiles().isResumeOnStartup()) {
+            return;
+        }
+        try {
+            for (String state : new String[]{RUNNING, QUEUED}) {
+                for (DealFileImportRow row : dealFileImportRepository.findByState(state)) {
+                    log.info("dealFileImport.resuming id={} path={} offset={}", row.id(), row.path(), row.byteOffset());
+                    schedule(row.id());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("dealFileImport.resumeFailed", e);
+        }
+    }
+
+    private void schedule(long id) {
+        if (!active.add(id)) {
+            return;
+        }
+        try {
+            executor.execute(() -> run(id));
+        } catch (RejectedExecutionException e) {
+            active.remove(id);
+            dealFileImportRepository.updateState(id, FAILED, "file import queue is full");
+            throw new DealImportJobRejectedException();
+        }
+    }
+
+    private void run(long id) {
+        try {
+            DealFileImportRow row = dealFileImportRepository.findById(id).orElseThrow();
+            Path file = resolve(row.path());
+            if (!sameFile(row, attributes(file))) {
+                throw new IllegalStateException("file changed since the import started");
+            }
+            dealFileImportRepository.updateState(id, RUNNING, null);
+
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                int batchSize = properties.getBatchSize();
+                DealFileReader reader = new DealFileReader(channel, row.byteOffset(), (int) row.rowsProcessed(),
+                        DealFileFormat.valueOf(row.format()), jsonMapper.readerFor(DealImportRequest.class),
+                        (int) properties.getFiles().getReadBuffer().toBytes(), 2 * batchSize);
+                Checkpointer checkpointer = new Checkpointer(row, reader, batchSize);
+
+                dealImportService.importDeals(reader, (int) row.rowsProcessed(), checkpointer);
+                checkpointer.complete();
+                metrics.recordParse(reader.parseNanos(), reader.parsed());
+                log.info("dealFileImport.completed id={} path={} rows={}", id, row.path(), checkpointer.rows);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("dealFileImport.failed id={}", id, e);
+            try {
+                dealFileImportRepository.updateState(id, FAILED, String.valueOf(e.getMessage()));
+            } catch (RuntimeException stateFailure) {
+                log.warn("dealFileImport.stateUpdateFailed id={}", id, stateFailure);
+            }
+        } finally {
+            active.remove(id);
+        }
+    }
+
+    private Path dropDirectory() {
+        return properties.getFiles().getDropDirectory().toAbsolutePath().normalize();
+    }
+
+    private Path resolve(String path) {
+        if (path == null || path.isBlank()) {
+            throw new InvalidDealFileImportException("'path' is required");
+        }
+        Path dropDirectory = dropDirectory();
+        Path file = dropDirectory.resolve(path).normalize();
+        if (!file.startsWith(dropDirectory) || file.equals(dropDirectory)) {
+            throw new InvalidDealFileImportException("'path' must name a file inside the drop directory");
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new InvalidDealFileImportException("File '" + path + "' not found in the drop directory");
+        }
+        return file;
+    }
+
+    private static BasicFileAttributes attributes(Path file) {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            throw new InvalidDealFileImportException("File '" + file.getFileName() + "' cannot be read");
+        }
+    }
+
+    private static Instant modifiedAt(BasicFileAttributes attributes) {
+        // timestamptz keeps microseconds.
+        return attributes.lastModifiedTime().toInstant().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private static boolean sameFile(DealFileImportRow row, BasicFileAttributes attributes) {
+        return row.fileSize() == attributes.size() && row.fileModifiedAt().equals(modifiedAt(attributes));
+    }
+
+    private static DealFileImportStatus toStatus(DealFileImportRow row) {
+        return new DealFileImportStatus(row.id(), row.path(), row.format(),
+                DealImportJobStatus.State.valueOf(row.state()), row.fileSize(), row.byteOffset(), row.rowsProcessed(),
+                row.imported(), row.duplicates(), row.failedValidation(), row.failedPersistence(), row.error(),
+                row.updatedAt());
+    }
+
+    /**
+     * Counts results and checkpoints at the end of every window. A window in which every row that reached the
+     * database failed to persist points at the database rather than the rows, so the import stops there without
+     * moving the checkpoint, and those rows are retried on resume.
+     */
+    private final class Checkpointer implements Consumer<DealRowResult> {
+        private final long id;
+        private final DealFileReader reader;
+        private final int windowSize;
+        private long rows;
+        private long imported;
+        private long duplicates;
+        private long failedValidation;
+        private long failedPersistence;
+        private int windowRows;
+        private int windowStored;
+        private int windowFailedPersistence;
+
+        Checkpointer(DealFileImportRow row, DealFileReader reader, int windowSize) {
+            this.id = row.id();
+            this.reader = reader;
+            this.windowSize = windowSize;
+            this.rows = row.rowsProcessed();
+            this.imported = row.imported();
+            this.duplicates = row.duplicates();
+            this.failedValidation = row.failedValidation();
+            this.failedPersistence = row.failedPersistence();
+        }
+
+        @Override
+        public void accept(DealRowResult result) {
+            switch (result.status()) {
+                case IMPORTED -> {
+                    imported++;
+                    windowStored++;
+                }
+                case DUPLICATE -> {
+                    duplicates++;
+                    windowStored++;
+                }
+                case VALIDATION_FAILED -> failedValidation++;
+                case PERSISTENCE_FAILED -> {
+                    failedPersistence++;
+                    windowFailedPersistence++;
+                }
+            }
+            rows++;
+            if (++windowRows == windowSize) {
+                endWindow(reader.endOffset(result.index()));
+            }
+        }
+
+        void complete() {
+            endWindow(reader.position());
+            dealFileImportRepository.updateState(id, COMPLETED, null);
+        }
+
+        private void endWindow(long offset) {
+            if (windowFailedPersistence > 0 && windowStored == 0) {
+                throw new IllegalStateException("every row of a window failed to persist; stopped at the last checkpoint");
+            }
+            dealFileImportRepository.checkpoint(id, offset, rows, imported, duplicates, failedValidation,
+                    failedPersistence);
+            windowRows = 0;
+            windowStored = 0;
+            windowFailedPersistence = 0;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.bloomberg.analyzer.deals.service;
+
+import com.bloomberg.analyzer.deals.api.dto.DealImportRequest;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads deals from a file one line at a time, starting at a byte offset. The file is streamed through a fixed heap
+ * buffer straight from the {@link FileChannel}, and lines are split on raw bytes, so the reader always knows the exact
+ * byte offset at which each row ends. The offsets of the most recent rows are kept so the caller can checkpoint after
+ * the row whose window was committed. A malformed line is reported as a single {@link DealRowParseException}; blank
+ * lines are skipped.
+ */
+final class DealFileReader implements Iterator<DealImportRequest> {
+    static final int MAX_LINE_BYTES = 1 << 20;
+    static final String CSV_HEADER = "dealId,fromCurrency,toCurrency,timestamp,amount";
+    private static final int CSV_COLUMNS = 5;
+
+    private final FileChannel channel;
+    private final DealFileFormat format;
+    private final ObjectReader objectReader;
+    private final byte[] buffer;
+    private final ByteBuffer bufferView;
+    private final long[] endOffsets;
+
+    private int bufferPosition;
+    private int bufferLimit;
+    private long position;
+    private byte[] line = new byte[256];
+    private int lineLength;
+    private boolean lineTooLong;
+    private long lineEnd;
+    private boolean lineReady;
+    private boolean eof;
+    private int nextIndex;
+    private long parseNanos;
+    private int parsed;
+
+    /**
+     * @param firstIndex     index of the first row read, i.e. the number of rows before {@code startOffset}
+     * @param offsetHistory  how many of the most recent row end offsets are kept
+     */
+    DealFileReader(FileChannel channel, long startOffset, int firstIndex, DealFileFormat format,
+                   ObjectReader objectReader, int bufferBytes, int offsetHistory) throws IOException {
+        this.channel = channel;
+        this.format = format;
+        this.objectReader = objectReader;
+        this.buffer = new byte[bufferBytes];
+        this.bufferView = ByteBuffer.wrap(buffer);
+        this.endOffsets = new long[offsetHistory];
+        this.nextIndex = firstIndex;
+
+        channel.position(startOffset);
+        position = startOffset;
+        if (format == DealFileFormat.CSV && startOffset == 0) {
+            checkCsvHeader();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!lineReady && !eof) {
+            if (!readLine()) {
+                break;
+            }
+            lineEnd = position;
+            lineReady = lineTooLong || !isBlank();
+        }
+        return lineReady;
+    }
+
+    @Override
+    public DealImportRequest next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        lineReady = false;
+        endOffsets[nextIndex % endOffsets.length] = lineEnd;
+        nextIndex++;
+        if (lineTooLong) {
+            throw new DealRowParseException("row exceeds " + MAX_LINE_BYTES + " bytes");
+        }
+
+        String text = lineText();
+        long started = System.nanoTime();
+        try {
+            return format == DealFileFormat.CSV ? parseCsv(text) : objectReader.readValue(text);
+        } catch (JacksonException e) {
+            throw new DealRowParseException("malformed JSON", text);
+        } finally {
+            parseNanos += System.nanoTime() - started;
+            parsed++;
+        }
+    }
+
+    /**
+     * Byte offset just past the line of row {@code index}; only the most recent {@code offsetHistory} rows are known.
+     */
+    long endOffset(int index) {
+        return endOffsets[index % endOffsets.length];
+    }
+
+    /**
+     * Byte offset of the next unread byte; the file size once everything has been read.
+     */
+    long position() {
+        return position;
+    }
+
+    long parseNanos() {
+        return parseNanos;
+    }
+
+    int parsed() {
+        return parsed;
+    }
+
+    private void checkCsvHeader() {
+        if (hasNext()) {
+            lineReady = false;
+            String header = lineText().replace(" ", "");
+            if (!header.equalsIgnoreCase(CSV_HEADER)) {
+                throw new IllegalStateException("expected CSV header '" + CSV_HEADER + "'");
+            }
+        }
+    }
+
+    /**
+     * Reads up to and including the next {@code '\n'} into {@link #line}, advancing {@link #position} past it.
+     *
+     * @return {@code false} if the end of the file was reached before any byte of a new line
+     */
+    private boolean readLine() {
+        lineLength = 0;
+        lineTooLong = false;
+        boolean any = false;
+        while (true) {
+            if (bufferPosition == bufferLimit && !fill()) {
+                eof = true;
+                return any;
+            }
+            any = true;
+            int start = bufferPosition;
+            int newline = -1;
+            for (int i = start; i < bufferLimit; i++) {
+                if (buffer[i] == '\n') {
+                    newline = i;
+                    break;
+                }
+            }
+            int end = newline < 0 ? bufferLimit : newline;
+            append(start, end - start);
+            bufferPosition = newline < 0 ? bufferLimit : newline + 1;
+            position += bufferPosition - start;
+            if (newline >= 0) {
+                return true;
+            }
+        }
+    }
+
+    private boolean fill() {
+        try {
+            bufferView.clear();
+            int read;
+            do {
+                read = channel.read(bufferView);
+            } while (read == 0);
+            bufferPosition = 0;
+            bufferLimit = Math.max(read, 0);
+            return read > 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void append(int from, int length) {
+        if (lineTooLong || length == 0) {
+            return;
+        }
+        if (lineLength + length > MAX_LINE_BYTES) {
+            lineTooLong = true;
+            return;
+        }
+        if (lineLength + length > line.length) {
+            line = Arrays.copyOf(line, Math.min(MAX_LINE_BYTES, Math.max(line.length * 2, lineLength + length)));
+        }
+        System.arraycopy(buffer, from, line, lineLength, length);
+        lineLength += length;
+    }
+
+    private boolean isBlank() {
+        for (int i = 0; i < lineLength; i++) {
+            byte b = line[i];
+            if (b != ' ' && b != '\t' && b != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String lineText() {
+        int length = lineLength > 0 && line[lineLength - 1] == '\r' ? lineLength - 1 : lineLength;
+        return new String(line, 0, length, StandardCharsets.UTF_8);
+    }
+
+    static DealImportRequest parseCsv(String text) {
+        List<String> fields = splitCsv(text);
+        if (fields.size() != CSV_COLUMNS) {
+            throw new DealRowParseException("expected " + CSV_COLUMNS + " columns but found " + fields.size(), text);
+        }
+
+        Instant timestamp = null;
+        String ts = blankToNull(fields.get(3).trim());
+        if (ts != null) {
+            try {
+                timestamp = Instant.parse(ts);
+            } catch (DateTimeParseException e) {
+                throw new DealRowParseException("timestamp: must be an ISO-8601 instant", text);
+            }
+        }
+
+        BigDecimal amount = null;
+        String value = blankToNull(fields.get(4).trim());
+        if (value != null) {
+            try {
+                amount = new BigDecimal(value);
+            } catch (NumberFormatException e) {
+                throw new DealRowParseException("amount: must be a decimal number", text);
+            }
+        }
+        return new DealImportRequest(blankToNull(fields.get(0)), blankToNull(fields.get(1)),
+                blankToNull(fields.get(2)), timestamp, amount);
+    }
+
+    /**
+     * Splits one CSV record; a field may be double-quoted, with {@code ""} standing for a quote inside it.
+     */
+    private static List<String> splitCsv(String text) {
+        List<String> fields = new ArrayList<>(CSV_COLUMNS);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new DealRowParseException("unterminated quoted field", text);
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String blankToNull(String value) {
+        return value.isBlank() ? null : value;
+    }
+}
@@ -0,0 +1,194 @@
+package com.bloomberg.analyzer.deals.service;
+
+import com.bloomberg.analyzer.deals.config.DealImportProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admission control for synchronous imports, so a burst of large uploads is refused quickly instead of occupying every
+ * request thread and pooled connection:
+ *
+ * <ul>
+ *     <li>at most {@code max-concurrent} imports run at once; up to {@code max-queued} more wait at most
+ *     {@code queue-timeout} for a slot, anything beyond that gets {@code 429}</li>
+ *     <li>running imports together hold at most {@code max-rows-in-flight} rows; an import that would exceed the
+ *     budget gets {@code 503}, one that could never fit gets {@code 413}</li>
+ *     <li>bodies declaring more than {@code max-request-size} bytes get {@code 413} before they are read, and bodies
+ *     of unknown size {@code 411}, except NDJSON streams</li>
+ * </ul>
+ *
+ * Refusals carry {@code Retry-After} and are counted in {@code deal.import.admission.rejected} by {@code reason};
+ * {@code deal.import.admission.active} and {@code deal.import.admission.rows} show current usage.
+ */
+@Component
+@Slf4j
+public class DealImportAdmission {
+    private static final Duration REJECT_LOG_INTERVAL = Duration.ofSeconds(10);
+
+    private final DealImportProperties.Admission properties;
+    private final int windowRows;
+    private final Semaphore slots;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger rowsInFlight = new AtomicInteger();
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedTimeout;
+    private final Counter rejectedRows;
+    private final Counter rejectedSize;
+    private final LogRateLimiter rejectLog = new LogRateLimiter(REJECT_LOG_INTERVAL);
+
+    public DealImportAdmission(DealImportProperties properties, MeterRegistry registry) {
+        this.properties = properties.getAdmission();
+        this.windowRows = properties.getBatchSize();
+        this.slots = new Semaphore(this.properties.getMaxConcurrent(), true);
+
+        Gauge.builder("deal.import.admission.active", slots,
+                        s -> this.properties.getMaxConcurrent() - s.availablePermits())
+                .description("Synchronous imports currently admitted")
+                .register(registry);
+        Gauge.builder("deal.import.admission.rows", rowsInFlight, AtomicInteger::get)
+                .description("Rows held by admitted imports")
+                .baseUnit("rows")
+                .register(registry);
+        rejectedQueueFull = rejected(registry, "queue_full");
+        rejectedTimeout = rejected(registry, "queue_timeout");
+        rejectedRows = rejected(registry, "rows");
+        rejectedSize = rejected(registry, "size");
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Checks the size of a body that is bound as a whole. Such a body must declare its size: a chunked one could be
+     * arbitrarily large and would be read into memory before the row budget sees it.
+     *
+     * @param contentLength declared body size, or {@code -1} when unknown
+     * @throws DealImportLengthRequiredException if the size is unknown
+     * @throws DealImportTooLargeException       if the declared size exceeds {@code max-request-size}
+     */
+    public void checkRequestSize(long contentLength) {
+        long max = properties.getMaxRequestSize().toBytes();
+        if (contentLength < 0) {
+            rejectedSize.increment();
+            throw new DealImportLengthRequiredException("Request body must declare its Content-Length; stream "
+                    + "larger imports as application/x-ndjson");
+        }
+        if (contentLength > max) {
+            rejectedSize.increment();
+            throw new DealImportTooLargeException("Request body exceeds " + max + " bytes");
+        }
+    }
+
+    /**
+     * Takes an import slot, waiting at most {@code queue-timeout} behind at most {@code max-queued} other imports.
+     * The returned permit must be closed when the import is done.
+     *
+     * @throws DealImportThrottledException with {@code 429} if no slot becomes free in time
+     */
+    public Permit acquire() {
+        if (slots.tryAcquire()) {
+            return new Permit();
+        }
+        if (queued.incrementAndGet() > properties.getMaxQueued()) {
+            queued.decrementAndGet();
+            rejectedQueueFull.increment();
+            logRejected("queue_full");
+            throw throttled(HttpStatus.TOO_MANY_REQUESTS, "Too many concurrent imports");
+        }
+        try {
+            if (!slots.tryAcquire(properties.getQueueTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                rejectedTimeout.increment();
+                logRejected("queue_timeout");
+                throw throttled(HttpStatus.TOO_MANY_REQUESTS, "Too many concurrent imports");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw throttled(HttpStatus.SERVICE_UNAVAILABLE, "Import interrupted while waiting for admission");
+        } finally {
+            queued.decrementAndGet();
+        }
+        return new Permit();
+    }
+
+    private void logRejected(String reason) {
+        long suppressed = rejectLog.tryAcquire();
+        if (suppressed >= 0) {
+            log.warn("dealImport.admissionRejected reason={} active={} rowsInFlight={} suppressed={}",
+                    reason, properties.getMaxConcurrent() - slots.availablePermits(), rowsInFlight.get(), suppressed);
+        }
+    }
+
+    private DealImportThrottledException throttled(HttpStatus status, String detail) {
+        return new DealImportThrottledException(status, detail, properties.getRetryAfter());
+    }
+
+    private static Counter rejected(MeterRegistry registry, String reason) {
+        return Counter.builder("deal.import.admission.rejected")
+                .description("Imports refused by admission control")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    /**
+     * An admitted import. Closing it releases the slot and every row reserved through it; closing twice is harmless.
+     */
+    public final class Permit implements AutoCloseable {
+        private int rows;
+        private boolean closed;
+
+        private Permit() {
+        }
+
+        /**
+         * Reserves budget for {@code count} more rows held by this import.
+         *
+         * @throws DealImportTooLargeException  if the rows can never fit into {@code max-rows-in-flight}
+         * @throws DealImportThrottledException with {@code 503} if other imports currently hold too much of the budget
+         */
+        public void reserveRows(int count) {
+            int max = properties.getMaxRowsInFlight();
+            if (rows + count > max) {
+                rejectedSize.increment();
+                throw new DealImportTooLargeException("Import has " + (rows + count) + " rows; at most " + max
+                        + " are accepted per request");
+            }
+            int held;
+            do {
+                held = rowsInFlight.get();
+                if (held + count > max) {
+                    rejectedRows.increment();
+                    logRejected("rows");
+                    throw throttled(HttpStatus.SERVICE_UNAVAILABLE, "Too many rows being imported");
+                }
+            } while (!rowsInFlight.compareAndSet(held, held + count));
+            rows += count;
+        }
+
+        /**
+         * Reserves one import window of {@code batch-size} rows, the most a streaming import holds at a time.
+         */
+        public void reserveWindow() {
+            reserveRows(windowRows);
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            rowsInFlight.addAndGet(-rows);
+            slots.release();
+        }
+    }
+}
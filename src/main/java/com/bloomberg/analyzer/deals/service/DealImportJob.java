@@ -0,0 +1,87 @@
+package com.bloomberg.analyzer.deals.service;
+
+import com.bloomberg.analyzer.deals.api.dto.DealImportJobStatus;
+import com.bloomberg.analyzer.deals.api.dto.DealImportRequest;
+import com.bloomberg.analyzer.deals.api.dto.DealRowResult;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * State of one asynchronous import. Counters are updated live by the worker; the submitted rows are released as soon
+ * as the job finishes so a finished job only retains its compact results.
+ */
+@Getter
+final class DealImportJob {
+    private final UUID id;
+    private final DealImportMode mode;
+    private final Instant submittedAt;
+    private final int total;
+    private final CompactRowResults rows;
+
+    private final AtomicInteger imported = new AtomicInteger();
+    private final AtomicInteger duplicates = new AtomicInteger();
+    private final AtomicInteger failedValidation = new AtomicInteger();
+    private final AtomicInteger failedPersistence = new AtomicInteger();
+
+    private volatile DealImportJobStatus.State state = DealImportJobStatus.State.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant completedAt;
+    private volatile List<DealImportRequest> requests;
+
+    DealImportJob(UUID id, DealImportMode mode, List<DealImportRequest> requests, Instant submittedAt) {
+        this.id = id;
+        this.mode = mode;
+        this.requests = requests;
+        this.submittedAt = submittedAt;
+        this.total = requests.size();
+        this.rows = new CompactRowResults(total);
+    }
+
+    void start() {
+        startedAt = Instant.now();
+        state = DealImportJobStatus.State.RUNNING;
+    }
+
+    void record(DealRowResult row) {
+        rows.add(row);
+        switch (row.status()) {
+            case IMPORTED -> imported.incrementAndGet();
+            case DUPLICATE -> duplicates.incrementAndGet();
+            case VALIDATION_FAILED -> failedValidation.incrementAndGet();
+            case PERSISTENCE_FAILED -> failedPersistence.incrementAndGet();
+        }
+    }
+
+    void finish(DealImportJobStatus.State finalState) {
+        requests = null;
+        rows.trim();
+        completedAt = Instant.now();
+        state = finalState;
+    }
+
+    boolean isFinished() {
+        return completedAt != null;
+    }
+
+    DealImportJobStatus toStatus(int offset, int limit) {
+        return new DealImportJobStatus(
+                id,
+                state,
+                submittedAt,
+                startedAt,
+                completedAt,
+                total,
+                rows.size(),
+                imported.get(),
+                duplicates.get(),
+                failedValidation.get(),
+                failedPersistence.get(),
+                offset,
+                rows.page(offset, limit)
+        );
+    }
+}
@@ -0,0 +1,13 @@
+package com.bloomberg.analyzer.deals.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.ErrorResponseException;
+
+import java.util.UUID;
+
+public class DealImportJobNotFoundException extends ErrorResponseException {
+    public DealImportJobNotFoundException(UUID jobId) {
+        super(HttpStatus.NOT_FOUND, ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, "Import job " + jobId + " not found"), null);
+    }
+}
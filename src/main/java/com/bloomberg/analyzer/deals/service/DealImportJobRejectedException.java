@@ -0,0 +1,12 @@
+package com.bloomberg.analyzer.deals.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.ErrorResponseException;
+
+public class DealImportJobRejectedException extends ErrorResponseException {
+    public DealImportJobRejectedException() {
+        super(HttpStatus.SERVICE_UNAVAILABLE,
+                ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, "Import job queue is full"), null);
+    }
+}
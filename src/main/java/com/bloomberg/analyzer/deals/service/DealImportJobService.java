@@ -0,0 +1,93 @@
+package com.bloomberg.analyzer.deals.service;
+
+import com.bloomberg.analyzer.deals.api.dto.DealImportJobStatus;
+import com.bloomberg.analyzer.deals.api.dto.DealImportRequest;
+import com.bloomberg.analyzer.deals.config.DealImportProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs imports in the background so the submitting request returns immediately. Jobs are kept in memory only; finished
+ * jobs are evicted after {@code retention} or once more than {@code max-retained} have accumulated.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class DealImportJobService {
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private final DealImportService dealImportService;
+    private final DealImportProperties properties;
+    @Qualifier("dealImportJobExecutor")
+    private final ExecutorService executor;
+
+    private final Map<UUID, DealImportJob> jobs = new ConcurrentHashMap<>();
+
+    public DealImportJobStatus submit(List<DealImportRequest> requests, DealImportMode mode) {
+        evictFinishedJobs();
+
+        DealImportJob job = new DealImportJob(UUID.randomUUID(), mode, requests == null ? List.of() : requests, Instant.now());
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            log.warn("dealImportJob.rejected rows={}", job.getTotal());
+            throw new DealImportJobRejectedException();
+        }
+
+        log.info("dealImportJob.submitted jobId={} mode={} rows={}", job.getId(), mode, job.getTotal());
+        return job.toStatus(0, 0);
+    }
+
+    public DealImportJobStatus status(UUID jobId, int offset, int limit) {
+        DealImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new DealImportJobNotFoundException(jobId);
+        }
+        return job.toStatus(Math.max(offset, 0), Math.min(Math.max(limit, 0), MAX_PAGE_SIZE));
+    }
+
+    private void run(DealImportJob job) {
+        job.start();
+        try {
+            if (job.getMode() == DealImportMode.BATCHED) {
+                dealImportService.importDeals(job.getRequests().iterator(), job::record);
+            } else {
+                dealImportService.importDeals(job.getRequests(), job.getMode(), DealImportResponseMode.FULL)
+                        .rows()
+                        .forEach(job::record);
+            }
+            job.finish(DealImportJobStatus.State.COMPLETED);
+            log.info("dealImportJob.completed jobId={} rows={}", job.getId(), job.getTotal());
+        } catch (RuntimeException e) {
+            job.finish(DealImportJobStatus.State.FAILED);
+            log.error("dealImportJob.failed jobId={} processed={}", job.getId(), job.getRows().size(), e);
+        }
+    }
+
+    private void evictFinishedJobs() {
+        Instant cutoff = Instant.now().minus(properties.getJobs().getRetention());
+        jobs.values().removeIf(job -> job.isFinished() && job.getCompletedAt().isBefore(cutoff));
+
+        List<DealImportJob> finished = jobs.values().stream()
+                .filter(DealImportJob::isFinished)
+                .sorted(Comparator.comparing(DealImportJob::getCompletedAt))
+                .toList();
+        int excess = finished.size() - properties.getJobs().getMaxRetained();
+        for (int i = 0; i < excess; i++) {
+            jobs.remove(finished.get(i).getId());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.bloomberg.analyzer.deals.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.ErrorResponseException;
+
+public class DealImportLengthRequiredException extends ErrorResponseException {
+    public DealImportLengthRequiredException(String detail) {
+        super(HttpStatus.LENGTH_REQUIRED, ProblemDetail.forStatusAndDetail(HttpStatus.LENGTH_REQUIRED, detail), null);
+    }
+}
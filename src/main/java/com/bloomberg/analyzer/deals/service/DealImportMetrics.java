@@ -0,0 +1,119 @@
+package com.bloomberg.analyzer.deals.service;
+
+import com.bloomberg.analyzer.deals.api.dto.DealRowResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Import stage metrics. Every meter is registered up front, and callers record once per request body or per window
+ * of {@code batch-size} rows rather than once per row, so instrumentation adds a handful of meter updates per window
+ * to the hot path. Per-row timers receive the batch duration divided by its row count, i.e. the amortised cost of one
+ * row in that batch.
+ *
+ * <ul>
+ *     <li>{@code deal.import.parse} (request body binding), {@code deal.import.validate} (per window) and
+ *     {@code deal.import.persist} (per chunk, including duplicate checks and retries), each tagged
+ *     {@code scope=batch|row}</li>
+ *     <li>{@code deal.import.rows} by {@code status}</li>
+ *     <li>{@code deal.import.batch.size}: valid rows per persisted chunk</li>
+ *     <li>{@code deal.import.rejects} by {@code outcome=written|dropped}: rows of the dead-letter store</li>
+ * </ul>
+ */
+@Component
+public class DealImportMetrics {
+    private final Timer parseBatch;
+    private final Timer parseRow;
+    private final Timer validateBatch;
+    private final Timer validateRow;
+    private final Timer persistBatch;
+    private final Timer persistRow;
+    private final DistributionSummary batchSize;
+    private final Counter[] rowsByStatus;
+    private final Counter rejectsWritten;
+    private final Counter rejectsDropped;
+
+    public DealImportMetrics(MeterRegistry registry) {
+        parseBatch = timer(registry, "deal.import.parse", "batch", "Time to bind an import request body");
+        parseRow = timer(registry, "deal.import.parse", "row", "Time to bind an import request body");
+        validateBatch = timer(registry, "deal.import.validate", "batch", "Time to validate the rows of a window");
+        validateRow = timer(registry, "deal.import.validate", "row", "Time to validate the rows of a window");
+        persistBatch = timer(registry, "deal.import.persist", "batch", "Time to persist the valid rows of a window");
+        persistRow = timer(registry, "deal.import.persist", "row", "Time to persist the valid rows of a window");
+        batchSize = DistributionSummary.builder("deal.import.batch.size")
+                .description("Valid rows per persisted chunk")
+                .baseUnit("rows")
+                .publishPercentileHistogram()
+                .register(registry);
+
+        rejectsWritten = Counter.builder("deal.import.rejects")
+                .description("Rejected rows handed to the dead-letter store by outcome")
+                .tag("outcome", "written")
+                .register(registry);
+        rejectsDropped = Counter.builder("deal.import.rejects")
+                .description("Rejected rows handed to the dead-letter store by outcome")
+                .tag("outcome", "dropped")
+                .register(registry);
+
+        DealRowResult.Status[] statuses = DealRowResult.Status.values();
+        rowsByStatus = new Counter[statuses.length];
+        for (DealRowResult.Status status : statuses) {
+            rowsByStatus[status.ordinal()] = Counter.builder("deal.import.rows")
+                    .description("Imported rows by outcome")
+                    .tag("status", status.name())
+                    .register(registry);
+        }
+    }
+
+    public void recordParse(long nanos, int rows) {
+        record(parseBatch, parseRow, nanos, rows);
+    }
+
+    public void recordValidate(long nanos, int rows) {
+        record(validateBatch, validateRow, nanos, rows);
+    }
+
+    public void recordPersist(long nanos, int rows) {
+        record(persistBatch, persistRow, nanos, rows);
+        batchSize.record(rows);
+    }
+
+    /**
+     * @param countsByStatus row counts indexed by {@link DealRowResult.Status#ordinal()}
+     */
+    public void recordRows(int[] countsByStatus) {
+        for (int i = 0; i < countsByStatus.length; i++) {
+            if (countsByStatus[i] > 0) {
+                rowsByStatus[i].increment(countsByStatus[i]);
+            }
+        }
+    }
+
+    public void recordRejectsWritten(int rows) {
+        rejectsWritten.increment(rows);
+    }
+
+    public void recordRejectsDropped(int rows) {
+        rejectsDropped.increment(rows);
+    }
+
+    private static void record(Timer batch, Timer row, long nanos, int rows) {
+        if (rows == 0) {
+            return;
+        }
+        batch.record(nanos, TimeUnit.NANOSECONDS);
+        row.record(nanos / rows, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer timer(MeterRegistry registry, String name, String scope, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("scope", scope)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -0,0 +1,19 @@
+package com.bloomberg.analyzer.deals.service;
+
+/**
+ * Persistence strategy for a JSON import request.
+ */
+public enum DealImportMode {
+    /**
+     * Chunked multi-row inserts; failures are isolated per row.
+     */
+    BATCHED,
+    /**
+     * PostgreSQL {@code COPY} into a staging table followed by one set-based merge; all-or-nothing.
+     */
+    COPY,
+    /**
+     * Chunked multi-row inserts over partitions of the request processed concurrently.
+     */
+    PARALLEL
+}
@@ -0,0 +1,307 @@
+package com.bloomberg.analyzer.deals.service;
+
+import com.bloomberg.analyzer.deals.api.dto.DealImportRequest;
+import com.bloomberg.analyzer.deals.api.dto.DealsImportResponse;
+import com.bloomberg.analyzer.deals.config.DealImportProperties;
+import com.bloomberg.analyzer.deals.persistence.DealImportReplayRepository;
+import com.bloomberg.analyzer.deals.persistence.DealImportReplayRow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Replays the response of a JSON import when the same request is sent again, so a client retrying a batch after a
+ * timeout does not push every row through validation and a conflicting insert once more. Requests are keyed by their
+ * {@code Idempotency-Key} header or, without one, by a SHA-256 hash of the rows and options; a key reused with a
+ * different request is refused with {@code 422}. An identical request that arrives while the first is still importing
+ * waits for its response instead of importing in parallel.
+ *
+ * <p>Responses are kept in memory for {@code ttl}, least recently used first out once {@code max-entries} responses or
+ * {@code max-rows} row results are held, and optionally in {@code deal_import_replays}. Failed imports, and responses
+ * with rows that failed to persist, are not kept.
+ * Waiting for an in-flight request only works within one instance.
+ */
+@Component
+@Slf4j
+public class DealImportReplayCache {
+    static final int MAX_KEY_LENGTH = 255;
+    private static final Duration PURGE_INTERVAL = Duration.ofMinutes(1);
+    private static final Duration STORE_FAILURE_LOG_INTERVAL = Duration.ofSeconds(10);
+
+    private final DealImportReplayRepository replayRepository;
+    private final JsonMapper jsonMapper;
+    private final DealImportProperties.Replay properties;
+    private final Duration retryAfter;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Counter replayedFromMemory;
+    private final Counter replayedFromDatabase;
+    private final Counter waited;
+    private final Counter mismatched;
+    private final LogRateLimiter storeFailureLog = new LogRateLimiter(STORE_FAILURE_LOG_INTERVAL);
+
+    private long retainedRows;
+    private volatile long nextPurgeNanos = System.nanoTime();
+
+    public DealImportReplayCache(DealImportReplayRepository replayRepository, JsonMapper jsonMapper,
+                                 DealImportProperties properties, MeterRegistry registry) {
+        this.replayRepository = replayRepository;
+        this.jsonMapper = jsonMapper;
+        this.properties = properties.getReplay();
+        this.retryAfter = properties.getAdmission().getRetryAfter();
+
+        Gauge.builder("deal.import.replay.entries", this, DealImportReplayCache::size)
+                .description("Import responses held for replay")
+                .register(registry);
+        replayedFromMemory = replays(registry, "memory");
+        replayedFromDatabase = replays(registry, "database");
+        waited = replays(registry, "waited");
+        mismatched = replays(registry, "mismatch");
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Returns the response recorded for this request, or runs {@code importer} and records its response.
+     *
+     * @param idempotencyKey the {@code Idempotency-Key} header, or {@code null}
+     * @throws DealImportReplayMismatchException if the key was first used with a different request
+     */
+    public Outcome execute(String idempotencyKey, List<DealImportRequest> deals, DealImportMode mode,
+                           DealImportResponseMode responseMode, Supplier<DealsImportResponse> importer) {
+        String fingerprint = fingerprint(deals, mode, responseMode);
+        String key;
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+                throw new InvalidDealQueryException("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+            }
+            key = "key:" + idempotencyKey;
+        } else if (properties.isContentHashFallback()) {
+            key = "sha256:" + fingerprint;
+        } else {
+            return new Outcome(importer.get(), false);
+        }
+
+        while (true) {
+            Entry entry;
+            boolean owner;
+            synchronized (entries) {
+                entry = entries.get(key);
+                if (entry != null && entry.isExpired(System.nanoTime())) {
+                    remove(key, entry);
+                    entry = null;
+                }
+                owner = entry == null;
+                if (owner) {
+                    entry = new Entry(fingerprint);
+                    entries.put(key, entry);
+                }
+            }
+
+            if (!entry.fingerprint.equals(fingerprint)) {
+                mismatched.increment();
+                throw new DealImportReplayMismatchException();
+            }
+            if (owner) {
+                return load(key, entry, importer);
+            }
+            Optional<DealsImportResponse> response = await(entry);
+            if (response.isPresent()) {
+                return new Outcome(response.get(), true);
+            }
+            // The import this request waited for failed and was not recorded; try again.
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private Outcome load(String key, Entry entry, Supplier<DealsImportResponse> importer) {
+        try {
+            Optional<DealsImportResponse> stored = findStored(key, entry.fingerprint);
+            if (stored.isPresent()) {
+                replayedFromDatabase.increment();
+                complete(key, entry, stored.get());
+                return new Outcome(stored.get(), true);
+            }
+
+            DealsImportResponse response = importer.get();
+            if (response.failedPersistence() > 0) {
+                // A retry may store the rows that failed, so it must import again. Requests already waiting for this
+                // one still get its response.
+                synchronized (entries) {
+                    remove(key, entry);
+                }
+                entry.response.complete(response);
+                return new Outcome(response, false);
+            }
+            store(key, entry.fingerprint, response);
+            complete(key, entry, response);
+            return new Outcome(response, false);
+        } catch (RuntimeException e) {
+            synchronized (entries) {
+                remove(key, entry);
+            }
+            entry.response.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private Optional<DealsImportResponse> await(Entry entry) {
+        boolean inFlight = !entry.response.isDone();
+        try {
+            DealsImportResponse response = entry.response.get(properties.getWaitTimeout().toNanos(), TimeUnit.NANOSECONDS);
+            (inFlight ? waited : replayedFromMemory).increment();
+            return Optional.of(response);
+        } catch (ExecutionException e) {
+            return Optional.empty();
+        } catch (TimeoutException e) {
+            throw new DealImportThrottledException(HttpStatus.CONFLICT, "An identical import is still in progress",
+                    retryAfter);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DealImportThrottledException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Interrupted while waiting for an identical import", retryAfter);
+        }
+    }
+
+    private void complete(String key, Entry entry, DealsImportResponse response) {
+        int rows = response.rows() == null ? 0 : response.rows().size();
+        synchronized (entries) {
+            entry.expiresAtNanos = System.nanoTime() + properties.getTtl().toNanos();
+            if (entries.get(key) == entry) {
+                entry.rows = rows;
+                retainedRows += rows;
+                if (rows > properties.getMaxRows()) {
+                    remove(key, entry);
+                }
+                evict();
+            }
+        }
+        entry.response.complete(response);
+    }
+
+    /**
+     * Drops the least recently used finished responses until both limits hold again.
+     */
+    private void evict() {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while ((entries.size() > properties.getMaxEntries() || retainedRows > properties.getMaxRows()) && it.hasNext()) {
+            Entry entry = it.next().getValue();
+            if (entry.response.isDone()) {
+                it.remove();
+                retainedRows -= entry.rows;
+            }
+        }
+    }
+
+    private void remove(String key, Entry entry) {
+        if (entries.remove(key, entry)) {
+            retainedRows -= entry.rows;
+        }
+    }
+
+    private Optional<DealsImportResponse> findStored(String key, String fingerprint) {
+        if (!properties.isPersistent()) {
+            return Optional.empty();
+        }
+        Optional<DealImportReplayRow> row = replayRepository.find(key, Instant.now().minus(properties.getTtl()));
+        if (row.isPresent() && !row.get().fingerprint().equals(fingerprint)) {
+            mismatched.increment();
+            throw new DealImportReplayMismatchException();
+        }
+        return row.map(r -> jsonMapper.readValue(r.response(), DealsImportResponse.class));
+    }
+
+    private void store(String key, String fingerprint, DealsImportResponse response) {
+        if (!properties.isPersistent()) {
+            return;
+        }
+        try {
+            Instant now = Instant.now();
+            Instant expiredBefore = now.minus(properties.getTtl());
+            replayRepository.insert(new DealImportReplayRow(key, fingerprint, jsonMapper.writeValueAsString(response),
+                    now), expiredBefore);
+            if (System.nanoTime() - nextPurgeNanos >= 0) {
+                nextPurgeNanos = System.nanoTime() + PURGE_INTERVAL.toNanos();
+                replayRepository.deleteCreatedBefore(expiredBefore);
+            }
+        } catch (RuntimeException e) {
+            // The rows are imported; losing the replay copy only costs a re-import on retry.
+            long suppressed = storeFailureLog.tryAcquire();
+            if (suppressed >= 0) {
+                log.warn("dealImport.replayStoreFailed suppressed={}", suppressed, e);
+            }
+        }
+    }
+
+    private String fingerprint(List<DealImportRequest> deals, DealImportMode mode, DealImportResponseMode responseMode) {
+        MessageDigest digest = sha256();
+        jsonMapper.writeValue(new DigestOutputStream(OutputStream.nullOutputStream(), digest), deals);
+        digest.update((mode + "/" + responseMode).getBytes(StandardCharsets.US_ASCII));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Counter replays(MeterRegistry registry, String source) {
+        return Counter.builder("deal.import.replays")
+                .description("Import requests answered from the replay cache, or refused for reusing a key")
+                .tag("outcome", source)
+                .register(registry);
+    }
+
+    /**
+     * @param replayed whether the response was recorded for an earlier request rather than produced now
+     */
+    public record Outcome(DealsImportResponse response, boolean replayed) {
+    }
+
+    private static final class Entry {
+        private final String fingerprint;
+        private final CompletableFuture<DealsImportResponse> response = new CompletableFuture<>();
+        private long expiresAtNanos = Long.MAX_VALUE;
+        private int rows;
+
+        Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        boolean isExpired(long now) {
+            return response.isDone() && now - expiresAtNanos >= 0;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.bloomberg.analyzer.deals.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.ErrorResponseException;
+
+/**
+ * An {@code Idempotency-Key} reused for a request that differs from the one it was first sent with.
+ */
+public class DealImportReplayMismatchException extends ErrorResponseException {
+    public DealImportReplayMismatchException() {
+        super(HttpStatus.UNPROCESSABLE_CONTENT, ProblemDetail.forStatusAndDetail(HttpStatus.UNPROCESSABLE_CONTENT,
+                "Idempotency-Key was already used for a different request"), null);
+    }
+}
@@ -0,0 +1,29 @@
+package com.bloomberg.analyzer.deals.service;
+
+import com.bloomberg.analyzer.deals.api.dto.DealRowResult;
+
+/**
+ * Which per-row results an import response carries. Counters are always included.
+ */
+public enum DealImportResponseMode {
+    /**
+     * A result for every row.
+     */
+    FULL,
+    /**
+     * Only rows that were not imported.
+     */
+    FAILURES,
+    /**
+     * Counters only.
+     */
+    SUMMARY;
+
+    public boolean includes(DealRowResult.Status status) {
+        return switch (this) {
+            case FULL -> true;
+            case FAILURES -> status != DealRowResult.Status.IMPORTED;
+            case SUMMARY -> false;
+        };
+    }
+}
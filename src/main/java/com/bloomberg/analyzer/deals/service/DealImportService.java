@@ -3,138 +3,610 @@ package com.bloomberg.analyzer.deals.service;
 import com.bloomberg.analyzer.deals.api.dto.DealImportRequest;
 import com.bloomberg.analyzer.deals.api.dto.DealRowResult;
 import com.bloomberg.analyzer.deals.api.dto.DealsImportResponse;
+import com.bloomberg.analyzer.deals.config.DealImportProperties;
+import com.bloomberg.analyzer.deals.persistence.DealBatchWriter;
+import com.bloomberg.analyzer.deals.persistence.DealCopyLoader;
 import com.bloomberg.analyzer.deals.persistence.DealEntity;
+import com.bloomberg.analyzer.deals.persistence.DealPartitionManager;
 import com.bloomberg.analyzer.deals.persistence.DealRepository;
-import jakarta.validation.ConstraintViolation;
-import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.Currency;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.IntUnaryOperator;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class DealImportService {
-    private static final String UNIQUE_CONSTRAINT_DEAL_ID = "uk_deals_deal_id";
+    static final List<String> DUPLICATE_ERRORS = List.of("duplicate dealId");
+    static final List<String> PERSISTENCE_ERRORS = List.of("persistence error");
+    private static final List<String> ROW_IS_NULL_ERRORS = List.of("row is null");
+    private static final int STATUS_COUNT = DealRowResult.Status.values().length;
+    private static final Duration FAILURE_LOG_INTERVAL = Duration.ofSeconds(10);
 
+    private final DealBatchWriter dealBatchWriter;
+    private final DealCopyLoader dealCopyLoader;
+    private final DealPartitionManager partitionManager;
+    private final TransactionTemplate transactionTemplate;
+    private final List<ImportedDealsListener> importedDealsListeners;
     private final DealRepository dealRepository;
-    private final Validator validator;
+    private final KnownDealIdFilter knownDealIdFilter;
+    private final DealRowValidator rowValidator;
+    private final DealImportMetrics metrics;
+    private final DealRejectRecorder rejectRecorder;
+    private final DealImportProperties properties;
+    @Qualifier("dealImportParallelExecutor")
+    private final ExecutorService parallelExecutor;
+    private final LogRateLimiter persistenceFailureLog = new LogRateLimiter(FAILURE_LOG_INTERVAL);
+    private final LogRateLimiter chunkSplitLog = new LogRateLimiter(FAILURE_LOG_INTERVAL);
 
     /**
-     * Imports deals row-by-row. This method intentionally does NOT wrap the entire batch in a single transaction,
-     * ensuring valid rows are persisted even when some rows fail validation or persistence.
+     * Imports deals in chunks of validated rows and returns a result for every row. Each chunk is written with a single
+     * multi-row insert; there is intentionally no transaction around the entire batch, so valid rows are persisted even
+     * when some rows fail validation or persistence.
      */
     public DealsImportResponse importDeals(List<DealImportRequest> requests) {
+        return importDeals(requests, DealImportMode.BATCHED, DealImportResponseMode.FULL);
+    }
+
+    /**
+     * Imports deals with the given persistence strategy. Only the rows selected by {@code responseMode} are collected,
+     * so summary and failures-only imports do not build a per-row list for successful rows.
+     */
+    public DealsImportResponse importDeals(List<DealImportRequest> requests, DealImportMode mode,
+                                           DealImportResponseMode responseMode) {
         List<DealImportRequest> safeRequests = requests == null ? List.of() : requests;
 
-        int imported = 0;
-        int duplicates = 0;
-        int failedValidation = 0;
-        int failedPersistence = 0;
+        List<DealRowResult> rows = responseMode == DealImportResponseMode.SUMMARY
+                ? List.of()
+                : new ArrayList<>(responseMode == DealImportResponseMode.FULL ? safeRequests.size() : 16);
+        Consumer<DealRowResult> sink = row -> {
+            if (responseMode.includes(row.status())) {
+                rows.add(row);
+            }
+        };
+
+        DealImportSummary summary = switch (mode) {
+            case BATCHED -> importDeals(safeRequests.iterator(), sink);
+            case COPY -> bulkImport(safeRequests, sink);
+            case PARALLEL -> parallelImport(safeRequests, responseMode, sink);
+        };
+        return toResponse(summary, rows);
+    }
+
+    /**
+     * Streaming variant of {@link #importDeals(List)}. Rows are pulled from the iterator one window of
+     * {@code batch-size} rows at a time; once a window is validated and persisted its results are handed to the sink in
+     * index order and the window is released, so memory stays bounded regardless of how many rows the iterator yields.
+     * An iterator may throw {@link DealRowParseException} from {@code next()} to report a single unreadable row.
+     */
+    public DealImportSummary importDeals(Iterator<DealImportRequest> requests, Consumer<DealRowResult> sink) {
+        return importDeals(requests, 0, sink);
+    }
 
-        List<DealRowResult> rows = new ArrayList<>(safeRequests.size());
+    /**
+     * Like {@link #importDeals(Iterator, Consumer)}, numbering rows from {@code firstIndex}, for sources that resume
+     * part-way through. Windows start at the first row, so once the result of row {@code firstIndex + k * batch-size - 1}
+     * reaches the sink every row up to it has been persisted.
+     */
+    public DealImportSummary importDeals(Iterator<DealImportRequest> requests, int firstIndex,
+                                         Consumer<DealRowResult> sink) {
+        DealImportSummary summary = processRows(requests, position -> firstIndex + position, sink).toSummary();
+        logCompleted("batched", summary);
+        return summary;
+    }
 
-        for (int i = 0; i < safeRequests.size(); i++) {
-            DealImportRequest req = safeRequests.get(i);
-            String dealId = req == null ? null : req.dealId();
+    /**
+     * {@link DealImportMode#PARALLEL}: rows are partitioned by a hash of {@code dealId}, so every occurrence of an id
+     * lands in the same partition and duplicates resolve exactly as in a sequential import. Partitions are validated
+     * and persisted concurrently, each worker using its own connection. Each partition keeps the rows selected by
+     * {@code responseMode} in index order, and the partitions are merged into the sink in the original order.
+     */
+    private DealImportSummary parallelImport(List<DealImportRequest> requests, DealImportResponseMode responseMode,
+                                             Consumer<DealRowResult> sink) {
+        int partitions = Math.max(1, Math.min(properties.getParallel().getWorkers(),
+                (requests.size() + properties.getBatchSize() - 1) / properties.getBatchSize()));
 
-            List<String> errors = validate(req);
-            if (!errors.isEmpty()) {
-                failedValidation++;
-                rows.add(new DealRowResult(i, dealId, DealRowResult.Status.VALIDATION_FAILED, errors));
-                log.warn("dealImport.validationFailed index={} dealId={} errors={}", i, dealId, errors);
-                continue;
+        int[] partitionOf = new int[requests.size()];
+        int[] partitionSizes = new int[partitions];
+        for (int i = 0; i < requests.size(); i++) {
+            DealImportRequest req = requests.get(i);
+            int hash = req == null || req.dealId() == null ? 0 : req.dealId().hashCode();
+            partitionOf[i] = Math.floorMod(hash, partitions);
+            partitionSizes[partitionOf[i]]++;
+        }
+        int[][] partitionIndexes = new int[partitions][];
+        for (int p = 0; p < partitions; p++) {
+            partitionIndexes[p] = new int[partitionSizes[p]];
+            partitionSizes[p] = 0;
+        }
+        for (int i = 0; i < requests.size(); i++) {
+            int p = partitionOf[i];
+            partitionIndexes[p][partitionSizes[p]++] = i;
+        }
+
+        List<List<DealRowResult>> partitionRows = new ArrayList<>(partitions);
+        List<Future<ImportTally>> futures = new ArrayList<>(partitions);
+        for (int[] indexes : partitionIndexes) {
+            List<DealRowResult> kept = new ArrayList<>(responseMode == DealImportResponseMode.FULL ? indexes.length : 16);
+            partitionRows.add(kept);
+            Iterator<DealImportRequest> rows = Arrays.stream(indexes).mapToObj(requests::get).iterator();
+            futures.add(parallelExecutor.submit(() -> processRows(rows, local -> indexes[local], row -> {
+                if (responseMode.includes(row.status())) {
+                    kept.add(row);
+                }
+            })));
+        }
+
+        ImportTally tally = new ImportTally();
+        for (Future<ImportTally> future : futures) {
+            tally.addAll(await(future));
+        }
+        mergeInIndexOrder(partitionRows, sink);
+
+        DealImportSummary summary = tally.toSummary();
+        logCompleted("parallel", summary);
+        return summary;
+    }
+
+    /**
+     * K-way merge of per-partition row lists, each already sorted by index.
+     */
+    private static void mergeInIndexOrder(List<List<DealRowResult>> partitionRows, Consumer<DealRowResult> sink) {
+        int[] cursors = new int[partitionRows.size()];
+        PriorityQueue<Integer> heads = new PriorityQueue<>(Math.max(1, partitionRows.size()),
+                Comparator.comparingInt(p -> partitionRows.get(p).get(cursors[p]).index()));
+        for (int p = 0; p < partitionRows.size(); p++) {
+            if (!partitionRows.get(p).isEmpty()) {
+                heads.add(p);
             }
+        }
+        while (!heads.isEmpty()) {
+            int p = heads.poll();
+            sink.accept(partitionRows.get(p).get(cursors[p]++));
+            if (cursors[p] < partitionRows.get(p).size()) {
+                heads.add(p);
+            }
+        }
+    }
 
+    private ImportTally processRows(Iterator<DealImportRequest> requests, IntUnaryOperator indexOf, Consumer<DealRowResult> sink) {
+        int windowSize = properties.getBatchSize();
+        DealRowResult[] window = new DealRowResult[windowSize];
+        List<PendingRow> pending = new ArrayList<>(windowSize);
+        ImportTally tally = new ImportTally();
+
+        int filled = 0;
+        int position = 0;
+        long validateNanos = 0;
+        while (requests.hasNext()) {
+            int slot = filled++;
+            int i = indexOf.applyAsInt(position++);
+
+            DealImportRequest req = null;
+            String rawPayload = null;
+            List<String> errors;
             try {
-                DealEntity entity = new DealEntity(
-                        req.dealId(),
-                        req.fromCurrency(),
-                        req.toCurrency(),
-                        req.timestamp(),
-                        req.amount()
-                );
-                dealRepository.saveAndFlush(entity);
-                imported++;
-                rows.add(new DealRowResult(i, req.dealId(), DealRowResult.Status.IMPORTED, List.of()));
-            } catch (DataIntegrityViolationException e) {
-                if (isUniqueConstraintViolation(e, UNIQUE_CONSTRAINT_DEAL_ID)) {
-                    duplicates++;
-                    rows.add(new DealRowResult(i, req.dealId(), DealRowResult.Status.DUPLICATE, List.of("duplicate dealId")));
-                    log.warn("dealImport.duplicate index={} dealId={}", i, req.dealId());
+                req = requests.next();
+                long started = System.nanoTime();
+                errors = validate(req);
+                validateNanos += System.nanoTime() - started;
+            } catch (DealRowParseException e) {
+                errors = List.of(e.getMessage());
+                rawPayload = e.getRawPayload();
+            }
+
+            if (errors.isEmpty()) {
+                pending.add(new PendingRow(slot, i, req));
+            } else {
+                window[slot] = validationFailed(i, req, rawPayload, errors);
+            }
+
+            if (filled == windowSize) {
+                flushWindow(window, filled, validateNanos, pending, tally, sink);
+                filled = 0;
+                validateNanos = 0;
+            }
+        }
+        flushWindow(window, filled, validateNanos, pending, tally, sink);
+        return tally;
+    }
+
+    private static ImportTally await(Future<ImportTally> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for import partition", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException("import partition failed", e.getCause());
+        }
+    }
+
+    /**
+     * {@link DealImportMode#COPY}: opt-in bulk mode for large backfills. All rows are validated first, then every valid
+     * row is streamed to PostgreSQL with {@code COPY} and merged into {@code deals} with one set-based statement.
+     * Unlike the batched mode the load is all-or-nothing: if the database rejects it, every valid row is reported as
+     * {@code PERSISTENCE_FAILED}. Only validation failures are held until the load completes; the other results are
+     * derived from the loader's bitset while emitting.
+     */
+    private DealImportSummary bulkImport(List<DealImportRequest> requests, Consumer<DealRowResult> sink) {
+        DealRowResult[] validationFailures = new DealRowResult[requests.size()];
+        int[] validIndexes = new int[requests.size()];
+        int validCount = 0;
+
+        long validateStarted = System.nanoTime();
+        for (int i = 0; i < requests.size(); i++) {
+            DealImportRequest req = requests.get(i);
+            List<String> errors = validate(req);
+            if (errors.isEmpty()) {
+                validIndexes[validCount++] = i;
+            } else {
+                validationFailures[i] = validationFailed(i, req, null, errors);
+            }
+        }
+        metrics.recordValidate(System.nanoTime() - validateStarted, requests.size());
+
+        int staged = validCount;
+        List<DealEntity> deals = new AbstractList<>() {
+            @Override
+            public DealEntity get(int position) {
+                return toEntity(requests.get(validIndexes[position]));
+            }
+
+            @Override
+            public int size() {
+                return staged;
+            }
+        };
+
+        BitSet inserted = null;
+        RuntimeException loadFailure = null;
+        long persistStarted = System.nanoTime();
+        try {
+            partitionManager.ensurePartitionsFor(deals);
+            inserted = transactionTemplate.execute(status -> {
+                BitSet loaded = dealCopyLoader.load(deals);
+                notifyImported(loaded.stream().mapToObj(deals::get).toList());
+                return loaded;
+            });
+        } catch (RuntimeException e) {
+            log.error("dealImport.bulkLoadFailed rows={}", staged, e);
+            loadFailure = e;
+        }
+        metrics.recordPersist(System.nanoTime() - persistStarted, staged);
+
+        ImportTally tally = new ImportTally();
+        int[] counts = new int[STATUS_COUNT];
+        int position = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            DealRowResult row = validationFailures[i];
+            if (row == null) {
+                DealImportRequest req = requests.get(i);
+                if (inserted == null) {
+                    row = persistenceFailed(i, req, loadFailure);
                 } else {
-                    failedPersistence++;
-                    rows.add(new DealRowResult(i, req.dealId(), DealRowResult.Status.PERSISTENCE_FAILED, List.of("persistence error")));
-                    log.error("dealImport.persistenceFailed index={} dealId={}", i, req.dealId(), e);
+                    knownDealIdFilter.add(req.dealId());
+                    row = inserted.get(position) ? imported(i, req.dealId()) : duplicate(i, req);
                 }
-            } catch (RuntimeException e) {
-                failedPersistence++;
-                rows.add(new DealRowResult(i, req.dealId(), DealRowResult.Status.PERSISTENCE_FAILED, List.of("persistence error")));
-                log.error("dealImport.persistenceFailed index={} dealId={}", i, req.dealId(), e);
+                position++;
             }
+            counts[row.status().ordinal()]++;
+            tally.add(row.status());
+            sink.accept(row);
         }
+        metrics.recordRows(counts);
 
-        log.info("dealImport.completed total={} imported={} duplicates={} failedValidation={} failedPersistence={}",
-                safeRequests.size(), imported, duplicates, failedValidation, failedPersistence);
+        DealImportSummary summary = tally.toSummary();
+        logCompleted("copy", summary);
+        return summary;
+    }
 
+    private static DealsImportResponse toResponse(DealImportSummary summary, List<DealRowResult> rows) {
         return new DealsImportResponse(
-                safeRequests.size(),
-                imported,
-                duplicates,
-                failedValidation,
-                failedPersistence,
+                summary.total(),
+                summary.imported(),
+                summary.duplicates(),
+                summary.failedValidation(),
+                summary.failedPersistence(),
                 rows
         );
     }
 
-    private List<String> validate(DealImportRequest req) {
-        List<String> errors = new ArrayList<>();
-        if (req == null) {
-            errors.add("row is null");
-            return errors;
+    private static void logCompleted(String mode, DealImportSummary summary) {
+        log.info("dealImport.completed mode={} total={} imported={} duplicates={} failedValidation={} failedPersistence={}",
+                mode, summary.total(), summary.imported(), summary.duplicates(), summary.failedValidation(), summary.failedPersistence());
+    }
+
+    private void flushWindow(DealRowResult[] window, int filled, long validateNanos, List<PendingRow> pending,
+                             ImportTally tally, Consumer<DealRowResult> sink) {
+        metrics.recordValidate(validateNanos, filled);
+        if (!pending.isEmpty()) {
+            long started = System.nanoTime();
+            persistChunk(pending, window);
+            metrics.recordPersist(System.nanoTime() - started, pending.size());
+            pending.clear();
         }
 
-        Set<ConstraintViolation<DealImportRequest>> violations = validator.validate(req);
-        for (ConstraintViolation<DealImportRequest> v : violations) {
-            errors.add(v.getPropertyPath() + ": " + v.getMessage());
+        int[] counts = new int[STATUS_COUNT];
+        for (int slot = 0; slot < filled; slot++) {
+            DealRowResult.Status status = window[slot].status();
+            counts[status.ordinal()]++;
+            tally.add(status);
+            sink.accept(window[slot]);
+            window[slot] = null;
         }
+        metrics.recordRows(counts);
+    }
 
-        if (req.fromCurrency() != null && !isValidIsoCurrency(req.fromCurrency())) {
-            errors.add("fromCurrency: unknown ISO currency");
+    /**
+     * Persists one chunk of validated rows, writing each outcome into its window slot. Repeated deal ids inside the
+     * chunk are held back and only the first occurrence is written (matching row-by-row semantics); ids the
+     * {@link KnownDealIdFilter} reports as possibly stored are confirmed with one existence query, and only the rest
+     * goes to the database in a single insert. Repeats are resolved once that outcome is known.
+     */
+    private void persistChunk(List<PendingRow> chunk, DealRowResult[] window) {
+        if (chunk.isEmpty()) {
+            return;
         }
-        if (req.toCurrency() != null && !isValidIsoCurrency(req.toCurrency())) {
-            errors.add("toCurrency: unknown ISO currency");
+
+        Map<String, Integer> firstSlots = new HashMap<>();
+        List<PendingRow> repeats = new ArrayList<>();
+        List<PendingRow> toInsert = new ArrayList<>(chunk.size());
+        List<String> maybeKnown = new ArrayList<>();
+        for (PendingRow row : chunk) {
+            String dealId = row.request().dealId();
+            if (firstSlots.putIfAbsent(dealId, row.slot()) != null) {
+                repeats.add(row);
+                continue;
+            }
+            toInsert.add(row);
+            if (knownDealIdFilter.mightContain(dealId)) {
+                maybeKnown.add(dealId);
+            }
+        }
+
+        if (!maybeKnown.isEmpty()) {
+            Set<String> existing = findExisting(maybeKnown);
+            if (!existing.isEmpty()) {
+                toInsert.removeIf(row -> {
+                    if (existing.contains(row.request().dealId())) {
+                        window[row.slot()] = duplicate(row.index(), row.request());
+                        return true;
+                    }
+                    return false;
+                });
+            }
         }
 
-        return errors;
+        insertWithBisect(toInsert, window);
+        resolveRepeats(repeats, firstSlots, window);
+    }
+
+    /**
+     * A repeat of a deal that was imported or already stored is a duplicate. If the occurrence written for its id
+     * failed to persist, nothing is stored under that id, so the next occurrence is written in its place, one round
+     * per remaining repeat of an id.
+     */
+    private void resolveRepeats(List<PendingRow> repeats, Map<String, Integer> writtenSlots, DealRowResult[] window) {
+        while (!repeats.isEmpty()) {
+            Set<String> retrying = new HashSet<>();
+            List<PendingRow> retry = new ArrayList<>();
+            List<PendingRow> later = new ArrayList<>();
+            for (PendingRow row : repeats) {
+                String dealId = row.request().dealId();
+                if (retrying.contains(dealId)) {
+                    later.add(row);
+                } else if (window[writtenSlots.get(dealId)].status() != DealRowResult.Status.PERSISTENCE_FAILED) {
+                    window[row.slot()] = duplicate(row.index(), row.request());
+                } else {
+                    retrying.add(dealId);
+                    writtenSlots.put(dealId, row.slot());
+                    retry.add(row);
+                }
+            }
+            insertWithBisect(retry, window);
+            repeats = later;
+        }
     }
 
-    private boolean isValidIsoCurrency(String code) {
+    /**
+     * Best-effort existence check; on failure the rows simply fall through to the insert, whose conflict handling
+     * detects duplicates anyway.
+     */
+    private Set<String> findExisting(List<String> dealIds) {
         try {
-            Currency.getInstance(code);
-            return true;
-        } catch (IllegalArgumentException e) {
-            return false;
+            return dealRepository.findExistingDealIds(dealIds);
+        } catch (RuntimeException e) {
+            log.warn("dealImport.existenceCheckFailed ids={}", dealIds.size(), e);
+            return Set.of();
         }
     }
 
-    private boolean isUniqueConstraintViolation(Throwable t, String constraintName) {
-        Throwable cur = t;
-        while (cur != null) {
-            String msg = cur.getMessage();
-            if (msg != null && msg.contains(constraintName)) {
-                return true;
+    /**
+     * Inserts the rows in one statement, running the {@link ImportedDealsListener}s in the same transaction. When the
+     * statement fails, the chunk is split in halves and retried so a
+     * single poison row is isolated as {@code PERSISTENCE_FAILED} in O(log n) extra statements while the rest of the
+     * chunk still goes through the batched path. Splits are logged at most once per {@link #FAILURE_LOG_INTERVAL}, as a
+     * chunk of failing rows splits once per row.
+     */
+    private void insertWithBisect(List<PendingRow> rows, DealRowResult[] window) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        List<DealEntity> deals = rows.stream().map(row -> toEntity(row.request())).toList();
+        Set<String> inserted;
+        try {
+            // Outside the transaction, so the DDL neither needs a second connection nor holds its lock on deals.
+            partitionManager.ensurePartitionsFor(deals);
+            inserted = transactionTemplate.execute(status -> {
+                Set<String> ids = dealBatchWriter.insertIgnoringDuplicates(deals);
+                notifyImported(ids.size() == deals.size()
+                        ? deals
+                        : deals.stream().filter(deal -> ids.contains(deal.getDealId())).toList());
+                return ids;
+            });
+        } catch (DataAccessResourceFailureException | CannotCreateTransactionException e) {
+            // The database itself is unavailable; splitting would only multiply failing round trips.
+            logPersistenceFailure(rows.size(), rows.get(0).index(), e);
+            rows.forEach(row -> window[row.slot()] = persistenceFailed(row.index(), row.request(), e));
+            return;
+        } catch (RuntimeException e) {
+            if (rows.size() == 1) {
+                PendingRow row = rows.get(0);
+                window[row.slot()] = persistenceFailed(row.index(), row.request(), e);
+                logPersistenceFailure(1, row.index(), e);
+                return;
+            }
+            long suppressed = chunkSplitLog.tryAcquire();
+            if (suppressed >= 0) {
+                log.warn("dealImport.chunkFailed rows={} firstIndex={} splitting suppressedSplits={}",
+                        rows.size(), rows.get(0).index(), suppressed);
+            }
+            int mid = rows.size() / 2;
+            insertWithBisect(rows.subList(0, mid), window);
+            insertWithBisect(rows.subList(mid, rows.size()), window);
+            return;
+        }
+
+        for (PendingRow row : rows) {
+            knownDealIdFilter.add(row.request().dealId());
+            if (inserted.contains(row.request().dealId())) {
+                window[row.slot()] = imported(row.index(), row.request().dealId());
+            } else {
+                window[row.slot()] = duplicate(row.index(), row.request());
             }
-            cur = cur.getCause();
         }
-        return false;
     }
-}
 
+    /**
+     * Persistence failures tend to come in bursts (a poison file, a database outage), so the stack trace is logged at
+     * most once per {@link #FAILURE_LOG_INTERVAL}; the affected rows themselves go to the dead-letter store.
+     */
+    private void logPersistenceFailure(int rows, int firstIndex, RuntimeException e) {
+        long suppressed = persistenceFailureLog.tryAcquire();
+        if (suppressed >= 0) {
+            log.error("dealImport.persistenceFailed rows={} firstIndex={} suppressedFailures={}",
+                    rows, firstIndex, suppressed, e);
+        }
+    }
 
+    private void notifyImported(List<DealEntity> deals) {
+        if (deals.isEmpty()) {
+            return;
+        }
+        for (ImportedDealsListener listener : importedDealsListeners) {
+            listener.onImported(deals);
+        }
+    }
+
+    private DealRowResult validationFailed(int index, DealImportRequest req, String rawPayload, List<String> errors) {
+        DealRowResult row = new DealRowResult(index, req == null ? null : req.dealId(),
+                DealRowResult.Status.VALIDATION_FAILED, errors);
+        rejectRecorder.record(row, req, rawPayload);
+        return row;
+    }
+
+    private DealRowResult imported(int index, String dealId) {
+        return new DealRowResult(index, dealId, DealRowResult.Status.IMPORTED, List.of());
+    }
+
+    private DealRowResult duplicate(int index, DealImportRequest req) {
+        DealRowResult row = new DealRowResult(index, req.dealId(), DealRowResult.Status.DUPLICATE, DUPLICATE_ERRORS);
+        rejectRecorder.record(row, req, null);
+        return row;
+    }
+
+    /**
+     * The response carries the generic {@link #PERSISTENCE_ERRORS}; the dead-letter copy also keeps the database
+     * message so the failure can be diagnosed without the log.
+     */
+    private DealRowResult persistenceFailed(int index, DealImportRequest req, RuntimeException cause) {
+        DealRowResult row = new DealRowResult(index, req.dealId(), DealRowResult.Status.PERSISTENCE_FAILED,
+                PERSISTENCE_ERRORS);
+        String detail = NestedExceptionUtils.getMostSpecificCause(cause).getMessage();
+        rejectRecorder.record(detail == null ? row : new DealRowResult(index, req.dealId(), row.status(),
+                List.of(PERSISTENCE_ERRORS.get(0), detail)), req, null);
+        return row;
+    }
+
+    private static DealEntity toEntity(DealImportRequest req) {
+        return new DealEntity(
+                req.dealId(),
+                req.fromCurrency(),
+                req.toCurrency(),
+                req.timestamp(),
+                req.amount()
+        );
+    }
+
+    private List<String> validate(DealImportRequest req) {
+        if (req == null) {
+            return ROW_IS_NULL_ERRORS;
+        }
+        return rowValidator.validate(req);
+    }
+
+    /**
+     * A validated row waiting to be persisted; {@code slot} is its position in the current window.
+     */
+    private record PendingRow(int slot, int index, DealImportRequest request) {
+    }
+
+    private static final class ImportTally {
+        private int total;
+        private int imported;
+        private int duplicates;
+        private int failedValidation;
+        private int failedPersistence;
+
+        void add(DealRowResult.Status status) {
+            total++;
+            switch (status) {
+                case IMPORTED -> imported++;
+                case DUPLICATE -> duplicates++;
+                case VALIDATION_FAILED -> failedValidation++;
+                case PERSISTENCE_FAILED -> failedPersistence++;
+            }
+        }
+
+        void addAll(ImportTally other) {
+            total += other.total;
+            imported += other.imported;
+            duplicates += other.duplicates;
+            failedValidation += other.failedValidation;
+            failedPersistence += other.failedPersistence;
+        }
+
+        DealImportSummary toSummary() {
+            return new DealImportSummary(total, imported, duplicates, failedValidation, failedPersistence);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.bloomberg.analyzer.deals.service;
+
+/**
+ * Per-status row counts of a completed import.
+ */
+public record DealImportSummary(
+        int total,
+        int imported,
+        int duplicates,
+        int failedValidation,
+        int failedPersistence
+) {
+}
@@ -0,0 +1,19 @@
+package com.bloomberg.analyzer.deals.service;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.ErrorResponseException;
+
+import java.time.Duration;
+
+/**
+ * An import refused by admission control; the response carries {@code Retry-After}.
+ */
+public class DealImportThrottledException extends ErrorResponseException {
+    public DealImportThrottledException(HttpStatus status, String detail, Duration retryAfter) {
+        super(status, ProblemDetail.forStatusAndDetail(status, detail), null);
+        long seconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+        getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+    }
+}
@@ -0,0 +1,115 @@
+package com.bloomberg.analyzer.deals.service;
+
+import com.bloomberg.analyzer.deals.api.dto.DealImportRequest;
+import com.bloomberg.analyzer.deals.api.dto.DealRowResult;
+import com.bloomberg.analyzer.deals.api.dto.DealsImportResponse;
+import com.bloomberg.analyzer.deals.config.DealStartupProperties;
+import com.bloomberg.analyzer.deals.persistence.CurrencyDictionary;
+import com.bloomberg.analyzer.deals.persistence.DealBatchWriter;
+import com.bloomberg.analyzer.deals.persistence.DealEntity;
+import com.bloomberg.analyzer.deals.persistence.DealPartitionManager;
+import com.bloomberg.analyzer.deals.persistence.DealRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Runs synthetic deals through JSON binding, validation and the batched insert before the application reports ready,
+ * so the first real imports do not pay for class loading, JIT compilation, connection setup and statement preparation.
+ * Spring Boot moves the readiness state to {@code ACCEPTING_TRAFFIC} only after every {@link ApplicationRunner} has
+ * returned, so a readiness probe keeps traffic away until the warm-up is done while liveness already passes.
+ *
+ * <p>Each round inserts its deals and runs the {@link ImportedDealsListener}s in a transaction that is rolled back, so
+ * nothing is stored and listeners that act after commit never see them; only identity values are consumed. Metrics,
+ * the dedupe filter and the reject store are bypassed. A failing warm-up is logged and does not stop startup.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class DealImportWarmup implements ApplicationRunner {
+    private static final String[] CURRENCIES = {"USD", "EUR", "GBP", "JPY", "CHF"};
+    private static final TypeReference<List<DealImportRequest>> REQUEST_LIST = new TypeReference<>() {
+    };
+
+    private final JsonMapper jsonMapper;
+    private final DealRowValidator rowValidator;
+    private final DealBatchWriter dealBatchWriter;
+    private final DealPartitionManager partitionManager;
+    private final DealRepository dealRepository;
+    private final CurrencyDictionary currencyDictionary;
+    private final List<ImportedDealsListener> importedDealsListeners;
+    private final TransactionTemplate transactionTemplate;
+    private final DealStartupProperties properties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        DealStartupProperties.Warmup warmup = properties.getWarmup();
+        if (!warmup.isEnabled()) {
+            return;
+        }
+        long started = System.nanoTime();
+        String prefix = "warmup-" + UUID.randomUUID() + "-";
+        int rounds = 0;
+        try {
+            if (currencyDictionary.isEnabled()) {
+                // Loaded outside the rolled-back transactions, or the seeded codes would be cached but not stored.
+                currencyDictionary.ensureLoaded();
+            }
+            for (; rounds < warmup.getIterations(); rounds++) {
+                round(prefix + rounds + "-", warmup.getRows());
+            }
+            log.info("dealImport.warmedUp rounds={} rows={} tookMs={}", rounds, rounds * warmup.getRows(),
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("dealImport.warmupFailed rounds={}", rounds, e);
+        }
+    }
+
+    private void round(String prefix, int rows) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        List<DealImportRequest> generated = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            generated.add(new DealImportRequest(prefix + i, CURRENCIES[i % CURRENCIES.length],
+                    CURRENCIES[(i + 1) % CURRENCIES.length], now.minusMillis(i), BigDecimal.valueOf(100_000 + i, 2)));
+        }
+        List<DealImportRequest> requests = jsonMapper.readValue(jsonMapper.writeValueAsBytes(generated), REQUEST_LIST);
+
+        List<DealEntity> deals = new ArrayList<>(rows);
+        List<DealRowResult> results = new ArrayList<>(rows);
+        for (int i = 0; i < requests.size(); i++) {
+            DealImportRequest req = requests.get(i);
+            if (!rowValidator.validate(req).isEmpty()) {
+                throw new IllegalStateException("synthetic deal " + req.dealId() + " failed validation");
+            }
+            // The failure path builds its messages differently; give it some rows too.
+            rowValidator.validate(new DealImportRequest(req.dealId(), "usd", null, null, BigDecimal.ZERO));
+            deals.add(new DealEntity(req.dealId(), req.fromCurrency(), req.toCurrency(), req.timestamp(),
+                    req.amount()));
+            results.add(new DealRowResult(i, req.dealId(), DealRowResult.Status.IMPORTED, List.of()));
+        }
+
+        // Created outside the rolled-back transaction; the current month needs its partition anyway.
+        partitionManager.ensurePartitionsFor(deals);
+        transactionTemplate.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            dealRepository.findExistingDealIds(deals.stream().limit(16).map(DealEntity::getDealId).toList());
+            dealBatchWriter.insertIgnoringDuplicates(deals);
+            for (ImportedDealsListener listener : importedDealsListeners) {
+                listener.onImported(deals);
+            }
+        });
+        jsonMapper.writeValueAsBytes(new DealsImportResponse(rows, rows, 0, 0, 0, results));
+    }
+}
@@ -0,0 +1,191 @@
+package com.bloomberg.analyzer.deals.service;
+
+import com.bloomberg.analyzer.deals.api.dto.DealLookupResponse;
+import com.bloomberg.analyzer.deals.api.dto.DealView;
+import com.bloomberg.analyzer.deals.config.DealLookupProperties;
+import com.bloomberg.analyzer.deals.persistence.DealEntity;
+import com.bloomberg.analyzer.deals.persistence.DealQueryRepository;
+import com.bloomberg.analyzer.deals.persistence.StoredDeal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Looks up deals by id through a bounded read-through cache. A miss is loaded from the database and cached; deals are
+ * also cached as they are imported, once their chunk has committed, rounded the way the database stores them so a hit
+ * and a database read return the same values. Stored deals never change, so an entry only goes stale when its
+ * partition is retired, which clears the cache. Ids that are not stored are not cached.
+ *
+ * <p>{@code deal.lookup.cache.requests} counts hits and misses per looked-up id, alongside
+ * {@code deal.lookup.cache.size} and {@code deal.lookup.cache.evictions}.
+ */
+@Service
+public class DealLookupService implements ImportedDealsListener {
+    private static final int STORED_AMOUNT_SCALE = 10;
+
+    private final DealQueryRepository dealQueryRepository;
+    private final DealLookupProperties properties;
+    private final DealViewCache cache;
+    private final Counter hits;
+    private final Counter misses;
+
+    public DealLookupService(DealQueryRepository dealQueryRepository, DealLookupProperties properties,
+                             MeterRegistry registry) {
+        this.dealQueryRepository = dealQueryRepository;
+        this.properties = properties;
+        this.cache = properties.getCache().isEnabled() ? new DealViewCache(properties.getCache().getMaxEntries()) : null;
+
+        hits = requests(registry, "hit");
+        misses = requests(registry, "miss");
+        if (cache != null) {
+            Gauge.builder("deal.lookup.cache.size", cache, DealViewCache::size)
+                    .description("Deals held by the lookup cache")
+                    .register(registry);
+            FunctionCounter.builder("deal.lookup.cache.evictions", cache, DealViewCache::evictions)
+                    .description("Deals evicted from the lookup cache to stay within max-entries")
+                    .register(registry);
+        }
+    }
+
+    /**
+     * @throws DealNotFoundException if no deal has this id
+     */
+    public DealView find(String dealId) {
+        DealView cached = cached(dealId);
+        if (cached != null) {
+            return cached;
+        }
+        List<StoredDeal> stored = dealQueryRepository.findByDealIds(List.of(dealId));
+        if (stored.isEmpty()) {
+            throw new DealNotFoundException(dealId);
+        }
+        return cache(DealQueryService.toView(stored.get(0)));
+    }
+
+    /**
+     * Resolves up to {@code max-ids} distinct ids, reading only the ones not cached from the database in one query.
+     */
+    public DealLookupResponse findAll(List<String> dealIds) {
+        if (dealIds == null || dealIds.isEmpty()) {
+            throw new InvalidDealQueryException("'dealIds' must not be empty");
+        }
+        Set<String> ids = new LinkedHashSet<>(dealIds);
+        if (ids.contains(null)) {
+            throw new InvalidDealQueryException("'dealIds' must not contain null");
+        }
+        if (ids.size() > properties.getMaxIds()) {
+            throw new InvalidDealQueryException("at most " + properties.getMaxIds() + " deals can be looked up at once");
+        }
+
+        Map<String, DealView> found = new HashMap<>(ids.size() * 2);
+        List<String> toLoad = new ArrayList<>();
+        for (String id : ids) {
+            DealView cached = cached(id);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                toLoad.add(id);
+            }
+        }
+        if (!toLoad.isEmpty()) {
+            for (StoredDeal deal : dealQueryRepository.findByDealIds(toLoad)) {
+                found.put(deal.dealId(), cache(DealQueryService.toView(deal)));
+            }
+        }
+
+        List<DealView> deals = new ArrayList<>(found.size());
+        List<String> missing = new ArrayList<>();
+        for (String id : ids) {
+            DealView deal = found.get(id);
+            if (deal != null) {
+                deals.add(deal);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new DealLookupResponse(deals, missing);
+    }
+
+    /**
+     * Caches the deals of a chunk once its transaction commits, so a rolled-back chunk never reaches the cache.
+     */
+    @Override
+    public void onImported(List<DealEntity> deals) {
+        if (cache == null || !properties.getCache().isFillOnImport() || deals.isEmpty()) {
+            return;
+        }
+        List<DealView> views = new ArrayList<>(deals.size());
+        for (DealEntity deal : deals) {
+            views.add(new DealView(deal.getDealId(), deal.getFromCurrency(), deal.getToCurrency(),
+                    asStored(deal.getDealTs()), asStored(deal.getAmount())));
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            views.forEach(cache::put);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                views.forEach(cache::put);
+            }
+        });
+    }
+
+    /**
+     * Forgets every cached deal, for when stored deals are removed.
+     */
+    public void evictAll() {
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * The timestamp as read back from {@code timestamptz}: the driver rounds it half up to microseconds.
+     */
+    private static Instant asStored(Instant dealTs) {
+        return dealTs.plusNanos(500).truncatedTo(ChronoUnit.MICROS);
+    }
+
+    /**
+     * The amount as read back from {@code numeric(38, 10)}, which rounds half away from zero.
+     */
+    private static BigDecimal asStored(BigDecimal amount) {
+        return amount.setScale(STORED_AMOUNT_SCALE, RoundingMode.HALF_UP);
+    }
+
+    private DealView cached(String dealId) {
+        DealView deal = cache == null ? null : cache.get(dealId);
+        (deal != null ? hits : misses).increment();
+        return deal;
+    }
+
+    private DealView cache(DealView deal) {
+        if (cache != null) {
+            cache.put(deal);
+        }
+        return deal;
+    }
+
+    private static Counter requests(MeterRegistry registry, String result) {
+        return Counter.builder("deal.lookup.cache.requests")
+                .description("Deal lookups by cache result, per looked-up id")
+                .tag("result", result)
+                .register(registry);
+    }
+}
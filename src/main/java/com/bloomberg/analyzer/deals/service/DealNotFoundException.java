@@ -0,0 +1,11 @@
+package com.bloomberg.analyzer.deals.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.ErrorResponseException;
+
+public class DealNotFoundException extends ErrorResponseException {
+    public DealNotFoundException(String dealId) {
+        super(HttpStatus.NOT_FOUND, ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, "Deal " + dealId + " not found"), null);
+    }
+}
@@ -0,0 +1,15 @@
+package com.bloomberg.analyzer.deals.service;
+
+/**
+ * Ranking of currency pairs in analytics queries.
+ */
+public enum DealPairOrder {
+    /**
+     * Most deals first.
+     */
+    COUNT,
+    /**
+     * Largest total amount first.
+     */
+    AMOUNT
+}
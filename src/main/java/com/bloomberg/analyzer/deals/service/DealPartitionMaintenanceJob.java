@@ -0,0 +1,74 @@
+package com.bloomberg.analyzer.deals.service;
+
+import com.bloomberg.analyzer.deals.config.DealPartitioningProperties;
+import com.bloomberg.analyzer.deals.persistence.DealPartitionManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.YearMonth;
+
+/**
+ * Keeps the partitioned {@code deals} table ready ahead of time and within its retention: creates the partitions for
+ * the current and the next {@code premake-months} months, and detaches or drops partitions that ended more than
+ * {@code retention-months} months before the current one. Runs once at startup and then on
+ * {@code maintenance-cron}.
+ *
+ * <p>Ids of removed deals stay in {@code deal_ids}, so a deal that aged out cannot be imported again. Retiring a
+ * partition clears the lookup cache, which would otherwise keep serving its deals.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "analyzer.partitioning", name = "enabled", havingValue = "true")
+public class DealPartitionMaintenanceJob {
+    private final DealPartitionManager partitionManager;
+    private final DealPartitioningProperties properties;
+    private final Clock clock;
+    private final DealLookupService dealLookupService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${analyzer.partitioning.maintenance-cron:0 15 * * * *}")
+    public void maintain() {
+        YearMonth current = YearMonth.now(clock);
+        try {
+            for (int i = 0; i <= properties.getPremakeMonths(); i++) {
+                partitionManager.ensurePartition(current.plusMonths(i));
+            }
+            applyRetention(current);
+        } catch (RuntimeException e) {
+            log.error("dealPartition.maintenanceFailed", e);
+        }
+    }
+
+    private void applyRetention(YearMonth current) {
+        if (properties.getRetentionMonths() == 0) {
+            return;
+        }
+        YearMonth oldestKept = current.minusMonths(properties.getRetentionMonths());
+        boolean retired = false;
+        for (YearMonth month : partitionManager.listPartitions()) {
+            if (!month.isBefore(oldestKept)) {
+                break;
+            }
+            retired = true;
+            switch (properties.getRetentionAction()) {
+                case DETACH -> partitionManager.detach(month);
+                case DROP -> partitionManager.drop(month);
+            }
+            log.info("dealPartition.retired month={} action={}", month, properties.getRetentionAction());
+        }
+        if (retired) {
+            dealLookupService.evictAll();
+        }
+    }
+}
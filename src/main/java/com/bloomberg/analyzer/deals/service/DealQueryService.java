@@ -0,0 +1,120 @@
+package com.bloomberg.analyzer.deals.service;
+
+import com.bloomberg.analyzer.deals.api.dto.DealPage;
+import com.bloomberg.analyzer.deals.api.dto.DealView;
+import com.bloomberg.analyzer.deals.persistence.DealFilter;
+import com.bloomberg.analyzer.deals.persistence.DealQueryRepository;
+import com.bloomberg.analyzer.deals.persistence.StoredDeal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Read path over stored deals: keyset-paginated pages for interactive use and a cursor-backed stream for exports.
+ */
+@Service
+@RequiredArgsConstructor
+public class DealQueryService {
+    static final int MAX_PAGE_SIZE = 1_000;
+    static final int EXPORT_FETCH_SIZE = 5_000;
+
+    private final DealQueryRepository dealQueryRepository;
+
+    /**
+     * Deals in {@code [from, to)} ordered by timestamp, optionally restricted to a currency pair side. Pages are
+     * chained with the returned cursor; the page size is clamped to {@value #MAX_PAGE_SIZE}.
+     */
+    public DealPage page(Instant from, Instant to, String fromCurrency, String toCurrency, String cursor, int limit) {
+        DealFilter filter = validate(from, to, fromCurrency, toCurrency);
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        Instant afterTs = null;
+        long afterId = 0;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] position = decodeCursor(cursor);
+            afterTs = parseCursorTimestamp(position[0]);
+            afterId = parseCursorId(position[1]);
+        }
+
+        // One extra row tells whether another page exists without a count query.
+        List<StoredDeal> rows = dealQueryRepository.findPage(filter, afterTs, afterId, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<StoredDeal> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            StoredDeal last = page.get(page.size() - 1);
+            nextCursor = encodeCursor(last.dealTs(), last.id());
+        }
+        return new DealPage(page.stream().map(DealQueryService::toView).toList(), nextCursor);
+    }
+
+    /**
+     * Streams every deal matching a filter from {@link #validate} to the consumer in timestamp order, reading
+     * {@value #EXPORT_FETCH_SIZE} rows from the database at a time.
+     */
+    public void export(DealFilter filter, Consumer<DealView> consumer) {
+        dealQueryRepository.stream(filter, EXPORT_FETCH_SIZE, deal -> consumer.accept(toView(deal)));
+    }
+
+    /**
+     * Checks the query parameters and builds the filter for them. Exports call it before they start writing the
+     * response, so an invalid query can still be answered with a problem detail.
+     *
+     * @throws InvalidDealQueryException if {@code from} is not before {@code to}
+     */
+    public DealFilter validate(Instant from, Instant to, String fromCurrency, String toCurrency) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new InvalidDealQueryException("'from' must be before 'to'");
+        }
+        return new DealFilter(from, to, upper(fromCurrency), upper(toCurrency));
+    }
+
+    private static String upper(String currency) {
+        return currency == null ? null : currency.toUpperCase(Locale.ROOT);
+    }
+
+    private static String encodeCursor(Instant dealTs, long id) {
+        String position = dealTs + "," + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(",", -1);
+            if (position.length == 2) {
+                return position;
+            }
+        } catch (IllegalArgumentException e) {
+            // fall through
+        }
+        throw new InvalidDealQueryException("Invalid cursor");
+    }
+
+    private static Instant parseCursorTimestamp(String value) {
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new InvalidDealQueryException("Invalid cursor");
+        }
+    }
+
+    private static long parseCursorId(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidDealQueryException("Invalid cursor");
+        }
+    }
+
+    static DealView toView(StoredDeal deal) {
+        return new DealView(deal.dealId(), deal.fromCurrency(), deal.toCurrency(), deal.dealTs(), deal.amount());
+    }
+}
@@ -0,0 +1,204 @@
+package com.bloomberg.analyzer.deals.service;
+
+import com.bloomberg.analyzer.deals.api.dto.DealImportRequest;
+import com.bloomberg.analyzer.deals.api.dto.DealRowResult;
+import com.bloomberg.analyzer.deals.config.DealImportProperties;
+import com.bloomberg.analyzer.deals.persistence.DealRejectRepository;
+import com.bloomberg.analyzer.deals.persistence.DealRejectRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Dead-letter store for rejected import rows. Import threads only enqueue into a bounded buffer and never wait: a
+ * single writer thread drains it in batches of {@code batch-size} rows into {@code deal_rejects}, serialising payloads
+ * off the import path. When the buffer is full rows are dropped and counted, so a flood of bad rows cannot stall an
+ * import; so are rows recorded while the writer is not running. Instead of one log line per rejected row the writer
+ * logs one aggregated {@code dealImport.rejected} line per status every {@code log-interval}.
+ */
+@Component
+@Slf4j
+public class DealRejectRecorder implements SmartLifecycle {
+    private static final DealRowResult.Status[] STATUSES = DealRowResult.Status.values();
+    private static final long STOP_TIMEOUT_MILLIS = 10_000;
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final DealRejectRepository dealRejectRepository;
+    private final JsonMapper jsonMapper;
+    private final DealImportMetrics metrics;
+    private final DealImportProperties.Rejects properties;
+    private final BlockingQueue<Reject> buffer;
+    private final LongAdder[] rejectedSinceLog = new LongAdder[STATUSES.length];
+    private final AtomicReferenceArray<String> sampleDealIds = new AtomicReferenceArray<>(STATUSES.length);
+    private final LongAdder droppedSinceLog = new LongAdder();
+    private final LogRateLimiter writeFailureLog;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public DealRejectRecorder(DealRejectRepository dealRejectRepository, JsonMapper jsonMapper,
+                              DealImportMetrics metrics, DealImportProperties properties) {
+        this.dealRejectRepository = dealRejectRepository;
+        this.jsonMapper = jsonMapper;
+        this.metrics = metrics;
+        this.properties = properties.getRejects();
+        this.buffer = new ArrayBlockingQueue<>(this.properties.getCapacity());
+        this.writeFailureLog = new LogRateLimiter(this.properties.getLogInterval());
+        for (int i = 0; i < rejectedSinceLog.length; i++) {
+            rejectedSinceLog[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Counts a rejected row for the aggregated log and queues it for the dead-letter table.
+     *
+     * @param request    the parsed row, or {@code null} if it could not be read
+     * @param rawPayload the row text when it could not be parsed, otherwise {@code null}
+     */
+    public void record(DealRowResult row, DealImportRequest request, String rawPayload) {
+        int status = row.status().ordinal();
+        rejectedSinceLog[status].increment();
+        sampleDealIds.lazySet(status, row.dealId());
+
+        if (!stores(row.status())) {
+            return;
+        }
+        // Once stopped nothing drains the buffer any more.
+        if (!running || !buffer.offer(new Reject(row, request, rawPayload, Instant.now()))) {
+            droppedSinceLog.increment();
+            metrics.recordRejectsDropped(1);
+        }
+    }
+
+    /**
+     * Below the web server's phases ({@code DEFAULT_PHASE - 1024} for its graceful shutdown, {@code - 2048} for
+     * starting and stopping it), so the writer starts before requests are accepted and stops only after the graceful
+     * shutdown has let in-flight imports finish.
+     */
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drainLoop, "deal-reject-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Lets the writer finish what is still buffered, waiting at most ten seconds. Rows recorded from then on are
+     * dropped and counted.
+     */
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(STOP_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!buffer.isEmpty()) {
+            log.warn("dealReject.stopTimedOut unwritten={}", buffer.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private boolean stores(DealRowResult.Status status) {
+        return properties.isEnabled() && (status != DealRowResult.Status.DUPLICATE || properties.isIncludeDuplicates());
+    }
+
+    private void drainLoop() {
+        int batchSize = properties.getBatchSize();
+        long flushNanos = properties.getFlushInterval().toNanos();
+        long logNanos = properties.getLogInterval().toNanos();
+        List<Reject> batch = new ArrayList<>(batchSize);
+        long nextLog = System.nanoTime() + logNanos;
+
+        while (running || !buffer.isEmpty()) {
+            try {
+                Reject first = buffer.poll(flushNanos, TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    buffer.drainTo(batch, batchSize - 1);
+                    write(batch);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                // Only stop() ends the loop, and only once the buffer is empty.
+                Thread.interrupted();
+            }
+            if (System.nanoTime() - nextLog >= 0) {
+                logRejected();
+                nextLog = System.nanoTime() + logNanos;
+            }
+        }
+        logRejected();
+    }
+
+    private void write(List<Reject> batch) {
+        try {
+            dealRejectRepository.insert(batch.stream().map(this::toRow).toList());
+            metrics.recordRejectsWritten(batch.size());
+        } catch (RuntimeException e) {
+            droppedSinceLog.add(batch.size());
+            metrics.recordRejectsDropped(batch.size());
+            long suppressed = writeFailureLog.tryAcquire();
+            if (suppressed >= 0) {
+                log.error("dealReject.writeFailed rows={} suppressedFailures={}", batch.size(), suppressed, e);
+            }
+        }
+    }
+
+    private DealRejectRow toRow(Reject reject) {
+        DealRowResult row = reject.row();
+        return new DealRejectRow(null, row.index(), row.dealId(), row.status().name(), row.errors(),
+                payload(reject), reject.rejectedAt());
+    }
+
+    private String payload(Reject reject) {
+        if (reject.request() != null) {
+            return jsonMapper.writeValueAsString(reject.request());
+        }
+        return reject.rawPayload();
+    }
+
+    private void logRejected() {
+        for (DealRowResult.Status status : STATUSES) {
+            long rows = rejectedSinceLog[status.ordinal()].sumThenReset();
+            if (rows > 0) {
+                log.warn("dealImport.rejected status={} rows={} sampleDealId={}",
+                        status, rows, sampleDealIds.get(status.ordinal()));
+            }
+        }
+        long dropped = droppedSinceLog.sumThenReset();
+        if (dropped > 0) {
+            log.warn("dealImport.rejectsDropped rows={}", dropped);
+        }
+    }
+
+    private record Reject(DealRowResult row, DealImportRequest request, String rawPayload, Instant rejectedAt) {
+    }
+}
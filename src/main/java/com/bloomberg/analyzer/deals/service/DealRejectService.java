@@ -0,0 +1,116 @@
+package com.bloomberg.analyzer.deals.service;
+
+import com.bloomberg.analyzer.deals.api.dto.DealImportRequest;
+import com.bloomberg.analyzer.deals.api.dto.DealRejectPage;
+import com.bloomberg.analyzer.deals.api.dto.DealRejectResubmission;
+import com.bloomberg.analyzer.deals.api.dto.DealRejectView;
+import com.bloomberg.analyzer.deals.api.dto.DealRowResult;
+import com.bloomberg.analyzer.deals.api.dto.DealsImportResponse;
+import com.bloomberg.analyzer.deals.persistence.DealRejectRepository;
+import com.bloomberg.analyzer.deals.persistence.DealRejectRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Inspection and re-submission of the rows held in the dead-letter store (see {@link DealRejectRecorder}).
+ */
+@Service
+@RequiredArgsConstructor
+public class DealRejectService {
+    static final int MAX_PAGE_SIZE = 1_000;
+    static final int MAX_RESUBMIT = 1_000;
+
+    private final DealRejectRepository dealRejectRepository;
+    private final DealImportService dealImportService;
+    private final JsonMapper jsonMapper;
+
+    /**
+     * Rejects in the order they were stored, optionally restricted to a status and deal id. Pages are chained with the
+     * returned cursor; the page size is clamped to {@value #MAX_PAGE_SIZE}.
+     */
+    public DealRejectPage page(DealRowResult.Status status, String dealId, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        long afterId = cursor == null || cursor.isEmpty() ? 0 : decodeCursor(cursor);
+
+        // One extra row tells whether another page exists without a count query.
+        List<DealRejectRow> rows = dealRejectRepository.findPage(
+                status == null ? null : status.name(), dealId, afterId, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<DealRejectRow> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = hasMore ? encodeCursor(page.get(page.size() - 1).id()) : null;
+        return new DealRejectPage(page.stream().map(DealRejectService::toView).toList(), nextCursor);
+    }
+
+    /**
+     * Re-imports the stored payloads of the given rejects through the batched import and removes the resubmitted
+     * rejects afterwards. Rows that are rejected again are recorded as new rejects by the import itself.
+     */
+    public DealRejectResubmission resubmit(List<Long> ids) {
+        List<Long> requested = ids == null ? List.of() : ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (requested.isEmpty()) {
+            throw new InvalidDealQueryException("'ids' must not be empty");
+        }
+        if (requested.size() > MAX_RESUBMIT) {
+            throw new InvalidDealQueryException("at most " + MAX_RESUBMIT + " rejects can be resubmitted at once");
+        }
+
+        List<Long> resubmitted = new ArrayList<>(requested.size());
+        List<DealImportRequest> requests = new ArrayList<>(requested.size());
+        for (DealRejectRow row : dealRejectRepository.findByIds(requested)) {
+            DealImportRequest request = parse(row.payload());
+            if (request != null) {
+                resubmitted.add(row.id());
+                requests.add(request);
+            }
+        }
+        LinkedHashSet<Long> skipped = new LinkedHashSet<>(requested);
+        resubmitted.forEach(skipped::remove);
+
+        if (requests.isEmpty()) {
+            return new DealRejectResubmission(List.of(), List.copyOf(skipped),
+                    new DealsImportResponse(0, 0, 0, 0, 0, List.of()));
+        }
+        DealsImportResponse result = dealImportService.importDeals(requests);
+        dealRejectRepository.delete(resubmitted);
+        return new DealRejectResubmission(resubmitted, List.copyOf(skipped), result);
+    }
+
+    private DealImportRequest parse(String payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return jsonMapper.readValue(payload, DealImportRequest.class);
+        } catch (JacksonException e) {
+            return null;
+        }
+    }
+
+    private static String encodeCursor(long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long decodeCursor(String cursor) {
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidDealQueryException("Invalid cursor");
+        }
+    }
+
+    static DealRejectView toView(DealRejectRow row) {
+        return new DealRejectView(row.id(), row.index(), row.dealId(), DealRowResult.Status.valueOf(row.status()),
+                row.errors(), row.payload(), row.rejectedAt());
+    }
+}
@@ -0,0 +1,95 @@
+package com.bloomberg.analyzer.deals.service;
+
+import com.bloomberg.analyzer.deals.api.dto.DealRollupBucket;
+import com.bloomberg.analyzer.deals.persistence.DealEntity;
+import com.bloomberg.analyzer.deals.persistence.DealRollupRepository;
+import com.bloomberg.analyzer.deals.persistence.DealRollupRow;
+import com.bloomberg.analyzer.deals.persistence.RollupResolution;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains the per-pair minute, hour and day rollups while deals are imported and serves queries from them, so
+ * volume and count per currency pair never require a scan of {@code deals}.
+ */
+@Service
+@RequiredArgsConstructor
+public class DealRollupService implements ImportedDealsListener {
+    static final int MAX_LIMIT = 10_000;
+
+    private static final Comparator<BucketKey> KEY_ORDER = Comparator.comparing(BucketKey::fromCurrency)
+            .thenComparing(BucketKey::toCurrency)
+            .thenComparing(BucketKey::bucketStart);
+
+    private final DealRollupRepository rollupRepository;
+
+    /**
+     * Aggregates the chunk in memory and applies one upsert per resolution, with one row per touched bucket rather
+     * than one per deal. Keys are sent in primary key order so concurrent chunks lock buckets in the same order.
+     */
+    @Override
+    public void onImported(List<DealEntity> deals) {
+        if (deals.isEmpty()) {
+            return;
+        }
+        for (RollupResolution resolution : RollupResolution.values()) {
+            Map<BucketKey, Bucket> buckets = new TreeMap<>(KEY_ORDER);
+            for (DealEntity deal : deals) {
+                BucketKey key = new BucketKey(deal.getFromCurrency(), deal.getToCurrency(),
+                        deal.getDealTs().truncatedTo(resolution.unit()));
+                buckets.computeIfAbsent(key, k -> new Bucket()).add(deal.getAmount());
+            }
+
+            List<DealRollupRow> deltas = new ArrayList<>(buckets.size());
+            buckets.forEach((key, bucket) -> deltas.add(new DealRollupRow(
+                    key.fromCurrency(), key.toCurrency(), key.bucketStart(), bucket.count, bucket.total)));
+            rollupRepository.add(resolution, deltas);
+        }
+    }
+
+    /**
+     * Buckets of the given resolution starting in {@code [from, to)}, for one currency pair or for all pairs. The
+     * limit is clamped to {@value #MAX_LIMIT}.
+     */
+    public List<DealRollupBucket> find(RollupResolution resolution, Instant from, Instant to,
+                                       String fromCurrency, String toCurrency, int limit) {
+        if (!from.isBefore(to)) {
+            throw new InvalidDealQueryException("'from' must be before 'to'");
+        }
+        if ((fromCurrency == null) != (toCurrency == null)) {
+            throw new InvalidDealQueryException("'fromCurrency' and 'toCurrency' must be given together");
+        }
+
+        int safeLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        return rollupRepository.find(resolution, from, to, upper(fromCurrency), upper(toCurrency), safeLimit).stream()
+                .map(row -> new DealRollupBucket(
+                        row.fromCurrency(), row.toCurrency(), row.bucketStart(), row.dealCount(), row.totalAmount()))
+                .toList();
+    }
+
+    private static String upper(String currency) {
+        return currency == null ? null : currency.toUpperCase(Locale.ROOT);
+    }
+
+    private record BucketKey(String fromCurrency, String toCurrency, Instant bucketStart) {
+    }
+
+    private static final class Bucket {
+        private long count;
+        private BigDecimal total = BigDecimal.ZERO;
+
+        void add(BigDecimal amount) {
+            count++;
+            total = total.add(amount);
+        }
+    }
+}
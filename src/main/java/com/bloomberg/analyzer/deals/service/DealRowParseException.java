@@ -0,0 +1,23 @@
+package com.bloomberg.analyzer.deals.service;
+
+/**
+ * Thrown by a streaming row source when a single row cannot be read. The import records the row as
+ * {@code VALIDATION_FAILED} with the exception message and continues with the next row. The raw row text, when the
+ * source has it, is kept for the dead-letter store.
+ */
+public class DealRowParseException extends RuntimeException {
+    private final String rawPayload;
+
+    public DealRowParseException(String message) {
+        this(message, null);
+    }
+
+    public DealRowParseException(String message, String rawPayload) {
+        super(message);
+        this.rawPayload = rawPayload;
+    }
+
+    public String getRawPayload() {
+        return rawPayload;
+    }
+}
@@ -0,0 +1,16 @@
+package com.bloomberg.analyzer.deals.service;
+
+import com.bloomberg.analyzer.deals.api.dto.DealImportRequest;
+
+import java.util.List;
+
+/**
+ * Field-level validation of a single, non-null import row.
+ */
+public interface DealRowValidator {
+
+    /**
+     * @return the validation errors as {@code "<field>: <message>"} strings; empty (never {@code null}) when valid
+     */
+    List<String> validate(DealImportRequest request);
+}
@@ -0,0 +1,14 @@
+package com.bloomberg.analyzer.deals.service;
+
+import com.bloomberg.analyzer.deals.persistence.DealEntity;
+
+import java.util.List;
+
+/**
+ * Keeps derived state in step with the {@code deals} table. Listeners are called once per persisted chunk (or bulk
+ * load) with the deals that chunk actually inserted, inside the transaction of the insert: when a listener throws, the
+ * insert is rolled back and its rows are reported like any other persistence failure.
+ */
+public interface ImportedDealsListener {
+    void onImported(List<DealEntity> deals);
+}
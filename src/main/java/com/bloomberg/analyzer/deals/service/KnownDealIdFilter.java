@@ -0,0 +1,119 @@
+package com.bloomberg.analyzer.deals.service;
+
+import com.bloomberg.analyzer.deals.config.DealImportProperties;
+import com.bloomberg.analyzer.deals.persistence.DealIdScanner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over stored deal ids. A negative answer is definitive, so ids the filter has never seen go
+ * straight to the insert; a positive answer only means "maybe" and must be confirmed against the database. The filter
+ * is warmed from {@code deals} in the background after startup; until then it simply answers "unknown" more often,
+ * which costs round trips but never correctness.
+ */
+@Component
+@Slf4j
+public class KnownDealIdFilter {
+    private static final int WARMUP_FETCH_SIZE = 10_000;
+
+    private final DealIdScanner dealIdScanner;
+    private final boolean enabled;
+    private final long expectedIds;
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final AtomicLong added = new AtomicLong();
+
+    public KnownDealIdFilter(DealIdScanner dealIdScanner, DealImportProperties properties) {
+        DealImportProperties.Dedupe dedupe = properties.getDedupe();
+        this.dealIdScanner = dealIdScanner;
+        this.enabled = dedupe.isEnabled();
+        this.expectedIds = dedupe.getExpectedIds();
+
+        double fpp = dedupe.getFalsePositiveRate();
+        long bits = enabled ? (long) Math.ceil(-expectedIds * Math.log(fpp) / (Math.log(2) * Math.log(2))) : 64;
+        this.words = new AtomicLongArray((int) Math.min((bits + 63) / 64, Integer.MAX_VALUE - 8));
+        this.bitCount = (long) words.length() * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedIds * Math.log(2)));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return {@code false} if the id is definitely not stored, {@code true} if it may be
+     */
+    public boolean mightContain(String dealId) {
+        if (!enabled) {
+            return false;
+        }
+        long hash = hash64(dealId);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void add(String dealId) {
+        if (!enabled) {
+            return;
+        }
+        long hash = hash64(dealId);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            long mask = 1L << bit;
+            words.getAndAccumulate((int) (bit >>> 6), mask, (word, m) -> word | m);
+        }
+        if (added.incrementAndGet() == expectedIds + 1) {
+            log.warn("knownDealIds.saturated expectedIds={} falsePositivesWillRise=true", expectedIds);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        Thread warmer = new Thread(() -> {
+            long start = System.nanoTime();
+            try {
+                dealIdScanner.scan(WARMUP_FETCH_SIZE, this::add);
+                log.info("knownDealIds.warmed ids={} tookMs={}", added.get(), (System.nanoTime() - start) / 1_000_000);
+            } catch (RuntimeException e) {
+                log.warn("knownDealIds.warmupFailed ids={}", added.get(), e);
+            }
+        }, "known-deal-ids-warmup");
+        warmer.setDaemon(true);
+        warmer.start();
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-16 code units, finished with a murmur3 mix so both halves are usable hashes.
+     */
+    private static long hash64(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,34 @@
+package com.bloomberg.analyzer.deals.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lets at most one log statement through per interval and counts the ones it held back, so a burst of identical
+ * failures costs one log line (and one stack trace) instead of thousands.
+ */
+final class LogRateLimiter {
+    private final long intervalNanos;
+    private final AtomicLong nextAllowed;
+    private final LongAdder suppressed = new LongAdder();
+
+    LogRateLimiter(Duration interval) {
+        this.intervalNanos = interval.toNanos();
+        this.nextAllowed = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * @return the number of statements suppressed since the last permitted one, or {@code -1} if this one must be
+     * suppressed as well
+     */
+    long tryAcquire() {
+        long now = System.nanoTime();
+        long next = nextAllowed.get();
+        if (now - next >= 0 && nextAllowed.compareAndSet(next, now + intervalNanos)) {
+            return suppressed.sumThenReset();
+        }
+        suppressed.increment();
+        return -1;
+    }
+}
@@ -0,0 +1,111 @@
+package com.bloomberg.analyzer.deals.service;
+
+import com.bloomberg.analyzer.deals.api.dto.DealImportRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Currency;
+import java.util.List;
+
+/**
+ * Hand-written equivalent of {@link BeanValidationDealRowValidator}: the same rules and the same messages, without
+ * reflection, regex matching or exceptions. Known ISO 4217 codes are precomputed into a bitset over the 26³ space of
+ * three-letter codes, and a valid row returns a shared empty list, so the success path allocates nothing. This is the
+ * default; set {@code analyzer.import.validation=bean} to switch back to Bean Validation.
+ */
+@Component
+@ConditionalOnProperty(prefix = "analyzer.import", name = "validation", havingValue = "precompiled", matchIfMissing = true)
+public class PrecompiledDealRowValidator implements DealRowValidator {
+    private static final String NOT_BLANK = ": must not be blank";
+    private static final String NOT_NULL = ": must not be null";
+    private static final String ALPHA_3 = ": must be ISO 4217 alpha-3 (A-Z)";
+    private static final String POSITIVE = ": must be greater than 0";
+    private static final String UNKNOWN_CURRENCY = ": unknown ISO currency";
+
+    private static final BitSet ISO_CURRENCIES = isoCurrencies();
+
+    @Override
+    public List<String> validate(DealImportRequest req) {
+        List<String> errors = List.of();
+
+        if (req.dealId() == null || req.dealId().isBlank()) {
+            errors = add(errors, "dealId" + NOT_BLANK);
+        }
+        errors = checkCurrencyFormat(errors, "fromCurrency", req.fromCurrency());
+        errors = checkCurrencyFormat(errors, "toCurrency", req.toCurrency());
+        if (req.timestamp() == null) {
+            errors = add(errors, "timestamp" + NOT_NULL);
+        }
+        if (req.amount() == null) {
+            errors = add(errors, "amount" + NOT_NULL);
+        } else if (req.amount().signum() <= 0) {
+            errors = add(errors, "amount" + POSITIVE);
+        }
+
+        if (req.fromCurrency() != null && !isIsoCurrency(req.fromCurrency())) {
+            errors = add(errors, "fromCurrency" + UNKNOWN_CURRENCY);
+        }
+        if (req.toCurrency() != null && !isIsoCurrency(req.toCurrency())) {
+            errors = add(errors, "toCurrency" + UNKNOWN_CURRENCY);
+        }
+        return errors;
+    }
+
+    /**
+     * @return whether {@code code} is a three-letter code {@link Currency#getInstance(String)} accepts
+     */
+    static boolean isIsoCurrency(String code) {
+        int key = alpha3Key(code);
+        return key >= 0 && ISO_CURRENCIES.get(key);
+    }
+
+    private static List<String> checkCurrencyFormat(List<String> errors, String field, String code) {
+        if (code == null) {
+            return add(errors, field + NOT_BLANK);
+        }
+        if (code.isBlank()) {
+            errors = add(errors, field + NOT_BLANK);
+        }
+        if (alpha3Key(code) < 0) {
+            errors = add(errors, field + ALPHA_3);
+        }
+        return errors;
+    }
+
+    /**
+     * @return the position of {@code code} in the 26³ space of {@code [A-Z]{3}} codes, or -1 if it is not in it
+     */
+    private static int alpha3Key(String code) {
+        if (code.length() != 3) {
+            return -1;
+        }
+        int key = 0;
+        for (int i = 0; i < 3; i++) {
+            char c = code.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                return -1;
+            }
+            key = key * 26 + (c - 'A');
+        }
+        return key;
+    }
+
+    private static List<String> add(List<String> errors, String error) {
+        List<String> result = errors.isEmpty() ? new ArrayList<>(4) : errors;
+        result.add(error);
+        return result;
+    }
+
+    private static BitSet isoCurrencies() {
+        BitSet codes = new BitSet(26 * 26 * 26);
+        for (Currency currency : Currency.getAvailableCurrencies()) {
+            int key = alpha3Key(currency.getCurrencyCode());
+            if (key >= 0) {
+                codes.set(key);
+            }
+        }
+        return codes;
+    }
+}
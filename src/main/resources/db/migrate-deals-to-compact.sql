@@ -0,0 +1,70 @@
+-- One-off migration of an existing database from the standard layout (schema.sql) to the compact encoding
+-- (schema-compact.sql). Run it with the application stopped, e.g.
+--   psql -U analyzer -d analyzer -v ON_ERROR_STOP=1 -f migrate-deals-to-compact.sql
+-- then start the application with the "compact" profile. The original table is kept as deals_legacy; drop it once the
+-- new layout is verified. Rewriting a large table takes time and disk space for both copies.
+begin;
+
+create table currencies (
+    code smallint generated by default as identity primary key,
+    iso char(3) not null,
+    amount_exponent smallint not null
+);
+
+create unique index uk_currencies_iso on currencies (iso);
+
+-- Exponents are the ISO 4217 minor units, as the application uses when it registers the remaining currencies.
+insert into currencies (iso, amount_exponent)
+select iso,
+       case
+           when iso in ('ADP', 'BEF', 'BIF', 'BYB', 'BYR', 'CLP', 'DJF', 'ESP', 'GNF', 'GRD', 'ISK', 'ITL', 'JPY',
+                        'KMF', 'KRW', 'LUF', 'MGF', 'PTE', 'PYG', 'ROL', 'RWF', 'TPE', 'TRL', 'UGX', 'UYI', 'VND',
+                        'VUV', 'XAF', 'XAG', 'XAU', 'XBA', 'XBB', 'XBC', 'XBD', 'XDR', 'XFO', 'XFU', 'XOF', 'XPD',
+                        'XPF', 'XPT', 'XSU', 'XTS', 'XUA', 'XXX') then 0
+           when iso in ('BHD', 'IQD', 'JOD', 'KWD', 'LYD', 'OMR', 'TND') then 3
+           when iso = 'CLF' then 4
+           else 2
+       end
+from (select from_currency as iso from deals union select to_currency from deals) used
+order by iso;
+
+create table deals_compact (
+    id bigserial primary key,
+    deal_id varchar(100) not null,
+    from_code smallint not null,
+    to_code smallint not null,
+    deal_ts timestamptz not null,
+    amount_units bigint,
+    amount numeric(38, 10),
+    created_at timestamptz not null default now(),
+    constraint ck_deals_compact_amount check ((amount_units is null) <> (amount is null))
+);
+
+-- Keep ids (the keyset tie-breaker) and insertion times; indexes are built after the bulk copy.
+insert into deals_compact (id, deal_id, from_code, to_code, deal_ts, amount_units, amount, created_at)
+select d.id,
+       d.deal_id,
+       f.code,
+       t.code,
+       d.deal_ts,
+       case when s.fits then s.scaled::bigint end,
+       case when s.fits then null else d.amount end,
+       d.created_at
+from deals d
+join currencies f on f.iso = d.from_currency
+join currencies t on t.iso = d.to_currency
+cross join lateral (select d.amount * power(10::numeric, f.amount_exponent) as scaled) x
+cross join lateral (select x.scaled = trunc(x.scaled) and abs(x.scaled) <= 9223372036854775807 as fits) s;
+
+select setval(pg_get_serial_sequence('deals_compact', 'id'), coalesce((select max(id) from deals_compact), 1));
+
+create unique index uk_deals_compact_deal_id on deals_compact (deal_id);
+create index ix_deals_compact_deal_ts on deals_compact (deal_ts);
+
+alter table deals rename to deals_legacy;
+alter index uk_deals_deal_id rename to uk_deals_legacy_deal_id;
+alter index ix_deals_deal_ts rename to ix_deals_legacy_deal_ts;
+
+commit;
+
+-- The deals view and anything missing is created by schema-compact.sql when the application starts.
@@ -0,0 +1,104 @@
+-- Tables shared by both deals layouts (schema.sql and schema-partitioned.sql).
+
+-- Staging area for COPY bulk loads. Rows are written and merged inside a single transaction and never committed,
+-- so the table is unlogged and each load only ever sees its own rows.
+create unlogged table if not exists deals_import_staging (
+    load_id uuid not null,
+    row_index int not null,
+    deal_id varchar(100) not null,
+    from_currency char(3) not null,
+    to_currency char(3) not null,
+    deal_ts timestamptz not null,
+    amount numeric(38, 10) not null
+);
+
+create index if not exists ix_deals_import_staging_load_id on deals_import_staging (load_id, deal_id, row_index);
+
+-- Per currency-pair volume rollups, maintained incrementally by the import (one upsert per chunk and resolution).
+create table if not exists deal_rollups_minute (
+    from_currency char(3) not null,
+    to_currency char(3) not null,
+    bucket_start timestamptz not null,
+    deal_count bigint not null,
+    total_amount numeric(38, 10) not null,
+    primary key (from_currency, to_currency, bucket_start)
+);
+
+create index if not exists ix_deal_rollups_minute_bucket on deal_rollups_minute (bucket_start);
+
+create table if not exists deal_rollups_hour (
+    from_currency char(3) not null,
+    to_currency char(3) not null,
+    bucket_start timestamptz not null,
+    deal_count bigint not null,
+    total_amount numeric(38, 10) not null,
+    primary key (from_currency, to_currency, bucket_start)
+);
+
+create index if not exists ix_deal_rollups_hour_bucket on deal_rollups_hour (bucket_start);
+
+create table if not exists deal_rollups_day (
+    from_currency char(3) not null,
+    to_currency char(3) not null,
+    bucket_start timestamptz not null,
+    deal_count bigint not null,
+    total_amount numeric(38, 10) not null,
+    primary key (from_currency, to_currency, bucket_start)
+);
+
+create index if not exists ix_deal_rollups_day_bucket on deal_rollups_day (bucket_start);
+
+-- Dead-letter store for rows an import rejected, written asynchronously in batches by DealRejectRecorder.
+-- payload is the row as received (JSON), or null when nothing usable was read.
+create table if not exists deal_rejects (
+    id bigserial primary key,
+    row_index int not null,
+    deal_id text,
+    status varchar(32) not null,
+    errors text[] not null,
+    payload text,
+    rejected_at timestamptz not null
+);
+
+create index if not exists ix_deal_rejects_status on deal_rejects (status, id);
+create index if not exists ix_deal_rejects_deal_id on deal_rejects (deal_id);
+
+-- Progress of file imports from the drop directory. byte_offset is the end of the last row whose window was
+-- committed, so an interrupted import resumes there; file_size and file_modified_at detect a replaced file.
+create table if not exists deal_file_imports (
+    id bigserial primary key,
+    path text not null,
+    format varchar(16) not null,
+    file_size bigint not null,
+    file_modified_at timestamptz not null,
+    state varchar(16) not null,
+    byte_offset bigint not null,
+    rows_processed bigint not null,
+    imported bigint not null,
+    duplicates bigint not null,
+    failed_validation bigint not null,
+    failed_persistence bigint not null,
+    error text,
+    updated_at timestamptz not null
+);
+
+create unique index if not exists uk_deal_file_imports_path on deal_file_imports (path);
+
+-- Responses of JSON imports kept for replaying retried requests (analyzer.import.replay.persistent). fingerprint is a
+-- hash of the request, so a reused Idempotency-Key with a different body is detected.
+create table if not exists deal_import_replays (
+    idempotency_key text primary key,
+    fingerprint text not null,
+    response text not null,
+    created_at timestamptz not null
+);
+
+create index if not exists ix_deal_import_replays_created_at on deal_import_replays (created_at);
+
+-- SHA-256 of each set of schema scripts that has been applied in full. With analyzer.startup.skip-current-schema
+-- startup skips the scripts when their hash is already recorded here.
+create table if not exists schema_script_versions (
+    script_hash char(64) primary key,
+    locations text not null,
+    applied_at timestamptz not null
+);
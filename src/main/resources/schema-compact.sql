@@ -0,0 +1,43 @@
+-- Opt-in compact encoding (profile "compact"), used instead of schema.sql. Currencies are stored as smallint codes
+-- from the currencies dictionary and amounts as integers scaled by the currency's exponent, with a numeric fallback
+-- for amounts that have more decimals than the exponent or do not fit a bigint. The deals view decodes rows back to
+-- the standard columns, so every reader works unchanged. Convert an existing database with
+-- db/migrate-deals-to-compact.sql.
+create table if not exists currencies (
+    code smallint generated by default as identity primary key,
+    iso char(3) not null,
+    amount_exponent smallint not null
+);
+
+create unique index if not exists uk_currencies_iso on currencies (iso);
+
+-- No foreign keys to currencies: codes come from the dictionary the application loaded, and the extra lookups would
+-- be paid on every insert.
+create table if not exists deals_compact (
+    id bigserial primary key,
+    deal_id varchar(100) not null,
+    from_code smallint not null,
+    to_code smallint not null,
+    deal_ts timestamptz not null,
+    amount_units bigint,
+    amount numeric(38, 10),
+    created_at timestamptz not null default now(),
+    constraint ck_deals_compact_amount check ((amount_units is null) <> (amount is null))
+);
+
+create unique index if not exists uk_deals_compact_deal_id on deals_compact (deal_id);
+
+create index if not exists ix_deals_compact_deal_ts on deals_compact (deal_ts);
+
+-- Amounts are scaled by the exponent of from_currency.
+create or replace view deals as
+select d.id,
+       d.deal_id,
+       f.iso as from_currency,
+       t.iso as to_currency,
+       d.deal_ts,
+       coalesce(d.amount, (d.amount_units * power(10::numeric, -f.amount_exponent))::numeric(38, 10)) as amount,
+       d.created_at
+from deals_compact d
+join currencies f on f.code = d.from_code
+join currencies t on t.code = d.to_code;
@@ -0,0 +1,24 @@
+-- Opt-in partitioned layout (profile "partitioned"), used instead of schema.sql. Deals are range-partitioned by month
+-- on deal_ts; monthly partitions are created on demand by the import and ahead of time by the maintenance job, and
+-- old ones are detached or dropped by the retention job.
+create table if not exists deals (
+    id bigserial not null,
+    deal_id varchar(100) not null,
+    from_currency char(3) not null,
+    to_currency char(3) not null,
+    deal_ts timestamptz not null,
+    amount numeric(38, 10) not null,
+    created_at timestamptz not null default now(),
+    primary key (id, deal_ts)
+) partition by range (deal_ts);
+
+create index if not exists ix_deals_deal_ts on deals (deal_ts);
+
+create index if not exists ix_deals_deal_id on deals (deal_id);
+
+-- A unique index on a partitioned table must contain the partition key, so idempotency on deal_id is enforced by
+-- this registry instead: a deal is inserted into deals only if its id could be registered here first.
+create table if not exists deal_ids (
+    deal_id varchar(100) primary key,
+    deal_ts timestamptz not null
+);
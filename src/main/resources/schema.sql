@@ -12,5 +12,3 @@ create table if not exists deals (
 create unique index if not exists uk_deals_deal_id on deals (deal_id);
 
 create index if not exists ix_deals_deal_ts on deals (deal_ts);
-
-
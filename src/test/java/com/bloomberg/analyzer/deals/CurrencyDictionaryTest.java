@@ -0,0 +1,45 @@
+package com.bloomberg.analyzer.deals;
+
+import com.bloomberg.analyzer.deals.config.DealPartitioningProperties;
+import com.bloomberg.analyzer.deals.config.DealStorageProperties;
+import com.bloomberg.analyzer.deals.persistence.CurrencyDictionary;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class CurrencyDictionaryTest {
+
+    @Test
+    void units_scalesAmountByCurrencyExponent() {
+        CurrencyDictionary.Entry usd = new CurrencyDictionary.Entry((short) 1, 2);
+        CurrencyDictionary.Entry jpy = new CurrencyDictionary.Entry((short) 2, 0);
+
+        assertThat(usd.units(new BigDecimal("1234.50"))).isEqualTo(123450L);
+        assertThat(usd.units(new BigDecimal("-0.01"))).isEqualTo(-1L);
+        assertThat(jpy.units(new BigDecimal("1500"))).isEqualTo(1500L);
+    }
+
+    @Test
+    void units_returnsNullWhenAmountDoesNotFitTheEncoding() {
+        CurrencyDictionary.Entry usd = new CurrencyDictionary.Entry((short) 1, 2);
+
+        assertThat(usd.units(new BigDecimal("1.005"))).isNull();
+        assertThat(usd.units(new BigDecimal("1e30"))).isNull();
+    }
+
+    @Test
+    void constructor_rejectsCompactEncodingWithPartitioning() {
+        DealStorageProperties storage = new DealStorageProperties();
+        storage.setEncoding(DealStorageProperties.Encoding.COMPACT);
+        DealPartitioningProperties partitioning = new DealPartitioningProperties();
+        partitioning.setEnabled(true);
+
+        assertThatThrownBy(() -> new CurrencyDictionary(mock(JdbcTemplate.class), storage, partitioning))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
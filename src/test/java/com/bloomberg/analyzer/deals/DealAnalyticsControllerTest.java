@@ -0,0 +1,95 @@
+package com.bloomberg.analyzer.deals;
+
+import com.bloomberg.analyzer.common.error.GlobalExceptionHandler;
+import com.bloomberg.analyzer.deals.api.DealAnalyticsController;
+import com.bloomberg.analyzer.deals.api.dto.DealAmountPoint;
+import com.bloomberg.analyzer.deals.api.dto.DealAmountSeries;
+import com.bloomberg.analyzer.deals.api.dto.DealAnalyticsPairs;
+import com.bloomberg.analyzer.deals.api.dto.DealPairStats;
+import com.bloomberg.analyzer.deals.service.DealAnalyticsDisabledException;
+import com.bloomberg.analyzer.deals.service.DealAnalyticsService;
+import com.bloomberg.analyzer.deals.service.DealImportAdmission;
+import com.bloomberg.analyzer.deals.service.DealImportMetrics;
+import com.bloomberg.analyzer.deals.service.DealPairOrder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = DealAnalyticsController.class)
+@Import(GlobalExceptionHandler.class)
+class DealAnalyticsControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockitoBean
+    DealAnalyticsService dealAnalyticsService;
+
+    @MockitoBean
+    DealImportMetrics dealImportMetrics;
+
+    @MockitoBean
+    DealImportAdmission dealImportAdmission;
+
+    @Test
+    void pairs_returnsRankedPairs() throws Exception {
+        Instant from = Instant.parse("2026-01-05T00:00:00Z");
+        when(dealAnalyticsService.pairs(from, null, DealPairOrder.AMOUNT, 5)).thenReturn(new DealAnalyticsPairs(
+                from, null, true, List.of(new DealPairStats("EUR", "USD", 2, new BigDecimal("30.0000"),
+                new BigDecimal("15.0000"), new BigDecimal("10.0000"), new BigDecimal("20.0000")))));
+
+        mockMvc.perform(get("/api/v1/deals/analytics/pairs")
+                        .param("from", "2026-01-05T00:00:00Z")
+                        .param("orderBy", "amount")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.complete").value(true))
+                .andExpect(jsonPath("$.pairs[0].fromCurrency").value("EUR"))
+                .andExpect(jsonPath("$.pairs[0].dealCount").value(2))
+                .andExpect(jsonPath("$.pairs[0].averageAmount").value(15.0));
+    }
+
+    @Test
+    void series_parsesStepAndWindow() throws Exception {
+        Instant from = Instant.parse("2026-01-05T10:00:00Z");
+        Instant to = Instant.parse("2026-01-05T11:00:00Z");
+        when(dealAnalyticsService.series(from, to, Duration.ofHours(1), Duration.ofHours(2), "EUR", "USD"))
+                .thenReturn(new DealAmountSeries(from, to, Duration.ofHours(1), Duration.ofHours(2), "EUR", "USD",
+                        true, List.of(new DealAmountPoint(from.minusSeconds(3600), to, 2, new BigDecimal("3"),
+                        new BigDecimal("1.5")))));
+
+        mockMvc.perform(get("/api/v1/deals/analytics/series")
+                        .param("from", "2026-01-05T10:00:00Z")
+                        .param("to", "2026-01-05T11:00:00Z")
+                        .param("step", "1h")
+                        .param("window", "PT2H")
+                        .param("fromCurrency", "EUR")
+                        .param("toCurrency", "USD"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.points[0].start").value("2026-01-05T09:00:00Z"))
+                .andExpect(jsonPath("$.points[0].averageAmount").value(1.5));
+    }
+
+    @Test
+    void amounts_disabled_returns503() throws Exception {
+        when(dealAnalyticsService.amounts(any(), any(), any(), any(), any()))
+                .thenThrow(new DealAnalyticsDisabledException());
+
+        mockMvc.perform(get("/api/v1/deals/analytics/amounts"))
+                .andExpect(status().isServiceUnavailable());
+    }
+}
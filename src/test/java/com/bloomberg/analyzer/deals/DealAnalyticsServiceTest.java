@@ -0,0 +1,296 @@
+package com.bloomberg.analyzer.deals;
+
+import com.bloomberg.analyzer.deals.api.dto.DealAmountPoint;
+import com.bloomberg.analyzer.deals.api.dto.DealAmountSeries;
+import com.bloomberg.analyzer.deals.api.dto.DealAmountStats;
+import com.bloomberg.analyzer.deals.api.dto.DealAnalyticsPairs;
+import com.bloomberg.analyzer.deals.api.dto.DealPairStats;
+import com.bloomberg.analyzer.deals.config.DealAnalyticsProperties;
+import com.bloomberg.analyzer.deals.persistence.DealEntity;
+import com.bloomberg.analyzer.deals.persistence.DealQueryRepository;
+import com.bloomberg.analyzer.deals.persistence.StoredDeal;
+import com.bloomberg.analyzer.deals.service.DealAnalyticsDisabledException;
+import com.bloomberg.analyzer.deals.service.DealAnalyticsService;
+import com.bloomberg.analyzer.deals.service.DealPairOrder;
+import com.bloomberg.analyzer.deals.service.InvalidDealQueryException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withinPercentage;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class DealAnalyticsServiceTest {
+    private static final Instant NOW = Instant.parse("2026-01-05T12:00:00Z");
+
+    private final DealQueryRepository repository = mock(DealQueryRepository.class);
+    private final DealAnalyticsProperties properties = new DealAnalyticsProperties();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final List<StoredDeal> stored = new ArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void pairs_ranksLoadedDealsByCountOrAmount() {
+        stored.add(stored("D-1", "EUR", "USD", NOW.minusSeconds(60), "10"));
+        stored.add(stored("D-2", "EUR", "USD", NOW.minusSeconds(50), "20"));
+        stored.add(stored("D-3", "GBP", "JPY", NOW.minusSeconds(40), "100.125"));
+        DealAnalyticsService service = loadedService();
+
+        DealAnalyticsPairs byCount = service.pairs(null, null, DealPairOrder.COUNT, 10);
+        DealAnalyticsPairs byAmount = service.pairs(null, null, DealPairOrder.AMOUNT, 1);
+
+        assertThat(byCount.complete()).isTrue();
+        assertThat(byCount.from()).isEqualTo(NOW.minus(properties.getWindow()));
+        DealPairStats eurUsd = byCount.pairs().get(0);
+        assertThat(eurUsd.fromCurrency()).isEqualTo("EUR");
+        assertThat(eurUsd.toCurrency()).isEqualTo("USD");
+        assertThat(eurUsd.dealCount()).isEqualTo(2);
+        assertThat(eurUsd.totalAmount()).isEqualByComparingTo("30");
+        assertThat(eurUsd.averageAmount()).isEqualByComparingTo("15");
+        assertThat(eurUsd.minAmount()).isEqualByComparingTo("10");
+        assertThat(eurUsd.maxAmount()).isEqualByComparingTo("20");
+        assertThat(byAmount.pairs()).singleElement()
+                .satisfies(pair -> assertThat(pair.totalAmount()).isEqualByComparingTo("100.125"));
+    }
+
+    @Test
+    void amounts_scansManyChunksInParallelWithExactTotalsAndClosePercentiles() {
+        // Spread over several hourly buckets, several chunks each, so the scan forks.
+        for (int i = 1; i <= 100_000; i++) {
+            stored.add(stored("D-" + i, i % 2 == 0 ? "EUR" : "GBP", "USD",
+                    NOW.minusSeconds(4 * 3600).plusMillis(i * 100L), String.valueOf(i)));
+        }
+        DealAnalyticsService service = loadedService();
+
+        DealAmountStats all = service.amounts(null, null, null, null, List.of(50.0, 99.9, 100.0));
+        DealAmountStats eurUsd = service.amounts(null, null, "eur", "usd", List.of(50.0));
+
+        assertThat(all.dealCount()).isEqualTo(100_000);
+        assertThat(all.totalAmount()).isEqualByComparingTo("5000050000");
+        assertThat(all.averageAmount()).isEqualByComparingTo("50000.5");
+        assertThat(all.minAmount()).isEqualByComparingTo("1");
+        assertThat(all.maxAmount()).isEqualByComparingTo("100000");
+        assertThat(all.percentiles()).containsOnlyKeys("50", "99.9", "100");
+        assertThat(all.percentiles().get("50")).isCloseTo(new BigDecimal("50000"), withinPercentage(0.2));
+        assertThat(all.percentiles().get("99.9")).isCloseTo(new BigDecimal("99900"), withinPercentage(0.2));
+        assertThat(all.percentiles().get("100")).isEqualByComparingTo("100000");
+        assertThat(eurUsd.fromCurrency()).isEqualTo("EUR");
+        assertThat(eurUsd.dealCount()).isEqualTo(50_000);
+        assertThat(eurUsd.percentiles().get("50")).isCloseTo(new BigDecimal("50000"), withinPercentage(0.2));
+    }
+
+    @Test
+    void amounts_smallAmountsHaveExactPercentiles() {
+        properties.setAmountScale(0);
+        for (int i = 1; i <= 100; i++) {
+            stored.add(stored("D-" + i, "EUR", "USD", NOW.minusSeconds(i), String.valueOf(i)));
+        }
+        DealAnalyticsService service = loadedService();
+
+        DealAmountStats stats = service.amounts(null, null, null, null, List.of(1.0, 50.0, 99.5));
+        DealAmountStats plain = service.amounts(null, null, null, null, null);
+
+        assertThat(stats.percentiles().get("1")).isEqualByComparingTo("1");
+        assertThat(stats.percentiles().get("50")).isEqualByComparingTo("50");
+        assertThat(stats.percentiles().get("99.5")).isEqualByComparingTo("100");
+        assertThat(plain.percentiles()).isEmpty();
+    }
+
+    @Test
+    void series_slidingWindowCoversPrecedingSteps() {
+        Instant from = Instant.parse("2026-01-05T10:00:00Z");
+        stored.add(stored("D-1", "EUR", "USD", from.minusSeconds(30 * 60), "1"));
+        stored.add(stored("D-2", "EUR", "USD", from.plusSeconds(10 * 60), "2"));
+        stored.add(stored("D-3", "EUR", "USD", from.plusSeconds(70 * 60), "4"));
+        DealAnalyticsService service = loadedService();
+
+        DealAmountSeries series = service.series(from, from.plusSeconds(2 * 3600), Duration.ofHours(1),
+                Duration.ofHours(2), null, null);
+
+        assertThat(series.complete()).isTrue();
+        assertThat(series.points()).extracting(DealAmountPoint::start)
+                .containsExactly(from.minusSeconds(3600), from);
+        assertThat(series.points()).extracting(DealAmountPoint::dealCount).containsExactly(2L, 2L);
+        assertThat(series.points().get(0).totalAmount()).isEqualByComparingTo("3");
+        assertThat(series.points().get(1).averageAmount()).isEqualByComparingTo("3");
+    }
+
+    @Test
+    void onImported_duringLoad_countsEachDealOnce() {
+        DealAnalyticsService service = service();
+        doAnswer(inv -> {
+            // Committed after the load started, so it may or may not be in the load's snapshot; here it is.
+            service.onImported(List.of(entity("D-2", NOW.minusSeconds(10), "5")));
+            Consumer<StoredDeal> consumer = inv.getArgument(2);
+            consumer.accept(stored("D-1", "EUR", "USD", NOW.minusSeconds(20), "1"));
+            consumer.accept(stored("D-2", "EUR", "USD", NOW.minusSeconds(10), "5"));
+            return null;
+        }).when(repository).stream(any(), anyInt(), any());
+
+        service.load();
+
+        DealAmountStats stats = service.amounts(null, null, null, null, List.of());
+        assertThat(stats.dealCount()).isEqualTo(2);
+        assertThat(stats.totalAmount()).isEqualByComparingTo("6");
+    }
+
+    @Test
+    void load_afterFailure_startsOverAndKeepsDealsImportedMeanwhile() {
+        DealAnalyticsService service = service();
+        doAnswer(inv -> {
+            Consumer<StoredDeal> consumer = inv.getArgument(2);
+            consumer.accept(stored("D-1", "EUR", "USD", NOW.minusSeconds(20), "1"));
+            service.onImported(List.of(entity("D-2", NOW.minusSeconds(10), "5")));
+            throw new DataAccessResourceFailureException("connection reset");
+        }).doAnswer(inv -> {
+            Consumer<StoredDeal> consumer = inv.getArgument(2);
+            consumer.accept(stored("D-1", "EUR", "USD", NOW.minusSeconds(20), "1"));
+            consumer.accept(stored("D-2", "EUR", "USD", NOW.minusSeconds(10), "5"));
+            return null;
+        }).when(repository).stream(any(), anyInt(), any());
+
+        assertThat(service.load()).isFalse();
+
+        DealAmountStats partial = service.amounts(null, null, null, null, List.of());
+        assertThat(partial.dealCount()).isZero();
+        assertThat(partial.complete()).isFalse();
+        assertThat(registry.get("deal.analytics.load.failures").counter().count()).isEqualTo(1);
+
+        assertThat(service.load()).isTrue();
+
+        DealAmountStats stats = service.amounts(null, null, null, null, List.of());
+        assertThat(stats.complete()).isTrue();
+        assertThat(stats.dealCount()).isEqualTo(2);
+        assertThat(stats.totalAmount()).isEqualByComparingTo("6");
+    }
+
+    @Test
+    void onImported_addsDealsOnlyOnceTheChunkCommits() {
+        DealAnalyticsService service = loadedService();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.onImported(List.of(entity("D-1", NOW.minusSeconds(10), "5")));
+            assertThat(service.amounts(null, null, null, null, List.of()).dealCount()).isZero();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(service.amounts(null, null, null, null, List.of()).dealCount()).isEqualTo(1);
+    }
+
+    @Test
+    void dealsOutsideWindow_areDroppedAndEarlierRangesIncomplete() {
+        properties.setWindow(Duration.ofHours(1));
+        stored.add(stored("D-1", "EUR", "USD", NOW.minusSeconds(600), "1"));
+        DealAnalyticsService service = loadedService();
+
+        service.onImported(List.of(entity("D-2", NOW.minusSeconds(7200), "5")));
+
+        assertThat(service.amounts(null, null, null, null, List.of()).dealCount()).isEqualTo(1);
+        assertThat(service.amounts(NOW.minusSeconds(7200), null, null, null, List.of()).complete()).isFalse();
+        assertThat(dropped("evicted")).isEqualTo(1);
+    }
+
+    @Test
+    void memoryCap_evictsOldestBucketsFirst() {
+        // Room for the first chunk of two buckets.
+        properties.setMaxMemory(DataSize.ofBytes(2 * 64 * 20));
+        stored.add(stored("D-1", "EUR", "USD", NOW.minusSeconds(3 * 3600), "1"));
+        stored.add(stored("D-2", "EUR", "USD", NOW.minusSeconds(2 * 3600), "2"));
+        stored.add(stored("D-3", "EUR", "USD", NOW.minusSeconds(3600), "4"));
+        DealAnalyticsService service = loadedService();
+
+        DealAmountStats stats = service.amounts(null, null, null, null, List.of());
+
+        assertThat(stats.dealCount()).isEqualTo(2);
+        assertThat(stats.totalAmount()).isEqualByComparingTo("6");
+        assertThat(stats.complete()).isFalse();
+        assertThat(service.amounts(NOW.minusSeconds(2 * 3600), null, null, null, List.of()).complete()).isTrue();
+        assertThat(registry.get("deal.analytics.rows").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void queries_rejectInvalidParameters() {
+        DealAnalyticsService service = loadedService();
+
+        assertThatThrownBy(() -> service.amounts(null, null, "EUR", null, List.of()))
+                .isInstanceOf(InvalidDealQueryException.class);
+        assertThatThrownBy(() -> service.amounts(null, null, "EURO", "USD", List.of()))
+                .isInstanceOf(InvalidDealQueryException.class);
+        assertThatThrownBy(() -> service.amounts(null, null, null, null, List.of(0.0)))
+                .isInstanceOf(InvalidDealQueryException.class);
+        assertThatThrownBy(() -> service.pairs(NOW, NOW, DealPairOrder.COUNT, 10))
+                .isInstanceOf(InvalidDealQueryException.class);
+        assertThatThrownBy(() -> service.series(NOW, NOW.plusSeconds(3600), Duration.ofMinutes(10),
+                Duration.ofMinutes(15), null, null)).isInstanceOf(InvalidDealQueryException.class);
+        assertThatThrownBy(() -> service.series(NOW, NOW.plusSeconds(86_400), Duration.ofMillis(1), null,
+                null, null)).isInstanceOf(InvalidDealQueryException.class);
+    }
+
+    @Test
+    void disabled_rejectsQueriesAndIgnoresImports() {
+        properties.setEnabled(false);
+        DealAnalyticsService service = new DealAnalyticsService(repository, properties, pool,
+                Clock.fixed(NOW, ZoneOffset.UTC), registry);
+
+        service.onImported(List.of(entity("D-1", NOW, "1")));
+        service.load();
+
+        assertThatThrownBy(() -> service.pairs(null, null, DealPairOrder.COUNT, 10))
+                .isInstanceOf(DealAnalyticsDisabledException.class);
+        assertThat(registry.find("deal.analytics.rows").gauge()).isNull();
+    }
+
+    private DealAnalyticsService loadedService() {
+        doAnswer(inv -> {
+            Consumer<StoredDeal> consumer = inv.getArgument(2);
+            stored.forEach(consumer);
+            return null;
+        }).when(repository).stream(any(), anyInt(), any());
+        DealAnalyticsService service = service();
+        service.load();
+        return service;
+    }
+
+    private DealAnalyticsService service() {
+        properties.setEnabled(true);
+        return new DealAnalyticsService(repository, properties, pool, Clock.fixed(NOW, ZoneOffset.UTC), registry);
+    }
+
+    private double dropped(String reason) {
+        return registry.get("deal.analytics.dropped").tag("reason", reason).counter().count();
+    }
+
+    private static StoredDeal stored(String dealId, String from, String to, Instant ts, String amount) {
+        return new StoredDeal(dealId.hashCode(), dealId, from, to, ts, new BigDecimal(amount));
+    }
+
+    private static DealEntity entity(String dealId, Instant ts, String amount) {
+        return new DealEntity(dealId, "EUR", "USD", ts, new BigDecimal(amount));
+    }
+}
@@ -0,0 +1,55 @@
+package com.bloomberg.analyzer.deals;
+
+import com.bloomberg.analyzer.deals.api.DealBatchBinaryCodec;
+import com.bloomberg.analyzer.deals.api.dto.DealImportRequest;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DealBatchBinaryCodecTest {
+
+    @Test
+    void roundTrip_keepsValuesScalesAndMissingFields() throws Exception {
+        List<DealImportRequest> deals = List.of(
+                new DealImportRequest("D-1", "USD", "EUR", Instant.parse("2026-01-05T10:15:30.123456789Z"),
+                        new BigDecimal("1000.50")),
+                new DealImportRequest("Ä-2", "JPY", "GBP", Instant.parse("1969-12-31T23:59:59.5Z"),
+                        new BigDecimal("-12E+3")),
+                new DealImportRequest(null, "usd", null, null, null));
+
+        assertThat(DealBatchBinaryCodec.read(new ByteArrayInputStream(encode(deals)))).isEqualTo(deals);
+    }
+
+    @Test
+    void read_truncatedOrForeignInput_fails() throws Exception {
+        byte[] batch = encode(List.of(new DealImportRequest("D-1", "USD", "EUR", Instant.EPOCH, BigDecimal.ONE)));
+
+        assertThatThrownBy(() -> DealBatchBinaryCodec.read(new ByteArrayInputStream(Arrays.copyOf(batch, batch.length - 1))))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> DealBatchBinaryCodec.read(new ByteArrayInputStream("[{}]".getBytes())))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void write_amountBeyondScaledLong_isRefused() {
+        DealImportRequest deal = new DealImportRequest("D-1", "USD", "EUR", Instant.EPOCH,
+                new BigDecimal("123456789012345678901234567890"));
+
+        assertThatThrownBy(() -> encode(List.of(deal))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static byte[] encode(List<DealImportRequest> deals) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DealBatchBinaryCodec.write(deals, out);
+        return out.toByteArray();
+    }
+}
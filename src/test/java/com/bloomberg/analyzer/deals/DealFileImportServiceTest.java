@@ -0,0 +1,235 @@
+package com.bloomberg.analyzer.deals;
+
+import com.bloomberg.analyzer.deals.api.dto.DealFileImportStatus;
+import com.bloomberg.analyzer.deals.api.dto.DealImportJobStatus;
+import com.bloomberg.analyzer.deals.api.dto.DealImportRequest;
+import com.bloomberg.analyzer.deals.api.dto.DealRowResult;
+import com.bloomberg.analyzer.deals.config.DealImportProperties;
+import com.bloomberg.analyzer.deals.persistence.DealFileImportRepository;
+import com.bloomberg.analyzer.deals.persistence.DealFileImportRow;
+import com.bloomberg.analyzer.deals.service.DealFileImportConflictException;
+import com.bloomberg.analyzer.deals.service.DealFileImportService;
+import com.bloomberg.analyzer.deals.service.DealImportMetrics;
+import com.bloomberg.analyzer.deals.service.DealImportService;
+import com.bloomberg.analyzer.deals.service.DealImportSummary;
+import com.bloomberg.analyzer.deals.service.DealRowParseException;
+import com.bloomberg.analyzer.deals.service.InvalidDealFileImportException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DealFileImportServiceTest {
+    private static final String HEADER = "dealId,fromCurrency,toCurrency,timestamp,amount\n";
+
+    @TempDir
+    Path dropDirectory;
+
+    private final InMemoryRepository repository = new InMemoryRepository();
+    private final DealImportService importService = mock(DealImportService.class);
+    private final List<Integer> firstIndexes = new ArrayList<>();
+    private final List<String> importedIds = new ArrayList<>();
+    private DealFileImportService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        DealImportProperties properties = new DealImportProperties();
+        properties.setBatchSize(2);
+        properties.getFiles().setDropDirectory(dropDirectory);
+
+        ExecutorService executor = mock(ExecutorService.class);
+        doAnswer(inv -> {
+            inv.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any());
+
+        // Stands in for the windowed import: every parsed row is imported unless its id says otherwise.
+        when(importService.importDeals(any(Iterator.class), anyInt(), any(Consumer.class))).thenAnswer(inv -> {
+            Iterator<DealImportRequest> rows = inv.getArgument(0);
+            int index = inv.getArgument(1);
+            Consumer<DealRowResult> sink = inv.getArgument(2);
+            firstIndexes.add(index);
+            while (rows.hasNext()) {
+                DealRowResult result;
+                try {
+                    DealImportRequest row = rows.next();
+                    importedIds.add(row.dealId());
+                    DealRowResult.Status status = row.dealId().startsWith("FAIL")
+                            ? DealRowResult.Status.PERSISTENCE_FAILED : DealRowResult.Status.IMPORTED;
+                    result = new DealRowResult(index, row.dealId(), status, List.of());
+                } catch (DealRowParseException e) {
+                    result = new DealRowResult(index, null, DealRowResult.Status.VALIDATION_FAILED,
+                            List.of(e.getMessage()));
+                }
+                sink.accept(result);
+                index++;
+            }
+            return new DealImportSummary(0, 0, 0, 0, 0);
+        });
+
+        service = new DealFileImportService(importService, repository, mock(DealImportMetrics.class),
+                JsonMapper.builder().build(), properties, executor);
+    }
+
+    @Test
+    void submit_csv_checkpointsAfterEveryWindowAndCompletesAtFileSize() throws Exception {
+        String file = HEADER + row("D-1") + row("D-2") + "D-3,USD,EUR,2026-01-05T10:15:30Z,abc\n" + row("D-4")
+                + row("D-5");
+        write("feed.csv", file);
+
+        DealFileImportStatus status = service.submit("feed.csv", null, false);
+
+        assertThat(status.state()).isEqualTo(DealImportJobStatus.State.COMPLETED);
+        assertThat(status.rowsProcessed()).isEqualTo(5);
+        assertThat(status.imported()).isEqualTo(4);
+        assertThat(status.failedValidation()).isEqualTo(1);
+        assertThat(status.byteOffset()).isEqualTo(file.length());
+        assertThat(repository.checkpoints).containsExactly(
+                offsetAfter(file, 2), offsetAfter(file, 4), (long) file.length());
+        assertThat(importedIds).containsExactly("D-1", "D-2", "D-4", "D-5");
+    }
+
+    @Test
+    void resumeInterrupted_continuesFromLastCheckpoint() throws Exception {
+        String file = HEADER + row("D-1") + row("D-2") + row("D-3") + row("D-4");
+        Path path = write("feed.csv", file);
+        repository.row = new DealFileImportRow(7, "feed.csv", "CSV", Files.size(path), modifiedAt(path),
+                "RUNNING", offsetAfter(file, 2), 2, 2, 0, 0, 0, null, Instant.now());
+
+        service.resumeInterrupted();
+
+        assertThat(firstIndexes).containsExactly(2);
+        assertThat(importedIds).containsExactly("D-3", "D-4");
+        assertThat(repository.row.state()).isEqualTo("COMPLETED");
+        assertThat(repository.row.rowsProcessed()).isEqualTo(4);
+        assertThat(repository.row.imported()).isEqualTo(4);
+        assertThat(repository.row.byteOffset()).isEqualTo(file.length());
+    }
+
+    @Test
+    void submit_whenWholeWindowFailsToPersist_stopsAtLastCheckpoint() throws Exception {
+        String file = "{\"dealId\":\"D-1\"}\n{\"dealId\":\"D-2\"}\n{\"dealId\":\"FAIL-3\"}\n{\"dealId\":\"FAIL-4\"}\n"
+                + "{\"dealId\":\"D-5\"}\n";
+        write("feed.ndjson", file);
+
+        DealFileImportStatus status = service.submit("feed.ndjson", null, false);
+
+        assertThat(status.state()).isEqualTo(DealImportJobStatus.State.FAILED);
+        assertThat(status.byteOffset()).isEqualTo(offsetAfter(file, 2));
+        assertThat(status.rowsProcessed()).isEqualTo(2);
+        assertThat(status.error()).contains("failed to persist");
+    }
+
+    @Test
+    void submit_pathOutsideDropDirectory_isRejected() {
+        assertThatThrownBy(() -> service.submit("../etc/passwd.csv", null, false))
+                .isInstanceOf(InvalidDealFileImportException.class);
+    }
+
+    @Test
+    void submit_fileChangedSinceCheckpoint_isConflictUnlessRestarted() throws Exception {
+        String file = HEADER + row("D-1");
+        Path path = write("feed.csv", file);
+        repository.row = new DealFileImportRow(7, "feed.csv", "CSV", Files.size(path) + 1, modifiedAt(path),
+                "FAILED", 0, 0, 0, 0, 0, 0, "boom", Instant.now());
+
+        assertThatThrownBy(() -> service.submit("feed.csv", null, false))
+                .isInstanceOf(DealFileImportConflictException.class);
+
+        DealFileImportStatus status = service.submit("feed.csv", null, true);
+        assertThat(status.state()).isEqualTo(DealImportJobStatus.State.COMPLETED);
+        assertThat(status.imported()).isEqualTo(1);
+    }
+
+    private Path write(String name, String content) throws Exception {
+        return Files.writeString(dropDirectory.resolve(name), content, StandardCharsets.UTF_8);
+    }
+
+    private static String row(String dealId) {
+        return dealId + ",USD,EUR,2026-01-05T10:15:30Z,1000.50\n";
+    }
+
+    private static long offsetAfter(String file, int rows) {
+        int offset = file.startsWith(HEADER) ? HEADER.length() : 0;
+        for (int i = 0; i < rows; i++) {
+            offset = file.indexOf('\n', offset) + 1;
+        }
+        return offset;
+    }
+
+    private static Instant modifiedAt(Path path) throws Exception {
+        return Files.getLastModifiedTime(path).toInstant().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    /**
+     * Keeps a single import row, enough for one file per test.
+     */
+    private static final class InMemoryRepository extends DealFileImportRepository {
+        private DealFileImportRow row;
+        private final List<Long> checkpoints = new ArrayList<>();
+
+        InMemoryRepository() {
+            super(null);
+        }
+
+        @Override
+        public Optional<DealFileImportRow> findById(long id) {
+            return Optional.ofNullable(row).filter(r -> r.id() == id);
+        }
+
+        @Override
+        public Optional<DealFileImportRow> findByPath(String path) {
+            return Optional.ofNullable(row).filter(r -> r.path().equals(path));
+        }
+
+        @Override
+        public List<DealFileImportRow> findByState(String state) {
+            return Optional.ofNullable(row).filter(r -> r.state().equals(state)).stream().toList();
+        }
+
+        @Override
+        public long start(String path, String format, long fileSize, Instant fileModifiedAt, String state) {
+            long id = row == null ? 1 : row.id();
+            row = new DealFileImportRow(id, path, format, fileSize, fileModifiedAt, state, 0, 0, 0, 0, 0, 0, null,
+                    Instant.now());
+            return id;
+        }
+
+        @Override
+        public void updateState(long id, String state, String error) {
+            row = new DealFileImportRow(id, row.path(), row.format(), row.fileSize(), row.fileModifiedAt(), state,
+                    row.byteOffset(), row.rowsProcessed(), row.imported(), row.duplicates(), row.failedValidation(),
+                    row.failedPersistence(), error, Instant.now());
+        }
+
+        @Override
+        public void checkpoint(long id, long byteOffset, long rowsProcessed, long imported, long duplicates,
+                               long failedValidation, long failedPersistence) {
+            checkpoints.add(byteOffset);
+            row = new DealFileImportRow(id, row.path(), row.format(), row.fileSize(), row.fileModifiedAt(),
+                    row.state(), byteOffset, rowsProcessed, imported, duplicates, failedValidation,
+                    failedPersistence, row.error(), Instant.now());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.bloomberg.analyzer.deals;
+
+import com.bloomberg.analyzer.deals.config.DealImportProperties;
+import com.bloomberg.analyzer.deals.service.DealImportAdmission;
+import com.bloomberg.analyzer.deals.service.DealImportLengthRequiredException;
+import com.bloomberg.analyzer.deals.service.DealImportThrottledException;
+import com.bloomberg.analyzer.deals.service.DealImportTooLargeException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DealImportAdmissionTest {
+
+    private final DealImportProperties properties = new DealImportProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void acquire_refusesWith429WhenSlotsAndQueueAreFull() {
+        properties.getAdmission().setMaxConcurrent(1);
+        properties.getAdmission().setMaxQueued(0);
+        properties.getAdmission().setRetryAfter(Duration.ofSeconds(3));
+        DealImportAdmission admission = admission();
+
+        DealImportAdmission.Permit first = admission.acquire();
+
+        assertThatThrownBy(admission::acquire)
+                .isInstanceOfSatisfying(DealImportThrottledException.class, e -> {
+                    assertThat(e.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+                    assertThat(e.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+                });
+        assertThat(rejected("queue_full")).isEqualTo(1);
+
+        first.close();
+        admission.acquire().close();
+    }
+
+    @Test
+    void acquire_refusesWith429AfterQueueTimeout() {
+        properties.getAdmission().setMaxConcurrent(1);
+        properties.getAdmission().setMaxQueued(1);
+        properties.getAdmission().setQueueTimeout(Duration.ofMillis(20));
+        DealImportAdmission admission = admission();
+
+        try (DealImportAdmission.Permit ignored = admission.acquire()) {
+            assertThatThrownBy(admission::acquire).isInstanceOf(DealImportThrottledException.class);
+        }
+        assertThat(rejected("queue_timeout")).isEqualTo(1);
+    }
+
+    @Test
+    void reserveRows_refusesWith503WhileBudgetIsHeldAndReleasesOnClose() {
+        properties.getAdmission().setMaxRowsInFlight(100);
+        DealImportAdmission admission = admission();
+
+        DealImportAdmission.Permit first = admission.acquire();
+        first.reserveRows(80);
+
+        try (DealImportAdmission.Permit second = admission.acquire()) {
+            assertThatThrownBy(() -> second.reserveRows(30))
+                    .isInstanceOfSatisfying(DealImportThrottledException.class,
+                            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+
+            first.close();
+            first.close();
+            second.reserveRows(100);
+        }
+        assertThat(meterRegistry.get("deal.import.admission.rows").gauge().value()).isZero();
+    }
+
+    @Test
+    void reserveRows_refusesWith413WhenImportCanNeverFit() {
+        properties.getAdmission().setMaxRowsInFlight(100);
+        DealImportAdmission admission = admission();
+
+        try (DealImportAdmission.Permit permit = admission.acquire()) {
+            assertThatThrownBy(() -> permit.reserveRows(101)).isInstanceOf(DealImportTooLargeException.class);
+        }
+    }
+
+    @Test
+    void checkRequestSize_refusesDeclaredBodiesOverLimit() {
+        properties.getAdmission().setMaxRequestSize(DataSize.ofKilobytes(1));
+        DealImportAdmission admission = admission();
+
+        admission.checkRequestSize(1024);
+        assertThatThrownBy(() -> admission.checkRequestSize(1025)).isInstanceOf(DealImportTooLargeException.class);
+    }
+
+    @Test
+    void checkRequestSize_refusesBodiesOfUnknownSizeWith411() {
+        DealImportAdmission admission = admission();
+
+        assertThatThrownBy(() -> admission.checkRequestSize(-1))
+                .isInstanceOfSatisfying(DealImportLengthRequiredException.class,
+                        e -> assertThat(e.getStatusCode().value()).isEqualTo(411));
+        assertThat(rejected("size")).isEqualTo(1);
+    }
+
+    private DealImportAdmission admission() {
+        return new DealImportAdmission(properties, meterRegistry);
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get("deal.import.admission.rejected").tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,87 @@
+package com.bloomberg.analyzer.deals;
+
+import com.bloomberg.analyzer.deals.api.dto.DealImportJobStatus;
+import com.bloomberg.analyzer.deals.api.dto.DealImportRequest;
+import com.bloomberg.analyzer.deals.api.dto.DealRowResult;
+import com.bloomberg.analyzer.deals.config.DealImportProperties;
+import com.bloomberg.analyzer.deals.service.DealImportJobNotFoundException;
+import com.bloomberg.analyzer.deals.service.DealImportJobRejectedException;
+import com.bloomberg.analyzer.deals.service.DealImportJobService;
+import com.bloomberg.analyzer.deals.service.DealImportMode;
+import com.bloomberg.analyzer.deals.service.DealImportService;
+import com.bloomberg.analyzer.deals.service.DealImportSummary;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DealImportJobServiceTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void submit_runsImportInBackgroundAndExposesCountersAndPages() throws Exception {
+        DealImportService importService = mock(DealImportService.class);
+        when(importService.importDeals(any(Iterator.class), any(Consumer.class))).thenAnswer(inv -> {
+            Consumer<DealRowResult> sink = inv.getArgument(1);
+            sink.accept(new DealRowResult(0, "D-1", DealRowResult.Status.IMPORTED, List.of()));
+            sink.accept(new DealRowResult(1, null, DealRowResult.Status.VALIDATION_FAILED, List.of("row is null")));
+            sink.accept(new DealRowResult(2, "D-1", DealRowResult.Status.DUPLICATE, List.of("duplicate dealId")));
+            return new DealImportSummary(3, 1, 1, 1, 0);
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        DealImportJobService service = new DealImportJobService(importService, new DealImportProperties(), executor);
+
+        DealImportJobStatus submitted = service.submit(List.of(deal("D-1"), deal("D-2"), deal("D-1")), DealImportMode.BATCHED);
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        DealImportJobStatus status = service.status(submitted.jobId(), 1, 10);
+        assertThat(status.state()).isEqualTo(DealImportJobStatus.State.COMPLETED);
+        assertThat(status.total()).isEqualTo(3);
+        assertThat(status.processed()).isEqualTo(3);
+        assertThat(status.imported()).isEqualTo(1);
+        assertThat(status.duplicates()).isEqualTo(1);
+        assertThat(status.failedValidation()).isEqualTo(1);
+        assertThat(status.rows()).containsExactly(
+                new DealRowResult(1, null, DealRowResult.Status.VALIDATION_FAILED, List.of("row is null")),
+                new DealRowResult(2, "D-1", DealRowResult.Status.DUPLICATE, List.of("duplicate dealId")));
+    }
+
+    @Test
+    void submit_whenExecutorIsSaturated_isRejected() {
+        ExecutorService executor = mock(ExecutorService.class);
+        doThrow(new RejectedExecutionException()).when(executor).execute(any());
+        DealImportJobService service = new DealImportJobService(mock(DealImportService.class), new DealImportProperties(), executor);
+
+        assertThatThrownBy(() -> service.submit(List.of(deal("D-1")), DealImportMode.BATCHED))
+                .isInstanceOf(DealImportJobRejectedException.class);
+    }
+
+    @Test
+    void status_unknownJob_isNotFound() {
+        DealImportJobService service = new DealImportJobService(
+                mock(DealImportService.class), new DealImportProperties(), mock(ExecutorService.class));
+
+        assertThatThrownBy(() -> service.status(UUID.randomUUID(), 0, 10))
+                .isInstanceOf(DealImportJobNotFoundException.class);
+    }
+
+    private static DealImportRequest deal(String dealId) {
+        return new DealImportRequest(dealId, "USD", "EUR", Instant.parse("2026-01-05T10:15:30Z"), new BigDecimal("1.00"));
+    }
+}
@@ -0,0 +1,72 @@
+package com.bloomberg.analyzer.deals;
+
+import com.bloomberg.analyzer.common.error.GlobalExceptionHandler;
+import com.bloomberg.analyzer.deals.api.DealImportJobsController;
+import com.bloomberg.analyzer.deals.api.dto.DealImportJobStatus;
+import com.bloomberg.analyzer.deals.service.DealImportAdmission;
+import com.bloomberg.analyzer.deals.service.DealImportMetrics;
+import com.bloomberg.analyzer.deals.service.DealImportJobNotFoundException;
+import com.bloomberg.analyzer.deals.service.DealImportJobService;
+import com.bloomberg.analyzer.deals.service.DealImportMode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = DealImportJobsController.class)
+@Import(GlobalExceptionHandler.class)
+class DealImportJobsControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockitoBean
+    DealImportJobService dealImportJobService;
+
+    @MockitoBean
+    DealImportMetrics dealImportMetrics;
+
+    @MockitoBean
+    DealImportAdmission dealImportAdmission;
+
+    @Test
+    void submit_returns202WithLocation() throws Exception {
+        UUID jobId = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        when(dealImportJobService.submit(anyList(), eq(DealImportMode.BATCHED))).thenReturn(new DealImportJobStatus(
+                jobId, DealImportJobStatus.State.QUEUED, Instant.parse("2026-01-05T10:15:30Z"), null, null,
+                1, 0, 0, 0, 0, 0, 0, List.of()));
+
+        mockMvc.perform(post("/api/v1/deals/import/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/api/v1/deals/import/jobs/" + jobId))
+                .andExpect(jsonPath("$.state").value("QUEUED"));
+    }
+
+    @Test
+    void status_unknownJob_returns404ProblemDetail() throws Exception {
+        UUID jobId = UUID.randomUUID();
+        when(dealImportJobService.status(jobId, 0, 100)).thenThrow(new DealImportJobNotFoundException(jobId));
+
+        mockMvc.perform(get("/api/v1/deals/import/jobs/{jobId}", jobId))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.title").value("Not Found"));
+    }
+}
@@ -0,0 +1,207 @@
+package com.bloomberg.analyzer.deals;
+
+import com.bloomberg.analyzer.deals.api.dto.DealImportRequest;
+import com.bloomberg.analyzer.deals.api.dto.DealRowResult;
+import com.bloomberg.analyzer.deals.api.dto.DealsImportResponse;
+import com.bloomberg.analyzer.deals.config.DealImportProperties;
+import com.bloomberg.analyzer.deals.persistence.DealImportReplayRepository;
+import com.bloomberg.analyzer.deals.persistence.DealImportReplayRow;
+import com.bloomberg.analyzer.deals.service.DealImportMode;
+import com.bloomberg.analyzer.deals.service.DealImportReplayCache;
+import com.bloomberg.analyzer.deals.service.DealImportReplayMismatchException;
+import com.bloomberg.analyzer.deals.service.DealImportResponseMode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DealImportReplayCacheTest {
+    private static final DealsImportResponse RESPONSE = new DealsImportResponse(1, 1, 0, 0, 0,
+            List.of(new DealRowResult(0, "D-1", DealRowResult.Status.IMPORTED, List.of())));
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final DealImportReplayRepository repository = mock(DealImportReplayRepository.class);
+    private final DealImportProperties properties = new DealImportProperties();
+    private final AtomicInteger imports = new AtomicInteger();
+
+    @Test
+    void execute_sameKey_replaysFirstResponseWithoutImportingAgain() {
+        DealImportReplayCache cache = cache();
+
+        DealImportReplayCache.Outcome first = execute(cache, "batch-1", List.of(deal("D-1")));
+        DealImportReplayCache.Outcome retry = execute(cache, "batch-1", List.of(deal("D-1")));
+
+        assertThat(first.replayed()).isFalse();
+        assertThat(retry.replayed()).isTrue();
+        assertThat(retry.response()).isEqualTo(RESPONSE);
+        assertThat(imports).hasValue(1);
+    }
+
+    @Test
+    void execute_sameKeyDifferentRows_isRejected() {
+        DealImportReplayCache cache = cache();
+        execute(cache, "batch-1", List.of(deal("D-1")));
+
+        assertThatThrownBy(() -> execute(cache, "batch-1", List.of(deal("D-2"))))
+                .isInstanceOf(DealImportReplayMismatchException.class);
+        assertThat(imports).hasValue(1);
+    }
+
+    @Test
+    void execute_withoutKey_replaysIdenticalContentOnly() {
+        DealImportReplayCache cache = cache();
+
+        execute(cache, null, List.of(deal("D-1")));
+        assertThat(execute(cache, null, List.of(deal("D-1"))).replayed()).isTrue();
+        assertThat(execute(cache, null, List.of(deal("D-2"))).replayed()).isFalse();
+        assertThat(imports).hasValue(2);
+
+        properties.getReplay().setContentHashFallback(false);
+        DealImportReplayCache withoutFallback = cache();
+        execute(withoutFallback, null, List.of(deal("D-1")));
+        assertThat(execute(withoutFallback, null, List.of(deal("D-1"))).replayed()).isFalse();
+        assertThat(imports).hasValue(4);
+    }
+
+    @Test
+    void execute_concurrentDuplicate_waitsForInFlightImport() throws Exception {
+        DealImportReplayCache cache = cache();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<DealsImportResponse> slowImport = () -> {
+            imports.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return RESPONSE;
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<DealImportReplayCache.Outcome> first = executor.submit(() -> cache.execute("batch-1",
+                    List.of(deal("D-1")), DealImportMode.BATCHED, DealImportResponseMode.FULL, slowImport));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<DealImportReplayCache.Outcome> second = executor.submit(() -> cache.execute("batch-1",
+                    List.of(deal("D-1")), DealImportMode.BATCHED, DealImportResponseMode.FULL, slowImport));
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS).replayed()).isFalse();
+            assertThat(second.get(5, TimeUnit.SECONDS).replayed()).isTrue();
+            assertThat(imports).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_failedImport_isNotReplayed() {
+        DealImportReplayCache cache = cache();
+
+        assertThatThrownBy(() -> cache.execute("batch-1", List.of(deal("D-1")), DealImportMode.BATCHED,
+                DealImportResponseMode.FULL, () -> {
+                    throw new IllegalStateException("database down");
+                })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(execute(cache, "batch-1", List.of(deal("D-1"))).replayed()).isFalse();
+        assertThat(imports).hasValue(1);
+    }
+
+    @Test
+    void execute_persistenceFailure_isNotReplayed() {
+        properties.getReplay().setPersistent(true);
+        when(repository.find(anyString(), any())).thenReturn(Optional.empty());
+        DealImportReplayCache cache = cache();
+        DealsImportResponse failed = new DealsImportResponse(1, 0, 0, 0, 1,
+                List.of(new DealRowResult(0, "D-1", DealRowResult.Status.PERSISTENCE_FAILED, List.of("database down"))));
+
+        DealImportReplayCache.Outcome first = cache.execute(null, List.of(deal("D-1")), DealImportMode.BATCHED,
+                DealImportResponseMode.FULL, () -> {
+                    imports.incrementAndGet();
+                    return failed;
+                });
+        DealImportReplayCache.Outcome retry = execute(cache, null, List.of(deal("D-1")));
+
+        assertThat(first.response()).isEqualTo(failed);
+        assertThat(retry.replayed()).isFalse();
+        assertThat(retry.response()).isEqualTo(RESPONSE);
+        assertThat(imports).hasValue(2);
+        verify(repository, times(1)).insert(any(DealImportReplayRow.class), any(Instant.class));
+    }
+
+    @Test
+    void execute_beyondMaxEntries_evictsLeastRecentlyUsed() {
+        properties.getReplay().setMaxEntries(1);
+        DealImportReplayCache cache = cache();
+
+        execute(cache, "batch-1", List.of(deal("D-1")));
+        execute(cache, "batch-2", List.of(deal("D-2")));
+
+        assertThat(execute(cache, "batch-1", List.of(deal("D-1"))).replayed()).isFalse();
+        assertThat(imports).hasValue(3);
+    }
+
+    @Test
+    void execute_persistent_replaysStoredResponseAndStoresNewOnes() {
+        properties.getReplay().setPersistent(true);
+        DealImportReplayCache cache = cache();
+        DealImportReplayCache other = cache();
+
+        when(repository.find(anyString(), any())).thenReturn(Optional.empty());
+        execute(cache, "batch-1", List.of(deal("D-1")));
+        verify(repository).insert(any(DealImportReplayRow.class), any(Instant.class));
+
+        String fingerprint = storedFingerprint();
+        when(repository.find(anyString(), any())).thenReturn(Optional.of(new DealImportReplayRow("key:batch-1",
+                fingerprint, jsonMapper.writeValueAsString(RESPONSE), Instant.now())));
+        DealImportReplayCache.Outcome replayed = execute(other, "batch-1", List.of(deal("D-1")));
+
+        assertThat(replayed.replayed()).isTrue();
+        assertThat(replayed.response()).isEqualTo(RESPONSE);
+        assertThat(imports).hasValue(1);
+    }
+
+    private String storedFingerprint() {
+        ArgumentCaptor<DealImportReplayRow> row = ArgumentCaptor.forClass(DealImportReplayRow.class);
+        verify(repository).insert(row.capture(), any(Instant.class));
+        return row.getValue().fingerprint();
+    }
+
+    private DealImportReplayCache cache() {
+        return new DealImportReplayCache(repository, jsonMapper, properties, new SimpleMeterRegistry());
+    }
+
+    private DealImportReplayCache.Outcome execute(DealImportReplayCache cache, String key, List<DealImportRequest> deals) {
+        return cache.execute(key, deals, DealImportMode.BATCHED, DealImportResponseMode.FULL, () -> {
+            imports.incrementAndGet();
+            return RESPONSE;
+        });
+    }
+
+    private static DealImportRequest deal(String dealId) {
+        return new DealImportRequest(dealId, "USD", "EUR", Instant.parse("2026-01-05T10:15:30Z"), new BigDecimal("1.00"));
+    }
+}
@@ -3,29 +3,72 @@ package com.bloomberg.analyzer.deals;
 import com.bloomberg.analyzer.deals.api.dto.DealImportRequest;
 import com.bloomberg.analyzer.deals.api.dto.DealRowResult;
 import com.bloomberg.analyzer.deals.api.dto.DealsImportResponse;
+import com.bloomberg.analyzer.deals.config.DealImportProperties;
+import com.bloomberg.analyzer.deals.persistence.DealBatchWriter;
+import com.bloomberg.analyzer.deals.persistence.DealCopyLoader;
+import com.bloomberg.analyzer.deals.persistence.DealEntity;
+import com.bloomberg.analyzer.deals.persistence.DealIdScanner;
+import com.bloomberg.analyzer.deals.persistence.DealPartitionManager;
 import com.bloomberg.analyzer.deals.persistence.DealRepository;
+import com.bloomberg.analyzer.deals.service.BeanValidationDealRowValidator;
+import com.bloomberg.analyzer.deals.service.DealImportMetrics;
+import com.bloomberg.analyzer.deals.service.DealImportMode;
+import com.bloomberg.analyzer.deals.service.DealImportResponseMode;
 import com.bloomberg.analyzer.deals.service.DealImportService;
+import com.bloomberg.analyzer.deals.service.DealImportSummary;
+import com.bloomberg.analyzer.deals.service.DealRejectRecorder;
+import com.bloomberg.analyzer.deals.service.DealRowParseException;
+import com.bloomberg.analyzer.deals.service.DealRowValidator;
+import com.bloomberg.analyzer.deals.service.ImportedDealsListener;
+import com.bloomberg.analyzer.deals.service.KnownDealIdFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.validation.Validation;
-import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.BitSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 class DealImportServiceTest {
 
-    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private final DealRowValidator validator =
+            new BeanValidationDealRowValidator(Validation.buildDefaultValidatorFactory().getValidator());
+    private final ExecutorService parallelExecutor = Executors.newFixedThreadPool(2);
+    private final DealRepository repository = mock(DealRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    private final DealPartitionManager partitionManager = mock(DealPartitionManager.class);
+    private final ImportedDealsListener listener = mock(ImportedDealsListener.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DealImportMetrics metrics = new DealImportMetrics(meterRegistry);
+    private final DealRejectRecorder rejectRecorder = mock(DealRejectRecorder.class);
+
+    @AfterEach
+    void shutdownExecutor() {
+        parallelExecutor.shutdownNow();
+    }
 
     @Test
     void importDeals_nullList_returnsEmptyResponse() {
-        DealRepository repo = mock(DealRepository.class);
-        DealImportService service = new DealImportService(repo, validator);
+        DealBatchWriter writer = mock(DealBatchWriter.class);
+        DealImportService service = service(writer, mock(DealCopyLoader.class), new DealImportProperties());
 
         DealsImportResponse resp = service.importDeals(null);
 
@@ -35,13 +78,13 @@ class DealImportServiceTest {
         assertThat(resp.failedValidation()).isZero();
         assertThat(resp.failedPersistence()).isZero();
         assertThat(resp.rows()).isEmpty();
-        verifyNoInteractions(repo);
+        verifyNoInteractions(writer);
     }
 
     @Test
     void importDeals_nullRow_isValidationFailed() {
-        DealRepository repo = mock(DealRepository.class);
-        DealImportService service = new DealImportService(repo, validator);
+        DealBatchWriter writer = mock(DealBatchWriter.class);
+        DealImportService service = service(writer, mock(DealCopyLoader.class), new DealImportProperties());
 
         DealsImportResponse resp = service.importDeals(java.util.Arrays.asList((DealImportRequest) null));
 
@@ -50,13 +93,13 @@ class DealImportServiceTest {
         assertThat(resp.rows()).hasSize(1);
         assertThat(resp.rows().get(0).status()).isEqualTo(DealRowResult.Status.VALIDATION_FAILED);
         assertThat(resp.rows().get(0).errors()).contains("row is null");
-        verifyNoInteractions(repo);
+        verifyNoInteractions(writer);
     }
 
     @Test
     void importDeals_missingFields_isValidationFailed() {
-        DealRepository repo = mock(DealRepository.class);
-        DealImportService service = new DealImportService(repo, validator);
+        DealBatchWriter writer = mock(DealBatchWriter.class);
+        DealImportService service = service(writer, mock(DealCopyLoader.class), new DealImportProperties());
 
         DealImportRequest req = new DealImportRequest(
                 "D-30001",
@@ -74,13 +117,13 @@ class DealImportServiceTest {
         assertThat(resp.rows().get(0).errors())
                 .anyMatch(e -> e.startsWith("timestamp:"))
                 .anyMatch(e -> e.startsWith("amount:"));
-        verifyNoInteractions(repo);
+        verifyNoInteractions(writer);
     }
 
     @Test
     void importDeals_unknownCurrency_isValidationFailed() {
-        DealRepository repo = mock(DealRepository.class);
-        DealImportService service = new DealImportService(repo, validator);
+        DealBatchWriter writer = mock(DealBatchWriter.class);
+        DealImportService service = service(writer, mock(DealCopyLoader.class), new DealImportProperties());
 
         DealImportRequest req = new DealImportRequest(
                 "D-30002",
@@ -94,13 +137,13 @@ class DealImportServiceTest {
 
         assertThat(resp.failedValidation()).isEqualTo(1);
         assertThat(resp.rows().get(0).errors()).contains("fromCurrency: unknown ISO currency");
-        verifyNoInteractions(repo);
+        verifyNoInteractions(writer);
     }
 
     @Test
-    void importDeals_uniqueConstraintViolation_isDuplicate() {
-        DealRepository repo = mock(DealRepository.class);
-        DealImportService service = new DealImportService(repo, validator);
+    void importDeals_existingDealId_isDuplicate() {
+        DealBatchWriter writer = mock(DealBatchWriter.class);
+        DealImportService service = service(writer, mock(DealCopyLoader.class), new DealImportProperties());
 
         DealImportRequest req = new DealImportRequest(
                 "D-40001",
@@ -110,7 +153,7 @@ class DealImportServiceTest {
                 new BigDecimal("1.00")
         );
 
-        when(repo.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("violates constraint uk_deals_deal_id"));
+        when(writer.insertIgnoringDuplicates(anyList())).thenReturn(Set.of());
 
         DealsImportResponse resp = service.importDeals(List.of(req));
 
@@ -118,13 +161,13 @@ class DealImportServiceTest {
         assertThat(resp.imported()).isZero();
         assertThat(resp.duplicates()).isEqualTo(1);
         assertThat(resp.rows().get(0).status()).isEqualTo(DealRowResult.Status.DUPLICATE);
-        verify(repo, times(1)).saveAndFlush(any());
+        verify(writer, times(1)).insertIgnoringDuplicates(anyList());
     }
 
     @Test
     void importDeals_otherDataIntegrityViolation_isPersistenceFailed() {
-        DealRepository repo = mock(DealRepository.class);
-        DealImportService service = new DealImportService(repo, validator);
+        DealBatchWriter writer = mock(DealBatchWriter.class);
+        DealImportService service = service(writer, mock(DealCopyLoader.class), new DealImportProperties());
 
         DealImportRequest req = new DealImportRequest(
                 "D-40002",
@@ -134,20 +177,20 @@ class DealImportServiceTest {
                 new BigDecimal("1.00")
         );
 
-        when(repo.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("some other constraint"));
+        when(writer.insertIgnoringDuplicates(anyList())).thenThrow(new DataIntegrityViolationException("some other constraint"));
 
         DealsImportResponse resp = service.importDeals(List.of(req));
 
         assertThat(resp.total()).isEqualTo(1);
         assertThat(resp.failedPersistence()).isEqualTo(1);
         assertThat(resp.rows().get(0).status()).isEqualTo(DealRowResult.Status.PERSISTENCE_FAILED);
-        verify(repo, times(1)).saveAndFlush(any());
+        verify(writer, times(1)).insertIgnoringDuplicates(anyList());
     }
 
     @Test
     void importDeals_runtimeException_isPersistenceFailed() {
-        DealRepository repo = mock(DealRepository.class);
-        DealImportService service = new DealImportService(repo, validator);
+        DealBatchWriter writer = mock(DealBatchWriter.class);
+        DealImportService service = service(writer, mock(DealCopyLoader.class), new DealImportProperties());
 
         DealImportRequest req = new DealImportRequest(
                 "D-40003",
@@ -157,15 +200,343 @@ class DealImportServiceTest {
                 new BigDecimal("1.00")
         );
 
-        when(repo.saveAndFlush(any())).thenThrow(new RuntimeException("boom"));
+        when(writer.insertIgnoringDuplicates(anyList())).thenThrow(new RuntimeException("boom"));
 
         DealsImportResponse resp = service.importDeals(List.of(req));
 
         assertThat(resp.total()).isEqualTo(1);
         assertThat(resp.failedPersistence()).isEqualTo(1);
         assertThat(resp.rows().get(0).status()).isEqualTo(DealRowResult.Status.PERSISTENCE_FAILED);
-        verify(repo, times(1)).saveAndFlush(any());
+        verify(writer, times(1)).insertIgnoringDuplicates(anyList());
+    }
+
+    @Test
+    void importDeals_writesValidRowsInChunksOfBatchSize() {
+        DealBatchWriter writer = mock(DealBatchWriter.class);
+        DealImportProperties properties = new DealImportProperties();
+        properties.setBatchSize(2);
+        DealImportService service = service(writer, mock(DealCopyLoader.class), properties);
+
+        when(writer.insertIgnoringDuplicates(anyList())).thenAnswer(inv -> insertedIds(inv.getArgument(0)));
+
+        DealsImportResponse resp = service.importDeals(List.of(
+                validDeal("D-50001"), validDeal("D-50002"), validDeal("D-50003"), validDeal("D-50004"), validDeal("D-50005")));
+
+        assertThat(resp.imported()).isEqualTo(5);
+        assertThat(resp.rows()).extracting(DealRowResult::index).containsExactly(0, 1, 2, 3, 4);
+        verify(writer, times(3)).insertIgnoringDuplicates(anyList());
+    }
+
+    @Test
+    void importDeals_recordsStageTimersAndRowCountersPerWindow() {
+        DealBatchWriter writer = mock(DealBatchWriter.class);
+        DealImportProperties properties = new DealImportProperties();
+        properties.setBatchSize(2);
+        DealImportService service = service(writer, mock(DealCopyLoader.class), properties);
+
+        when(writer.insertIgnoringDuplicates(anyList())).thenReturn(Set.of("D-51001"));
+
+        DealImportRequest invalid = new DealImportRequest("D-51003", "USD", "EUR", null, new BigDecimal("1.00"));
+        service.importDeals(List.of(validDeal("D-51001"), validDeal("D-51002"), invalid));
+
+        assertThat(meterRegistry.get("deal.import.validate").tag("scope", "batch").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("deal.import.persist").tag("scope", "batch").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("deal.import.batch.size").summary().totalAmount()).isEqualTo(2);
+        assertThat(meterRegistry.get("deal.import.rows").tag("status", "IMPORTED").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("deal.import.rows").tag("status", "DUPLICATE").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("deal.import.rows").tag("status", "VALIDATION_FAILED").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void importDeals_repeatedDealIdInBatch_firstOccurrenceWins() {
+        DealBatchWriter writer = mock(DealBatchWriter.class);
+        DealImportService service = service(writer, mock(DealCopyLoader.class), new DealImportProperties());
+
+        when(writer.insertIgnoringDuplicates(anyList())).thenAnswer(inv -> insertedIds(inv.getArgument(0)));
+
+        DealsImportResponse resp = service.importDeals(List.of(validDeal("D-60001"), validDeal("D-60001")));
+
+        assertThat(resp.imported()).isEqualTo(1);
+        assertThat(resp.duplicates()).isEqualTo(1);
+        assertThat(resp.rows().get(0).status()).isEqualTo(DealRowResult.Status.IMPORTED);
+        assertThat(resp.rows().get(1).status()).isEqualTo(DealRowResult.Status.DUPLICATE);
+    }
+
+    @Test
+    void importDeals_repeatedDealIdInBatch_isRetriedWhenFirstOccurrenceFailsToPersist() {
+        DealBatchWriter writer = mock(DealBatchWriter.class);
+        DealImportService service = service(writer, mock(DealCopyLoader.class), new DealImportProperties());
+        int[] attempts = new int[1];
+        // The chunk and then the first occurrence alone fail; the repeat written afterwards succeeds.
+        when(writer.insertIgnoringDuplicates(anyList())).thenAnswer(inv -> {
+            List<DealEntity> deals = inv.getArgument(0);
+            if (deals.stream().anyMatch(d -> d.getDealId().equals("D-60101")) && attempts[0]++ < 2) {
+                throw new DataIntegrityViolationException("deadlock detected");
+            }
+            return insertedIds(deals);
+        });
+
+        DealsImportResponse resp = service.importDeals(List.of(
+                validDeal("D-60101"), validDeal("D-60102"), validDeal("D-60101"), validDeal("D-60101")));
+
+        assertThat(resp.rows()).extracting(DealRowResult::status).containsExactly(
+                DealRowResult.Status.PERSISTENCE_FAILED, DealRowResult.Status.IMPORTED,
+                DealRowResult.Status.IMPORTED, DealRowResult.Status.DUPLICATE);
+    }
+
+    @Test
+    void importDeals_failingChunk_isSplitToIsolatePoisonRow() {
+        DealBatchWriter writer = mock(DealBatchWriter.class);
+        DealImportService service = service(writer, mock(DealCopyLoader.class), new DealImportProperties());
+
+        when(writer.insertIgnoringDuplicates(anyList())).thenAnswer(inv -> {
+            List<DealEntity> deals = inv.getArgument(0);
+            if (deals.stream().anyMatch(d -> d.getDealId().equals("D-70003"))) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            return insertedIds(deals);
+        });
+
+        DealsImportResponse resp = service.importDeals(List.of(
+                validDeal("D-70001"), validDeal("D-70002"), validDeal("D-70003"), validDeal("D-70004")));
+
+        assertThat(resp.imported()).isEqualTo(3);
+        assertThat(resp.failedPersistence()).isEqualTo(1);
+        assertThat(resp.rows().get(2).status()).isEqualTo(DealRowResult.Status.PERSISTENCE_FAILED);
+        assertThat(resp.rows().get(2).errors()).containsExactly("persistence error");
+        verify(rejectRecorder).record(
+                eq(new DealRowResult(2, "D-70003", DealRowResult.Status.PERSISTENCE_FAILED,
+                        List.of("persistence error", "value too long"))),
+                eq(validDeal("D-70003")), isNull());
+    }
+
+    @Test
+    void importDeals_stream_emitsResultsInIndexOrderAndReportsUnreadableRows() {
+        DealBatchWriter writer = mock(DealBatchWriter.class);
+        DealImportProperties properties = new DealImportProperties();
+        properties.setBatchSize(2);
+        DealImportService service = service(writer, mock(DealCopyLoader.class), properties);
+
+        when(writer.insertIgnoringDuplicates(anyList())).thenAnswer(inv -> insertedIds(inv.getArgument(0)));
+
+        Iterator<DealImportRequest> source = new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < 3;
+            }
+
+            @Override
+            public DealImportRequest next() {
+                if (next++ == 1) {
+                    throw new DealRowParseException("malformed JSON", "{\"dealId\": ");
+                }
+                return validDeal("D-8000" + next);
+            }
+        };
+        List<DealRowResult> emitted = new java.util.ArrayList<>();
+
+        DealImportSummary summary = service.importDeals(source, emitted::add);
+
+        assertThat(summary).isEqualTo(new DealImportSummary(3, 2, 0, 1, 0));
+        assertThat(emitted).extracting(DealRowResult::index).containsExactly(0, 1, 2);
+        assertThat(emitted.get(1).errors()).containsExactly("malformed JSON");
+        verify(rejectRecorder).record(eq(emitted.get(1)), isNull(), eq("{\"dealId\": "));
+        verifyNoMoreInteractions(rejectRecorder);
+    }
+
+    @Test
+    void bulkImportDeals_mapsLoadedPositionsBackToRowIndexes() {
+        DealCopyLoader loader = mock(DealCopyLoader.class);
+        DealImportService service = service(mock(DealBatchWriter.class), loader, new DealImportProperties());
+
+        BitSet inserted = new BitSet();
+        inserted.set(1);
+        when(loader.load(anyList())).thenReturn(inserted);
+
+        DealImportRequest invalid = new DealImportRequest("D-90000", "USD", "EUR", null, new BigDecimal("1.00"));
+        DealsImportResponse resp = service.importDeals(List.of(validDeal("D-90001"), invalid, validDeal("D-90002")),
+                DealImportMode.COPY, DealImportResponseMode.FULL);
+
+        assertThat(resp.total()).isEqualTo(3);
+        assertThat(resp.rows()).extracting(DealRowResult::status).containsExactly(
+                DealRowResult.Status.DUPLICATE, DealRowResult.Status.VALIDATION_FAILED, DealRowResult.Status.IMPORTED);
+    }
+
+    @Test
+    void bulkImportDeals_failedLoad_marksEveryValidRowPersistenceFailed() {
+        DealCopyLoader loader = mock(DealCopyLoader.class);
+        DealImportService service = service(mock(DealBatchWriter.class), loader, new DealImportProperties());
+
+        when(loader.load(anyList())).thenThrow(new DataIntegrityViolationException("value too long"));
+
+        DealsImportResponse resp = service.importDeals(List.of(validDeal("D-91001"), validDeal("D-91002")),
+                DealImportMode.COPY, DealImportResponseMode.FULL);
+
+        assertThat(resp.failedPersistence()).isEqualTo(2);
+        assertThat(resp.imported()).isZero();
+    }
+
+    @Test
+    void parallelImportDeals_mergesPartitionResultsInIndexOrder() {
+        DealBatchWriter writer = mock(DealBatchWriter.class);
+        DealImportProperties properties = new DealImportProperties();
+        properties.setBatchSize(2);
+        properties.getParallel().setWorkers(2);
+        DealImportService service = service(writer, mock(DealCopyLoader.class), properties);
+
+        Set<String> stored = java.util.concurrent.ConcurrentHashMap.newKeySet();
+        when(writer.insertIgnoringDuplicates(anyList())).thenAnswer(inv -> {
+            Set<String> inserted = insertedIds(inv.getArgument(0));
+            inserted.removeIf(id -> !stored.add(id));
+            return inserted;
+        });
+
+        List<DealImportRequest> requests = new java.util.ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            requests.add(validDeal("D-9500" + (i % 10)));
+        }
+        requests.add(null);
+
+        DealsImportResponse resp = service.importDeals(requests, DealImportMode.PARALLEL, DealImportResponseMode.FULL);
+
+        assertThat(resp.total()).isEqualTo(21);
+        assertThat(resp.imported()).isEqualTo(10);
+        assertThat(resp.duplicates()).isEqualTo(10);
+        assertThat(resp.failedValidation()).isEqualTo(1);
+        assertThat(resp.rows()).extracting(DealRowResult::index)
+                .containsExactlyElementsOf(java.util.stream.IntStream.range(0, 21).boxed().toList());
+        assertThat(resp.rows().subList(0, 10)).allMatch(r -> r.status() == DealRowResult.Status.IMPORTED);
+        assertThat(resp.rows().subList(10, 20)).allMatch(r -> r.status() == DealRowResult.Status.DUPLICATE);
     }
-}
 
+    @Test
+    void importDeals_knownDealId_isConfirmedWithOneQueryAndNotInserted() {
+        DealBatchWriter writer = mock(DealBatchWriter.class);
+        DealImportProperties properties = new DealImportProperties();
+        properties.getDedupe().setExpectedIds(1_000);
+        KnownDealIdFilter filter = new KnownDealIdFilter(mock(DealIdScanner.class), properties);
+        filter.add("D-96001");
+        DealImportService service = new DealImportService(
+                writer, mock(DealCopyLoader.class), partitionManager, transactionTemplate, List.of(listener), repository,
+                filter, validator, metrics, rejectRecorder, properties, parallelExecutor);
+
+        when(repository.findExistingDealIds(anyCollection())).thenReturn(Set.of("D-96001"));
+        when(writer.insertIgnoringDuplicates(anyList())).thenAnswer(inv -> insertedIds(inv.getArgument(0)));
+
+        DealsImportResponse resp = service.importDeals(List.of(validDeal("D-96001"), validDeal("D-96002")));
+
+        assertThat(resp.rows()).extracting(DealRowResult::status)
+                .containsExactly(DealRowResult.Status.DUPLICATE, DealRowResult.Status.IMPORTED);
+        verify(repository).findExistingDealIds(List.of("D-96001"));
+        verify(writer).insertIgnoringDuplicates(argThat(deals -> deals.size() == 1 && deals.get(0).getDealId().equals("D-96002")));
+        assertThat(filter.mightContain("D-96002")).isTrue();
+    }
+
+    @Test
+    void importDeals_partitionsAreCreatedBeforeTheInsertTransaction() {
+        DealBatchWriter writer = mock(DealBatchWriter.class);
+        DealCopyLoader loader = mock(DealCopyLoader.class);
+        DealImportService service = service(writer, loader, new DealImportProperties());
+
+        when(writer.insertIgnoringDuplicates(anyList())).thenAnswer(inv -> insertedIds(inv.getArgument(0)));
+        when(loader.load(anyList())).thenReturn(new BitSet());
+
+        service.importDeals(List.of(validDeal("D-97051")), DealImportMode.BATCHED, DealImportResponseMode.SUMMARY);
+        service.importDeals(List.of(validDeal("D-97052")), DealImportMode.COPY, DealImportResponseMode.SUMMARY);
+
+        InOrder order = inOrder(partitionManager, transactionManager, writer, loader);
+        order.verify(partitionManager).ensurePartitionsFor(argThat(deals -> deals.get(0).getDealId().equals("D-97051")));
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(writer).insertIgnoringDuplicates(anyList());
+        order.verify(partitionManager).ensurePartitionsFor(argThat(deals -> deals.get(0).getDealId().equals("D-97052")));
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(loader).load(anyList());
+    }
+
+    @Test
+    void importDeals_listenersSeeOnlyInsertedDeals() {
+        DealBatchWriter writer = mock(DealBatchWriter.class);
+        DealImportService service = service(writer, mock(DealCopyLoader.class), new DealImportProperties());
+
+        when(writer.insertIgnoringDuplicates(anyList())).thenReturn(Set.of("D-97002"));
+
+        service.importDeals(List.of(validDeal("D-97001"), validDeal("D-97002")));
+
+        verify(listener).onImported(argThat(deals -> deals.size() == 1 && deals.get(0).getDealId().equals("D-97002")));
+    }
+
+    @Test
+    void importDeals_failingListener_rollsBackChunkAsPersistenceFailed() {
+        DealBatchWriter writer = mock(DealBatchWriter.class);
+        DealImportService service = service(writer, mock(DealCopyLoader.class), new DealImportProperties());
+
+        when(writer.insertIgnoringDuplicates(anyList())).thenAnswer(inv -> insertedIds(inv.getArgument(0)));
+        doThrow(new DataIntegrityViolationException("rollup overflow")).when(listener).onImported(anyList());
+
+        DealsImportResponse resp = service.importDeals(List.of(validDeal("D-97101")));
+
+        assertThat(resp.failedPersistence()).isEqualTo(1);
+        assertThat(resp.imported()).isZero();
+    }
+
+    @Test
+    void bulkImportDeals_listenersSeeLoadedDeals() {
+        DealCopyLoader loader = mock(DealCopyLoader.class);
+        DealImportService service = service(mock(DealBatchWriter.class), loader, new DealImportProperties());
+
+        BitSet inserted = new BitSet();
+        inserted.set(1);
+        when(loader.load(anyList())).thenReturn(inserted);
+
+        service.importDeals(List.of(validDeal("D-97201"), validDeal("D-97202")), DealImportMode.COPY, DealImportResponseMode.SUMMARY);
 
+        verify(listener).onImported(argThat(deals -> deals.size() == 1 && deals.get(0).getDealId().equals("D-97202")));
+    }
+
+    @Test
+    void importDeals_failuresResponse_keepsOnlyRowsThatWereNotImported() {
+        DealBatchWriter writer = mock(DealBatchWriter.class);
+        DealImportService service = service(writer, mock(DealCopyLoader.class), new DealImportProperties());
+
+        when(writer.insertIgnoringDuplicates(anyList())).thenAnswer(inv -> insertedIds(inv.getArgument(0)));
+
+        DealsImportResponse resp = service.importDeals(
+                java.util.Arrays.asList(validDeal("D-97001"), null, validDeal("D-97002")),
+                DealImportMode.PARALLEL, DealImportResponseMode.FAILURES);
+
+        assertThat(resp.total()).isEqualTo(3);
+        assertThat(resp.imported()).isEqualTo(2);
+        assertThat(resp.rows()).extracting(DealRowResult::index).containsExactly(1);
+    }
+
+    @Test
+    void importDeals_summaryResponse_hasCountersOnly() {
+        DealBatchWriter writer = mock(DealBatchWriter.class);
+        DealImportService service = service(writer, mock(DealCopyLoader.class), new DealImportProperties());
+
+        when(writer.insertIgnoringDuplicates(anyList())).thenAnswer(inv -> insertedIds(inv.getArgument(0)));
+
+        DealsImportResponse resp = service.importDeals(
+                List.of(validDeal("D-98001"), validDeal("D-98001")), DealImportMode.BATCHED, DealImportResponseMode.SUMMARY);
+
+        assertThat(resp.imported()).isEqualTo(1);
+        assertThat(resp.duplicates()).isEqualTo(1);
+        assertThat(resp.rows()).isEmpty();
+    }
+
+    private DealImportService service(DealBatchWriter writer, DealCopyLoader loader, DealImportProperties properties) {
+        KnownDealIdFilter filter = new KnownDealIdFilter(mock(DealIdScanner.class), properties);
+        return new DealImportService(writer, loader, partitionManager, transactionTemplate, List.of(listener),
+                repository, filter, validator, metrics, rejectRecorder, properties, parallelExecutor);
+    }
+
+    private static DealImportRequest validDeal(String dealId) {
+        return new DealImportRequest(dealId, "USD", "EUR", Instant.parse("2026-01-05T10:15:30Z"), new BigDecimal("1.00"));
+    }
+
+    private static Set<String> insertedIds(List<DealEntity> deals) {
+        return deals.stream().map(DealEntity::getDealId).collect(java.util.stream.Collectors.toSet());
+    }
+}
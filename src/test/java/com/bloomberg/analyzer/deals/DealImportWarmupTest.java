@@ -0,0 +1,101 @@
+package com.bloomberg.analyzer.deals;
+
+import com.bloomberg.analyzer.deals.config.DealStartupProperties;
+import com.bloomberg.analyzer.deals.persistence.CurrencyDictionary;
+import com.bloomberg.analyzer.deals.persistence.DealBatchWriter;
+import com.bloomberg.analyzer.deals.persistence.DealEntity;
+import com.bloomberg.analyzer.deals.persistence.DealPartitionManager;
+import com.bloomberg.analyzer.deals.persistence.DealRepository;
+import com.bloomberg.analyzer.deals.service.DealImportWarmup;
+import com.bloomberg.analyzer.deals.service.ImportedDealsListener;
+import com.bloomberg.analyzer.deals.service.PrecompiledDealRowValidator;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class DealImportWarmupTest {
+    private final DealBatchWriter writer = mock(DealBatchWriter.class);
+    private final DealPartitionManager partitionManager = mock(DealPartitionManager.class);
+    private final DealRepository repository = mock(DealRepository.class);
+    private final CurrencyDictionary dictionary = mock(CurrencyDictionary.class);
+    private final ImportedDealsListener listener = mock(ImportedDealsListener.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final DealStartupProperties properties = new DealStartupProperties();
+
+    @Test
+    void run_insertsSyntheticDealsInRolledBackTransactions() {
+        properties.getWarmup().setEnabled(true);
+        properties.getWarmup().setIterations(3);
+        properties.getWarmup().setRows(50);
+        List<SimpleTransactionStatus> transactions = new ArrayList<>();
+        when(transactionManager.getTransaction(any())).thenAnswer(inv -> {
+            SimpleTransactionStatus status = new SimpleTransactionStatus();
+            transactions.add(status);
+            return status;
+        });
+
+        warmup().run(new DefaultApplicationArguments());
+
+        verify(writer, times(3)).insertIgnoringDuplicates(anyList());
+        verify(listener, times(3)).onImported(anyList());
+        // The transaction manager rolls back on commit when the status is rollback-only.
+        assertThat(transactions).hasSize(3).allMatch(SimpleTransactionStatus::isRollbackOnly);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void run_generatesValidDealsWithFreshIds() {
+        properties.getWarmup().setEnabled(true);
+        properties.getWarmup().setIterations(1);
+        properties.getWarmup().setRows(10);
+        when(transactionManager.getTransaction(any())).thenAnswer(inv -> new SimpleTransactionStatus());
+        List<DealEntity>[] inserted = new List[1];
+        when(writer.insertIgnoringDuplicates(anyList())).thenAnswer(inv -> {
+            inserted[0] = inv.getArgument(0);
+            return Set.of();
+        });
+
+        warmup().run(new DefaultApplicationArguments());
+
+        assertThat(inserted[0]).hasSize(10).allMatch(deal -> deal.getDealId().startsWith("warmup-"));
+    }
+
+    @Test
+    void run_disabled_doesNothing() {
+        warmup().run(new DefaultApplicationArguments());
+
+        verifyNoInteractions(writer, repository, listener, transactionManager);
+    }
+
+    @Test
+    void run_databaseFailure_isLoggedNotThrown() {
+        properties.getWarmup().setEnabled(true);
+        when(transactionManager.getTransaction(any())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        assertThatCode(() -> warmup().run(new DefaultApplicationArguments())).doesNotThrowAnyException();
+        verify(transactionManager, times(1)).getTransaction(any());
+    }
+
+    private DealImportWarmup warmup() {
+        return new DealImportWarmup(JsonMapper.builder().build(), new PrecompiledDealRowValidator(), writer,
+                partitionManager, repository, dictionary, List.of(listener), new TransactionTemplate(transactionManager), properties);
+    }
+}
@@ -0,0 +1,174 @@
+package com.bloomberg.analyzer.deals;
+
+import com.bloomberg.analyzer.deals.api.dto.DealLookupResponse;
+import com.bloomberg.analyzer.deals.api.dto.DealView;
+import com.bloomberg.analyzer.deals.config.DealLookupProperties;
+import com.bloomberg.analyzer.deals.persistence.DealEntity;
+import com.bloomberg.analyzer.deals.persistence.DealQueryRepository;
+import com.bloomberg.analyzer.deals.persistence.StoredDeal;
+import com.bloomberg.analyzer.deals.service.DealLookupService;
+import com.bloomberg.analyzer.deals.service.DealNotFoundException;
+import com.bloomberg.analyzer.deals.service.InvalidDealQueryException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class DealLookupServiceTest {
+    private static final Instant TS = Instant.parse("2026-01-05T10:15:30Z");
+
+    private final DealQueryRepository repository = mock(DealQueryRepository.class);
+    private final DealLookupProperties properties = new DealLookupProperties();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void find_loadsMissOnceAndServesRepeatsFromCache() {
+        when(repository.findByDealIds(List.of("D-1"))).thenReturn(List.of(stored("D-1")));
+        DealLookupService service = service();
+
+        DealView first = service.find("D-1");
+        DealView second = service.find("D-1");
+
+        assertThat(second).isEqualTo(first);
+        assertThat(first.amount()).isEqualByComparingTo("10.5");
+        verify(repository, times(1)).findByDealIds(any());
+        assertThat(requests("hit")).isEqualTo(1);
+        assertThat(requests("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void find_unknownId_throwsAndIsNotCached() {
+        when(repository.findByDealIds(List.of("D-9"))).thenReturn(List.of());
+        DealLookupService service = service();
+
+        assertThatThrownBy(() -> service.find("D-9")).isInstanceOf(DealNotFoundException.class);
+        assertThatThrownBy(() -> service.find("D-9")).isInstanceOf(DealNotFoundException.class);
+        verify(repository, times(2)).findByDealIds(List.of("D-9"));
+    }
+
+    @Test
+    void findAll_queriesOnlyUncachedIdsAndKeepsRequestOrder() {
+        when(repository.findByDealIds(List.of("D-1"))).thenReturn(List.of(stored("D-1")));
+        when(repository.findByDealIds(List.of("D-3", "D-2"))).thenReturn(List.of(stored("D-2")));
+        DealLookupService service = service();
+        service.find("D-1");
+
+        DealLookupResponse response = service.findAll(List.of("D-3", "D-1", "D-2", "D-1"));
+
+        assertThat(response.deals()).extracting(DealView::dealId).containsExactly("D-1", "D-2");
+        assertThat(response.missing()).containsExactly("D-3");
+    }
+
+    @Test
+    void findAll_rejectsEmptyAndOversizedRequests() {
+        properties.setMaxIds(2);
+        DealLookupService service = service();
+
+        assertThatThrownBy(() -> service.findAll(List.of())).isInstanceOf(InvalidDealQueryException.class);
+        assertThatThrownBy(() -> service.findAll(List.of("D-1", "D-2", "D-3")))
+                .isInstanceOf(InvalidDealQueryException.class);
+        assertThatThrownBy(() -> service.findAll(Collections.singletonList(null)))
+                .isInstanceOf(InvalidDealQueryException.class);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void onImported_cachesDealsOnlyAfterCommit() {
+        DealLookupService service = service();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.onImported(List.of(new DealEntity("D-1", "USD", "EUR", TS, new BigDecimal("10.5"))));
+            when(repository.findByDealIds(List.of("D-1"))).thenReturn(List.of());
+            assertThatThrownBy(() -> service.find("D-1")).isInstanceOf(DealNotFoundException.class);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(service.find("D-1").fromCurrency()).isEqualTo("USD");
+        verify(repository, times(1)).findByDealIds(any());
+    }
+
+    @Test
+    void onImported_cachesValuesAsTheDatabaseReturnsThem() {
+        Instant submitted = Instant.parse("2026-01-05T10:15:30.123456789Z");
+        // What PostgreSQL returns for that row: numeric(38, 10), and microseconds rounded half up.
+        when(repository.findByDealIds(List.of("D-1"))).thenReturn(List.of(new StoredDeal(1, "D-1", "USD", "EUR",
+                Instant.parse("2026-01-05T10:15:30.123457Z"), new BigDecimal("100.5000000001"))));
+        DealLookupService service = service();
+        service.onImported(List.of(new DealEntity("D-1", "USD", "EUR", submitted, new BigDecimal("100.50000000005"))));
+
+        DealView hit = service.find("D-1");
+        service.evictAll();
+        DealView read = service.find("D-1");
+
+        assertThat(requests("hit")).isEqualTo(1);
+        assertThat(hit).isEqualTo(read);
+    }
+
+    @Test
+    void cache_evictsLeastRecentlyUsedBeyondMaxEntries() {
+        properties.getCache().setMaxEntries(16);
+        DealLookupService service = service();
+        for (int i = 0; i < 1_000; i++) {
+            service.onImported(List.of(new DealEntity("D-" + i, "USD", "EUR", TS, BigDecimal.ONE)));
+        }
+
+        assertThat(registry.get("deal.lookup.cache.size").gauge().value()).isLessThanOrEqualTo(16);
+        assertThat(registry.get("deal.lookup.cache.evictions").functionCounter().count()).isGreaterThanOrEqualTo(984);
+    }
+
+    @Test
+    void evictAll_forgetsCachedDeals() {
+        when(repository.findByDealIds(List.of("D-1"))).thenReturn(List.of(stored("D-1")));
+        DealLookupService service = service();
+        service.find("D-1");
+
+        service.evictAll();
+        service.find("D-1");
+
+        verify(repository, times(2)).findByDealIds(List.of("D-1"));
+    }
+
+    @Test
+    void disabledCache_alwaysReadsTheDatabase() {
+        properties.getCache().setEnabled(false);
+        when(repository.findByDealIds(List.of("D-1"))).thenReturn(List.of(stored("D-1")));
+        DealLookupService service = service();
+        service.onImported(List.of(new DealEntity("D-1", "USD", "EUR", TS, BigDecimal.ONE)));
+
+        service.find("D-1");
+        service.find("D-1");
+
+        verify(repository, times(2)).findByDealIds(List.of("D-1"));
+        verify(repository, never()).findByDealIds(List.of());
+    }
+
+    private DealLookupService service() {
+        return new DealLookupService(repository, properties, registry);
+    }
+
+    private double requests(String result) {
+        return registry.get("deal.lookup.cache.requests").tag("result", result).counter().count();
+    }
+
+    private static StoredDeal stored(String dealId) {
+        return new StoredDeal(1, dealId, "USD", "EUR", TS, new BigDecimal("10.5"));
+    }
+}
@@ -0,0 +1,54 @@
+package com.bloomberg.analyzer.deals;
+
+import com.bloomberg.analyzer.deals.config.DealPartitioningProperties;
+import com.bloomberg.analyzer.deals.persistence.DealPartitionManager;
+import com.bloomberg.analyzer.deals.service.DealLookupService;
+import com.bloomberg.analyzer.deals.service.DealPartitionMaintenanceJob;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DealPartitionMaintenanceJobTest {
+
+    private final DealPartitionManager manager = mock(DealPartitionManager.class);
+    private final DealPartitioningProperties properties = new DealPartitioningProperties();
+    private final DealLookupService lookupService = mock(DealLookupService.class);
+    private final Clock clock = Clock.fixed(Instant.parse("2026-10-17T08:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    void maintain_premakesUpcomingPartitionsAndKeepsAllWithoutRetention() {
+        properties.setPremakeMonths(2);
+
+        new DealPartitionMaintenanceJob(manager, properties, clock, lookupService).maintain();
+
+        verify(manager).ensurePartition(YearMonth.of(2026, 10));
+        verify(manager).ensurePartition(YearMonth.of(2026, 11));
+        verify(manager).ensurePartition(YearMonth.of(2026, 12));
+        verify(manager, never()).listPartitions();
+        verify(lookupService, never()).evictAll();
+    }
+
+    @Test
+    void maintain_retiresPartitionsOlderThanRetention() {
+        properties.setPremakeMonths(0);
+        properties.setRetentionMonths(3);
+        properties.setRetentionAction(DealPartitioningProperties.RetentionAction.DROP);
+        when(manager.listPartitions()).thenReturn(List.of(
+                YearMonth.of(2026, 5), YearMonth.of(2026, 6), YearMonth.of(2026, 7), YearMonth.of(2026, 10)));
+
+        new DealPartitionMaintenanceJob(manager, properties, clock, lookupService).maintain();
+
+        verify(manager).drop(YearMonth.of(2026, 5));
+        verify(manager).drop(YearMonth.of(2026, 6));
+        verify(manager, never()).drop(YearMonth.of(2026, 7));
+        verify(manager, never()).detach(any());
+        verify(lookupService).evictAll();
+    }
+}
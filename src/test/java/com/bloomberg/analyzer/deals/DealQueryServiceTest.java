@@ -0,0 +1,76 @@
+package com.bloomberg.analyzer.deals;
+
+import com.bloomberg.analyzer.deals.api.dto.DealPage;
+import com.bloomberg.analyzer.deals.persistence.DealFilter;
+import com.bloomberg.analyzer.deals.persistence.DealQueryRepository;
+import com.bloomberg.analyzer.deals.persistence.StoredDeal;
+import com.bloomberg.analyzer.deals.service.DealQueryService;
+import com.bloomberg.analyzer.deals.service.InvalidDealQueryException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class DealQueryServiceTest {
+
+    private final DealQueryRepository repository = mock(DealQueryRepository.class);
+    private final DealQueryService service = new DealQueryService(repository);
+
+    @Test
+    void page_fetchesOneExtraRowAndChainsCursorFromLastRow() {
+        DealFilter filter = new DealFilter(null, null, "USD", null);
+        when(repository.findPage(filter, null, 0, 3)).thenReturn(List.of(deal(1, "10:00:00"), deal(2, "10:00:00"), deal(3, "10:00:01")));
+
+        DealPage first = service.page(null, null, "usd", null, null, 2);
+
+        assertThat(first.deals()).extracting(d -> d.dealId()).containsExactly("D-1", "D-2");
+        assertThat(first.nextCursor()).isNotNull();
+
+        when(repository.findPage(filter, Instant.parse("2026-01-05T10:00:00Z"), 2, 3)).thenReturn(List.of(deal(3, "10:00:01")));
+
+        DealPage second = service.page(null, null, "USD", null, first.nextCursor(), 2);
+
+        assertThat(second.deals()).extracting(d -> d.dealId()).containsExactly("D-3");
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    void page_rejectsMalformedCursorAndEmptyRange() {
+        assertThatThrownBy(() -> service.page(null, null, null, null, "not-a-cursor", 10))
+                .isInstanceOf(InvalidDealQueryException.class);
+
+        Instant at = Instant.parse("2026-01-05T00:00:00Z");
+        assertThatThrownBy(() -> service.page(at, at, null, null, null, 10))
+                .isInstanceOf(InvalidDealQueryException.class);
+        verify(repository, never()).findPage(any(), any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void export_streamsWithFixedFetchSize() {
+        doAnswer(inv -> {
+            inv.<java.util.function.Consumer<StoredDeal>>getArgument(2).accept(deal(7, "12:00:00"));
+            return null;
+        }).when(repository).stream(eq(new DealFilter(null, null, null, "EUR")), anyInt(), any());
+
+        List<String> exported = new java.util.ArrayList<>();
+        service.export(service.validate(null, null, null, "eur"), deal -> exported.add(deal.dealId()));
+
+        assertThat(exported).containsExactly("D-7");
+        verify(repository).stream(any(), eq(5_000), any());
+        verify(repository, never()).findPage(any(), isNull(), anyLong(), anyInt());
+    }
+
+    private static StoredDeal deal(long id, String time) {
+        return new StoredDeal(id, "D-" + id, "USD", "EUR", Instant.parse("2026-01-05T" + time + "Z"), new BigDecimal("1.00"));
+    }
+}
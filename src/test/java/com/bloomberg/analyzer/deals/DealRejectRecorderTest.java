@@ -0,0 +1,125 @@
+package com.bloomberg.analyzer.deals;
+
+import com.bloomberg.analyzer.deals.api.dto.DealImportRequest;
+import com.bloomberg.analyzer.deals.api.dto.DealRowResult;
+import com.bloomberg.analyzer.deals.config.DealImportProperties;
+import com.bloomberg.analyzer.deals.persistence.DealRejectRepository;
+import com.bloomberg.analyzer.deals.persistence.DealRejectRow;
+import com.bloomberg.analyzer.deals.service.DealImportMetrics;
+import com.bloomberg.analyzer.deals.service.DealRejectRecorder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.SmartLifecycle;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class DealRejectRecorderTest {
+
+    private final DealRejectRepository repository = mock(DealRejectRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DealImportProperties properties = new DealImportProperties();
+
+    @Test
+    void stop_writesBufferedRejectsWithPayloads() {
+        DealRejectRecorder recorder = recorder();
+        DealImportRequest request = new DealImportRequest(
+                "D-1", "USD", "EUR", Instant.parse("2026-01-05T10:15:30Z"), new BigDecimal("1.00"));
+
+        recorder.start();
+        recorder.record(new DealRowResult(0, "D-1", DealRowResult.Status.DUPLICATE, List.of("duplicate dealId")),
+                request, null);
+        recorder.record(new DealRowResult(1, null, DealRowResult.Status.VALIDATION_FAILED, List.of("malformed JSON")),
+                null, "{oops");
+        recorder.stop();
+
+        List<DealRejectRow> written = written();
+        assertThat(written).extracting(DealRejectRow::index).containsExactly(0, 1);
+        assertThat(written.get(0).status()).isEqualTo("DUPLICATE");
+        assertThat(written.get(0).payload()).contains("\"dealId\":\"D-1\"");
+        assertThat(written.get(1).payload()).isEqualTo("{oops");
+        assertThat(meterRegistry.get("deal.import.rejects").tag("outcome", "written").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void record_skipsDuplicatesWhenExcluded() {
+        properties.getRejects().setIncludeDuplicates(false);
+        DealRejectRecorder recorder = recorder();
+
+        recorder.start();
+        recorder.record(new DealRowResult(0, "D-1", DealRowResult.Status.DUPLICATE, List.of("duplicate dealId")),
+                null, null);
+        recorder.record(new DealRowResult(1, "D-2", DealRowResult.Status.PERSISTENCE_FAILED, List.of("persistence error")),
+                null, null);
+        recorder.stop();
+
+        assertThat(written()).extracting(DealRejectRow::dealId).containsExactly("D-2");
+    }
+
+    @Test
+    void record_dropsRowsWhenBufferIsFull() throws Exception {
+        properties.getRejects().setCapacity(1);
+        DealRejectRecorder recorder = recorder();
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(inv -> {
+            writing.countDown();
+            release.await();
+            return null;
+        }).when(repository).insert(anyList());
+
+        recorder.start();
+        recorder.record(new DealRowResult(0, "D-0", DealRowResult.Status.VALIDATION_FAILED, List.of("x")), null, null);
+        writing.await();
+        // The writer is busy with the first row, so only the second fits into the buffer.
+        for (int i = 1; i < 4; i++) {
+            recorder.record(new DealRowResult(i, "D-" + i, DealRowResult.Status.VALIDATION_FAILED, List.of("x")),
+                    null, null);
+        }
+        release.countDown();
+        recorder.stop();
+
+        assertThat(meterRegistry.get("deal.import.rejects").tag("outcome", "dropped").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void record_afterStop_isDroppedAndCounted() {
+        DealRejectRecorder recorder = recorder();
+
+        recorder.start();
+        recorder.stop();
+        recorder.record(new DealRowResult(0, "D-1", DealRowResult.Status.VALIDATION_FAILED, List.of("x")), null, null);
+
+        assertThat(meterRegistry.get("deal.import.rejects").tag("outcome", "dropped").counter().count()).isEqualTo(1);
+        verify(repository, never()).insert(anyList());
+    }
+
+    @Test
+    void getPhase_stopsAfterTheWebServerDrainedRequests() {
+        // The web server stops in phase DEFAULT_PHASE - 2048, after its graceful shutdown in DEFAULT_PHASE - 1024.
+        assertThat(recorder().getPhase()).isLessThan(SmartLifecycle.DEFAULT_PHASE - 2048);
+    }
+
+    private DealRejectRecorder recorder() {
+        return new DealRejectRecorder(repository, JsonMapper.builder().build(), new DealImportMetrics(meterRegistry),
+                properties);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<DealRejectRow> written() {
+        ArgumentCaptor<List<DealRejectRow>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repository, atLeastOnce()).insert(captor.capture());
+        List<DealRejectRow> rows = new ArrayList<>();
+        captor.getAllValues().forEach(rows::addAll);
+        return rows;
+    }
+}
@@ -0,0 +1,79 @@
+package com.bloomberg.analyzer.deals;
+
+import com.bloomberg.analyzer.deals.api.dto.DealImportRequest;
+import com.bloomberg.analyzer.deals.api.dto.DealRejectPage;
+import com.bloomberg.analyzer.deals.api.dto.DealRejectResubmission;
+import com.bloomberg.analyzer.deals.api.dto.DealRowResult;
+import com.bloomberg.analyzer.deals.api.dto.DealsImportResponse;
+import com.bloomberg.analyzer.deals.persistence.DealRejectRepository;
+import com.bloomberg.analyzer.deals.persistence.DealRejectRow;
+import com.bloomberg.analyzer.deals.service.DealImportService;
+import com.bloomberg.analyzer.deals.service.DealRejectService;
+import com.bloomberg.analyzer.deals.service.InvalidDealQueryException;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class DealRejectServiceTest {
+
+    private static final Instant REJECTED_AT = Instant.parse("2026-01-05T10:15:30Z");
+
+    private final DealRejectRepository repository = mock(DealRejectRepository.class);
+    private final DealImportService importService = mock(DealImportService.class);
+    private final DealRejectService service =
+            new DealRejectService(repository, importService, JsonMapper.builder().build());
+
+    @Test
+    void page_fetchesOneExtraRowAndChainsCursor() {
+        when(repository.findPage("DUPLICATE", null, 0, 3)).thenReturn(List.of(reject(1, null), reject(2, null), reject(3, null)));
+        when(repository.findPage("DUPLICATE", null, 2, 3)).thenReturn(List.of(reject(3, null)));
+
+        DealRejectPage first = service.page(DealRowResult.Status.DUPLICATE, null, null, 2);
+        DealRejectPage second = service.page(DealRowResult.Status.DUPLICATE, null, first.nextCursor(), 2);
+
+        assertThat(first.rejects()).extracting(r -> r.id()).containsExactly(1L, 2L);
+        assertThat(second.rejects()).extracting(r -> r.id()).containsExactly(3L);
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    void page_rejectsInvalidCursor() {
+        assertThatThrownBy(() -> service.page(null, null, "not-a-cursor", 10))
+                .isInstanceOf(InvalidDealQueryException.class);
+    }
+
+    @Test
+    void resubmit_reimportsParsablePayloadsAndRemovesThem() {
+        String payload = "{\"dealId\":\"D-1\",\"fromCurrency\":\"USD\",\"toCurrency\":\"EUR\","
+                + "\"timestamp\":\"2026-01-05T10:15:30Z\",\"amount\":1.00}";
+        when(repository.findByIds(List.of(1L, 2L, 3L))).thenReturn(List.of(reject(1, payload), reject(2, "{oops")));
+        DealsImportResponse imported = new DealsImportResponse(1, 1, 0, 0, 0, List.of());
+        when(importService.importDeals(anyList())).thenReturn(imported);
+
+        DealRejectResubmission result = service.resubmit(List.of(1L, 2L, 3L));
+
+        verify(importService).importDeals(List.of(new DealImportRequest(
+                "D-1", "USD", "EUR", Instant.parse("2026-01-05T10:15:30Z"), new BigDecimal("1.00"))));
+        verify(repository).delete(List.of(1L));
+        assertThat(result.resubmitted()).containsExactly(1L);
+        assertThat(result.skipped()).containsExactly(2L, 3L);
+        assertThat(result.result()).isEqualTo(imported);
+    }
+
+    @Test
+    void resubmit_requiresIds() {
+        assertThatThrownBy(() -> service.resubmit(List.of()))
+                .isInstanceOf(InvalidDealQueryException.class);
+    }
+
+    private static DealRejectRow reject(long id, String payload) {
+        return new DealRejectRow(id, 0, "D-" + id, "DUPLICATE", List.of("duplicate dealId"), payload, REJECTED_AT);
+    }
+}
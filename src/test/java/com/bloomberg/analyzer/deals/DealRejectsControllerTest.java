@@ -0,0 +1,83 @@
+package com.bloomberg.analyzer.deals;
+
+import com.bloomberg.analyzer.common.error.GlobalExceptionHandler;
+import com.bloomberg.analyzer.deals.api.DealRejectsController;
+import com.bloomberg.analyzer.deals.api.dto.DealRejectPage;
+import com.bloomberg.analyzer.deals.api.dto.DealRejectResubmission;
+import com.bloomberg.analyzer.deals.api.dto.DealRejectView;
+import com.bloomberg.analyzer.deals.api.dto.DealRowResult;
+import com.bloomberg.analyzer.deals.api.dto.DealsImportResponse;
+import com.bloomberg.analyzer.deals.service.DealImportAdmission;
+import com.bloomberg.analyzer.deals.service.DealImportMetrics;
+import com.bloomberg.analyzer.deals.service.DealRejectService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = DealRejectsController.class)
+@Import(GlobalExceptionHandler.class)
+class DealRejectsControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockitoBean
+    DealRejectService dealRejectService;
+
+    @MockitoBean
+    DealImportMetrics dealImportMetrics;
+
+    @MockitoBean
+    DealImportAdmission dealImportAdmission;
+
+    @Test
+    void rejects_returnsPageFilteredByStatus() throws Exception {
+        DealRejectView reject = new DealRejectView(7, 3, "D-1", DealRowResult.Status.VALIDATION_FAILED,
+                List.of("amount: must be greater than 0"), "{}", Instant.parse("2026-01-05T10:15:30Z"));
+        when(dealRejectService.page(DealRowResult.Status.VALIDATION_FAILED, null, null, 100))
+                .thenReturn(new DealRejectPage(List.of(reject), "Nw"));
+
+        mockMvc.perform(get("/api/v1/deals/rejects").param("status", "VALIDATION_FAILED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rejects[0].id").value(7))
+                .andExpect(jsonPath("$.rejects[0].index").value(3))
+                .andExpect(jsonPath("$.rejects[0].errors[0]").value("amount: must be greater than 0"))
+                .andExpect(jsonPath("$.nextCursor").value("Nw"));
+    }
+
+    @Test
+    void rejects_unknownStatus_returns400() throws Exception {
+        mockMvc.perform(get("/api/v1/deals/rejects").param("status", "NOPE"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(dealRejectService);
+    }
+
+    @Test
+    void resubmit_returnsImportResult() throws Exception {
+        when(dealRejectService.resubmit(List.of(7L, 8L))).thenReturn(new DealRejectResubmission(
+                List.of(7L), List.of(8L), new DealsImportResponse(1, 1, 0, 0, 0, List.of())));
+
+        mockMvc.perform(post("/api/v1/deals/rejects/resubmit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[7,8]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resubmitted[0]").value(7))
+                .andExpect(jsonPath("$.skipped[0]").value(8))
+                .andExpect(jsonPath("$.result.imported").value(1));
+    }
+}
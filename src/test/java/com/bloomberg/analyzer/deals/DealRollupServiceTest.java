@@ -0,0 +1,78 @@
+package com.bloomberg.analyzer.deals;
+
+import com.bloomberg.analyzer.deals.api.dto.DealRollupBucket;
+import com.bloomberg.analyzer.deals.persistence.DealEntity;
+import com.bloomberg.analyzer.deals.persistence.DealRollupRepository;
+import com.bloomberg.analyzer.deals.persistence.DealRollupRow;
+import com.bloomberg.analyzer.deals.persistence.RollupResolution;
+import com.bloomberg.analyzer.deals.service.DealRollupService;
+import com.bloomberg.analyzer.deals.service.InvalidDealQueryException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class DealRollupServiceTest {
+
+    private final DealRollupRepository repository = mock(DealRollupRepository.class);
+    private final DealRollupService service = new DealRollupService(repository);
+
+    @Test
+    void onImported_aggregatesChunkIntoOneSortedDeltaPerBucket() {
+        service.onImported(List.of(
+                deal("D-1", "USD", "JPY", "2026-01-05T10:15:30Z", "2.00"),
+                deal("D-2", "EUR", "USD", "2026-01-05T10:15:59Z", "1.50"),
+                deal("D-3", "EUR", "USD", "2026-01-05T10:16:01Z", "2.50"),
+                deal("D-4", "EUR", "USD", "2026-01-05T10:15:00Z", "1.00")
+        ));
+
+        verify(repository).add(RollupResolution.MINUTE, List.of(
+                new DealRollupRow("EUR", "USD", Instant.parse("2026-01-05T10:15:00Z"), 2, new BigDecimal("2.50")),
+                new DealRollupRow("EUR", "USD", Instant.parse("2026-01-05T10:16:00Z"), 1, new BigDecimal("2.50")),
+                new DealRollupRow("USD", "JPY", Instant.parse("2026-01-05T10:15:00Z"), 1, new BigDecimal("2.00"))
+        ));
+        verify(repository).add(RollupResolution.HOUR, List.of(
+                new DealRollupRow("EUR", "USD", Instant.parse("2026-01-05T10:00:00Z"), 3, new BigDecimal("5.00")),
+                new DealRollupRow("USD", "JPY", Instant.parse("2026-01-05T10:00:00Z"), 1, new BigDecimal("2.00"))
+        ));
+        verify(repository).add(RollupResolution.DAY, List.of(
+                new DealRollupRow("EUR", "USD", Instant.parse("2026-01-05T00:00:00Z"), 3, new BigDecimal("5.00")),
+                new DealRollupRow("USD", "JPY", Instant.parse("2026-01-05T00:00:00Z"), 1, new BigDecimal("2.00"))
+        ));
+    }
+
+    @Test
+    void find_clampsLimitAndNormalizesPair() {
+        Instant from = Instant.parse("2026-01-05T00:00:00Z");
+        Instant to = Instant.parse("2026-01-06T00:00:00Z");
+        when(repository.find(RollupResolution.HOUR, from, to, "EUR", "USD", 10_000)).thenReturn(List.of(
+                new DealRollupRow("EUR", "USD", Instant.parse("2026-01-05T10:00:00Z"), 3, new BigDecimal("5.00"))));
+
+        List<DealRollupBucket> buckets = service.find(RollupResolution.HOUR, from, to, "eur", "usd", 1_000_000);
+
+        assertThat(buckets).containsExactly(
+                new DealRollupBucket("EUR", "USD", Instant.parse("2026-01-05T10:00:00Z"), 3, new BigDecimal("5.00")));
+    }
+
+    @Test
+    void find_rejectsEmptyRangeAndHalfPair() {
+        Instant at = Instant.parse("2026-01-05T00:00:00Z");
+
+        assertThatThrownBy(() -> service.find(RollupResolution.DAY, at, at, null, null, 10))
+                .isInstanceOf(InvalidDealQueryException.class);
+        assertThatThrownBy(() -> service.find(RollupResolution.DAY, at, at.plusSeconds(60), "EUR", null, 10))
+                .isInstanceOf(InvalidDealQueryException.class);
+        verify(repository, never()).find(any(), any(), any(), any(), any(), anyInt());
+    }
+
+    private static DealEntity deal(String dealId, String from, String to, String ts, String amount) {
+        return new DealEntity(dealId, from, to, Instant.parse(ts), new BigDecimal(amount));
+    }
+}
@@ -0,0 +1,67 @@
+package com.bloomberg.analyzer.deals;
+
+import com.bloomberg.analyzer.common.error.GlobalExceptionHandler;
+import com.bloomberg.analyzer.deals.api.DealRollupsController;
+import com.bloomberg.analyzer.deals.api.dto.DealRollupBucket;
+import com.bloomberg.analyzer.deals.persistence.RollupResolution;
+import com.bloomberg.analyzer.deals.service.DealImportAdmission;
+import com.bloomberg.analyzer.deals.service.DealImportMetrics;
+import com.bloomberg.analyzer.deals.service.DealRollupService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = DealRollupsController.class)
+@Import(GlobalExceptionHandler.class)
+class DealRollupsControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockitoBean
+    DealRollupService dealRollupService;
+
+    @MockitoBean
+    DealImportMetrics dealImportMetrics;
+
+    @MockitoBean
+    DealImportAdmission dealImportAdmission;
+
+    @Test
+    void rollups_returnsBucketsForPair() throws Exception {
+        Instant from = Instant.parse("2026-01-05T00:00:00Z");
+        Instant to = Instant.parse("2026-01-06T00:00:00Z");
+        when(dealRollupService.find(RollupResolution.MINUTE, from, to, "EUR", "USD", 1000)).thenReturn(List.of(
+                new DealRollupBucket("EUR", "USD", Instant.parse("2026-01-05T10:15:00Z"), 2, new BigDecimal("2.50"))));
+
+        mockMvc.perform(get("/api/v1/deals/rollups")
+                        .param("resolution", "minute")
+                        .param("from", "2026-01-05T00:00:00Z")
+                        .param("to", "2026-01-06T00:00:00Z")
+                        .param("fromCurrency", "EUR")
+                        .param("toCurrency", "USD"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].bucketStart").value("2026-01-05T10:15:00Z"))
+                .andExpect(jsonPath("$[0].dealCount").value(2))
+                .andExpect(jsonPath("$[0].totalAmount").value(2.50));
+    }
+
+    @Test
+    void rollups_missingRange_returns400() throws Exception {
+        mockMvc.perform(get("/api/v1/deals/rollups").param("from", "2026-01-05T00:00:00Z"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Missing required parameter 'to'"));
+    }
+}
@@ -0,0 +1,188 @@
+package com.bloomberg.analyzer.deals;
+
+import com.bloomberg.analyzer.common.error.GlobalExceptionHandler;
+import com.bloomberg.analyzer.deals.api.DealsController;
+import com.bloomberg.analyzer.deals.api.dto.DealLookupResponse;
+import com.bloomberg.analyzer.deals.api.dto.DealPage;
+import com.bloomberg.analyzer.deals.api.dto.DealView;
+import com.bloomberg.analyzer.deals.service.DealImportAdmission;
+import com.bloomberg.analyzer.deals.service.DealImportMetrics;
+import com.bloomberg.analyzer.deals.service.DealLookupService;
+import com.bloomberg.analyzer.deals.service.DealNotFoundException;
+import com.bloomberg.analyzer.deals.service.DealQueryService;
+import com.bloomberg.analyzer.deals.service.InvalidDealQueryException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = DealsController.class)
+@Import(GlobalExceptionHandler.class)
+class DealsControllerTest {
+
+    private static final DealView DEAL = new DealView(
+            "D-1,A", "USD", "EUR", Instant.parse("2026-01-05T10:15:30Z"), new BigDecimal("1000.50"));
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockitoBean
+    DealQueryService dealQueryService;
+
+    @MockitoBean
+    DealLookupService dealLookupService;
+
+    @MockitoBean
+    DealImportMetrics dealImportMetrics;
+
+    @MockitoBean
+    DealImportAdmission dealImportAdmission;
+
+    @Test
+    void deals_returnsPageWithCursor() throws Exception {
+        Instant from = Instant.parse("2026-01-05T00:00:00Z");
+        when(dealQueryService.page(eq(from), isNull(), eq("USD"), isNull(), eq("abc"), eq(50)))
+                .thenReturn(new DealPage(List.of(DEAL), "next"));
+
+        mockMvc.perform(get("/api/v1/deals")
+                        .param("from", "2026-01-05T00:00:00Z")
+                        .param("fromCurrency", "USD")
+                        .param("cursor", "abc")
+                        .param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deals[0].dealId").value("D-1,A"))
+                .andExpect(jsonPath("$.deals[0].timestamp").value("2026-01-05T10:15:30Z"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void deals_invalidCursor_returns400() throws Exception {
+        when(dealQueryService.page(any(), any(), any(), any(), eq("bad"), eq(100)))
+                .thenThrow(new InvalidDealQueryException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/v1/deals").param("cursor", "bad"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Invalid cursor"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void export_csv_streamsQuotedRows() throws Exception {
+        doAnswer(inv -> {
+            inv.getArgument(1, Consumer.class).accept(DEAL);
+            return null;
+        }).when(dealQueryService).export(any(), any());
+
+        mockMvc.perform(get("/api/v1/deals/export").accept("text/csv"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("""
+                        dealId,fromCurrency,toCurrency,timestamp,amount
+                        "D-1,A",USD,EUR,2026-01-05T10:15:30Z,1000.50
+                        """));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void export_ndjson_streamsOneLinePerDeal() throws Exception {
+        doAnswer(inv -> {
+            Consumer<DealView> consumer = inv.getArgument(1, Consumer.class);
+            consumer.accept(DEAL);
+            consumer.accept(DEAL);
+            return null;
+        }).when(dealQueryService).export(any(), any());
+
+        String body = mockMvc.perform(get("/api/v1/deals/export").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.lines()).hasSize(2).allMatch(line -> line.contains("\"dealId\":\"D-1,A\""));
+    }
+
+    @Test
+    void export_invalidRange_returns400() throws Exception {
+        when(dealQueryService.validate(any(), any(), any(), any()))
+                .thenThrow(new InvalidDealQueryException("'from' must be before 'to'"));
+
+        mockMvc.perform(get("/api/v1/deals/export")
+                        .param("from", "2026-01-06T00:00:00Z")
+                        .param("to", "2026-01-05T00:00:00Z")
+                        .accept("text/csv"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.detail").value("'from' must be before 'to'"))
+                .andExpect(jsonPath("$.timestamp").exists());
+        verify(dealQueryService, never()).export(any(), any());
+    }
+
+    @Test
+    void export_unsupportedAccept_returns406() throws Exception {
+        mockMvc.perform(get("/api/v1/deals/export").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    @Test
+    void deal_idNamedLikeARoute_isLookedUp() throws Exception {
+        DealView deal = new DealView("export", "USD", "EUR", Instant.parse("2026-01-05T10:15:30Z"), BigDecimal.ONE);
+        when(dealLookupService.find("export")).thenReturn(deal);
+
+        mockMvc.perform(get("/api/v1/deals/by-id/{dealId}", "export"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.dealId").value("export"));
+    }
+
+    @Test
+    void deal_returnsDealById() throws Exception {
+        when(dealLookupService.find("D-1,A")).thenReturn(DEAL);
+
+        mockMvc.perform(get("/api/v1/deals/by-id/{dealId}", "D-1,A"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.dealId").value("D-1,A"))
+                .andExpect(jsonPath("$.amount").value(1000.50));
+    }
+
+    @Test
+    void deal_unknownId_returns404() throws Exception {
+        when(dealLookupService.find("D-9")).thenThrow(new DealNotFoundException("D-9"));
+
+        mockMvc.perform(get("/api/v1/deals/by-id/D-9"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.detail").value("Deal D-9 not found"));
+    }
+
+    @Test
+    void lookup_returnsFoundAndMissingIds() throws Exception {
+        when(dealLookupService.findAll(List.of("D-1,A", "D-9")))
+                .thenReturn(new DealLookupResponse(List.of(DEAL), List.of("D-9")));
+
+        mockMvc.perform(post("/api/v1/deals/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"dealIds": ["D-1,A", "D-9"]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deals[0].dealId").value("D-1,A"))
+                .andExpect(jsonPath("$.missing[0]").value("D-9"));
+    }
+}
@@ -2,25 +2,56 @@ package com.bloomberg.analyzer.deals;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.context.annotation.Import;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.bloomberg.analyzer.common.error.GlobalExceptionHandler;
+import com.bloomberg.analyzer.deals.api.DealBatchBinaryCodec;
 import com.bloomberg.analyzer.deals.api.DealsImportController;
+import com.bloomberg.analyzer.deals.api.dto.DealImportRequest;
 import com.bloomberg.analyzer.deals.api.dto.DealRowResult;
 import com.bloomberg.analyzer.deals.api.dto.DealsImportResponse;
+import com.bloomberg.analyzer.deals.service.DealImportAdmission;
+import com.bloomberg.analyzer.deals.service.DealImportLengthRequiredException;
+import com.bloomberg.analyzer.deals.service.DealImportMetrics;
+import com.bloomberg.analyzer.deals.service.DealImportMode;
+import com.bloomberg.analyzer.deals.service.DealImportReplayCache;
+import com.bloomberg.analyzer.deals.service.DealImportResponseMode;
 import com.bloomberg.analyzer.deals.service.DealImportService;
+import com.bloomberg.analyzer.deals.service.DealImportSummary;
+import com.bloomberg.analyzer.deals.service.DealImportThrottledException;
+import com.bloomberg.analyzer.deals.service.DealImportTooLargeException;
+import com.bloomberg.analyzer.deals.service.DealRowParseException;
 
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 @WebMvcTest(controllers = DealsImportController.class)
 @Import(GlobalExceptionHandler.class)
@@ -32,13 +63,69 @@ class DealsImportControllerTest {
     @MockitoBean
     DealImportService dealImportService;
 
+    @MockitoBean
+    DealImportMetrics dealImportMetrics;
+
+    @MockitoBean
+    DealImportAdmission dealImportAdmission;
+
+    @MockitoBean
+    DealImportReplayCache dealImportReplayCache;
+
+    @Test
+    void importDeals_notAdmitted_returns429WithRetryAfter() throws Exception {
+        when(dealImportAdmission.isEnabled()).thenReturn(true);
+        when(dealImportAdmission.acquire()).thenThrow(new DealImportThrottledException(
+                HttpStatus.TOO_MANY_REQUESTS, "Too many concurrent imports", Duration.ofMillis(1500)));
+
+        mockMvc.perform(post("/api/v1/deals/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+                .andExpect(jsonPath("$.detail").value("Too many concurrent imports"));
+
+        verifyNoInteractions(dealImportService);
+    }
+
+    @Test
+    void importDeals_bodyOfUnknownSize_returns411BeforeAcquiringSlot() throws Exception {
+        when(dealImportAdmission.isEnabled()).thenReturn(true);
+        doThrow(new DealImportLengthRequiredException("Request body must declare its Content-Length"))
+                .when(dealImportAdmission).checkRequestSize(-1L);
+
+        // Without content the mock request reports an unknown length, as a chunked body does.
+        mockMvc.perform(post("/api/v1/deals/import")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isLengthRequired())
+                .andExpect(jsonPath("$.detail").value("Request body must declare its Content-Length"));
+
+        verify(dealImportAdmission, never()).acquire();
+        verifyNoInteractions(dealImportService);
+    }
+
+    @Test
+    void importDeals_overSizeLimit_returns413BeforeAcquiringSlot() throws Exception {
+        when(dealImportAdmission.isEnabled()).thenReturn(true);
+        doThrow(new DealImportTooLargeException("Request body exceeds 2 bytes"))
+                .when(dealImportAdmission).checkRequestSize(anyLong());
+
+        mockMvc.perform(post("/api/v1/deals/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isContentTooLarge());
+
+        verify(dealImportAdmission, never()).acquire();
+        verifyNoInteractions(dealImportService);
+    }
+
     @Test
     void importDeals_returnsResponseFromService() throws Exception {
         DealsImportResponse resp = new DealsImportResponse(
                 1, 1, 0, 0, 0,
                 List.of(new DealRowResult(0, "D-1", DealRowResult.Status.IMPORTED, List.of()))
         );
-        when(dealImportService.importDeals(anyList())).thenReturn(resp);
+        when(dealImportService.importDeals(anyList(), eq(DealImportMode.BATCHED), eq(DealImportResponseMode.FULL))).thenReturn(resp);
 
         String body = """
                 [
@@ -53,6 +140,69 @@ class DealsImportControllerTest {
                 .andExpect(jsonPath("$.total").value(1))
                 .andExpect(jsonPath("$.imported").value(1))
                 .andExpect(jsonPath("$.rows[0].status").value("IMPORTED"));
+
+        verify(dealImportMetrics).recordParse(anyLong(), eq(1));
+    }
+
+    @Test
+    void importDeals_replayedBatch_returnsOriginalResponseWithoutImporting() throws Exception {
+        DealsImportResponse original = new DealsImportResponse(1, 1, 0, 0, 0,
+                List.of(new DealRowResult(0, "D-1", DealRowResult.Status.IMPORTED, List.of())));
+        when(dealImportReplayCache.isEnabled()).thenReturn(true);
+        when(dealImportReplayCache.execute(eq("batch-42"), anyList(), eq(DealImportMode.BATCHED),
+                eq(DealImportResponseMode.FULL), any())).thenReturn(new DealImportReplayCache.Outcome(original, true));
+
+        mockMvc.perform(post("/api/v1/deals/import")
+                        .header("Idempotency-Key", "batch-42")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.rows[0].status").value("IMPORTED"));
+
+        verifyNoInteractions(dealImportService);
+    }
+
+    @Test
+    void importDeals_binaryBatch_isBoundLikeJson() throws Exception {
+        DealImportRequest deal = new DealImportRequest("D-1", "USD", "EUR", Instant.parse("2026-01-05T10:15:30.123456789Z"),
+                new BigDecimal("1000.50"));
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DealBatchBinaryCodec.write(List.of(deal), body);
+        when(dealImportService.importDeals(eq(List.of(deal)), eq(DealImportMode.BATCHED), eq(DealImportResponseMode.FULL)))
+                .thenReturn(new DealsImportResponse(1, 1, 0, 0, 0, List.of()));
+
+        mockMvc.perform(post("/api/v1/deals/import")
+                        .contentType(DealBatchBinaryCodec.MEDIA_TYPE)
+                        .content(body.toByteArray()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.imported").value(1));
+    }
+
+    @Test
+    void importDeals_truncatedBinaryBatch_returns400ProblemDetail() throws Exception {
+        mockMvc.perform(post("/api/v1/deals/import")
+                        .contentType(DealBatchBinaryCodec.MEDIA_TYPE)
+                        .content(new byte[]{'D', 'L', 'B', '1', 0, 0, 0, 2, 1}))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.title").value("Bad Request"));
+
+        verifyNoInteractions(dealImportService);
+    }
+
+    @Test
+    void importDeals_cborBody_isBoundLikeJson() throws Exception {
+        DealImportRequest deal = new DealImportRequest("D-1", "USD", "EUR", Instant.parse("2026-01-05T10:15:30Z"),
+                new BigDecimal("1.00"));
+        when(dealImportService.importDeals(eq(List.of(deal)), eq(DealImportMode.BATCHED), eq(DealImportResponseMode.FULL)))
+                .thenReturn(new DealsImportResponse(1, 1, 0, 0, 0, List.of()));
+
+        mockMvc.perform(post("/api/v1/deals/import")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .content(CBORMapper.builder().build().writeValueAsBytes(List.of(deal))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1));
     }
 
     @Test
@@ -63,6 +213,81 @@ class DealsImportControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.title").value("Bad Request"));
     }
-}
 
+    @Test
+    void importDeals_copyMode_usesBulkLoad() throws Exception {
+        DealsImportResponse resp = new DealsImportResponse(1, 1, 0, 0, 0,
+                List.of(new DealRowResult(0, "D-1", DealRowResult.Status.IMPORTED, List.of())));
+        when(dealImportService.importDeals(anyList(), eq(DealImportMode.COPY), eq(DealImportResponseMode.FULL))).thenReturn(resp);
+
+        mockMvc.perform(post("/api/v1/deals/import")
+                        .param("mode", "COPY")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1));
+    }
+
+    @Test
+    void importDeals_summaryResponse_isPassedToService() throws Exception {
+        DealsImportResponse resp = new DealsImportResponse(1, 1, 0, 0, 0, List.of());
+        when(dealImportService.importDeals(anyList(), eq(DealImportMode.BATCHED), eq(DealImportResponseMode.SUMMARY))).thenReturn(resp);
+
+        mockMvc.perform(post("/api/v1/deals/import")
+                        .param("response", "summary")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rows").isEmpty());
+    }
+
+    @Test
+    void importDeals_unknownMode_returns400ProblemDetail() throws Exception {
+        mockMvc.perform(post("/api/v1/deals/import")
+                        .param("mode", "turbo")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.title").value("Bad Request"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importDealsNdjson_streamsOneResultLinePerRow() throws Exception {
+        when(dealImportService.importDeals(any(Iterator.class), any(Consumer.class))).thenAnswer(inv -> {
+            Iterator<DealImportRequest> rows = inv.getArgument(0);
+            Consumer<DealRowResult> sink = inv.getArgument(1);
+            int index = 0;
+            while (rows.hasNext()) {
+                try {
+                    DealImportRequest req = rows.next();
+                    sink.accept(new DealRowResult(index, req.dealId(), DealRowResult.Status.IMPORTED, List.of()));
+                } catch (DealRowParseException e) {
+                    sink.accept(new DealRowResult(index, null, DealRowResult.Status.VALIDATION_FAILED, List.of(e.getMessage())));
+                }
+                index++;
+            }
+            return new DealImportSummary(index, index - 1, 0, 1, 0);
+        });
+
+        String body = """
+                { "dealId":"D-1","fromCurrency":"USD","toCurrency":"EUR","timestamp":"2026-01-05T10:15:30Z","amount":"1.00" }
+
+                {not valid json
+                { "dealId":"D-2","fromCurrency":"USD","toCurrency":"EUR","timestamp":"2026-01-05T10:15:31Z","amount":"2.00" }
+                """;
 
+        mockMvc.perform(post("/api/v1/deals/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("""
+                        {"index":0,"dealId":"D-1","status":"IMPORTED","errors":[]}
+                        {"index":1,"dealId":null,"status":"VALIDATION_FAILED","errors":["malformed JSON"]}
+                        {"index":2,"dealId":"D-2","status":"IMPORTED","errors":[]}
+                        """));
+    }
+}
@@ -0,0 +1,51 @@
+package com.bloomberg.analyzer.deals;
+
+import com.bloomberg.analyzer.deals.api.dto.DealImportRequest;
+import com.bloomberg.analyzer.deals.service.BeanValidationDealRowValidator;
+import com.bloomberg.analyzer.deals.service.PrecompiledDealRowValidator;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrecompiledDealRowValidatorTest {
+
+    private static final Instant TS = Instant.parse("2026-01-05T10:15:30Z");
+
+    private final PrecompiledDealRowValidator precompiled = new PrecompiledDealRowValidator();
+    private final BeanValidationDealRowValidator beanValidation =
+            new BeanValidationDealRowValidator(Validation.buildDefaultValidatorFactory().getValidator());
+
+    static Stream<DealImportRequest> rows() {
+        return Stream.of(
+                new DealImportRequest("D-1", "USD", "EUR", TS, new BigDecimal("1.00")),
+                new DealImportRequest(null, null, null, null, null),
+                new DealImportRequest("", "", "", TS, BigDecimal.ZERO),
+                new DealImportRequest("   ", "   ", "\t", TS, new BigDecimal("-1")),
+                new DealImportRequest("D-2", "usd", "EURO", TS, new BigDecimal("0.0000000001")),
+                new DealImportRequest("D-3", "ZZZ", "XTS", TS, new BigDecimal("5")),
+                new DealImportRequest("D-4", "US1", "EU", TS, new BigDecimal("5")),
+                new DealImportRequest("D-5", "USD\n", "ÉUR", null, new BigDecimal("5"))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("rows")
+    void validate_matchesBeanValidationMessages(DealImportRequest row) {
+        assertThat(precompiled.validate(row)).containsExactlyInAnyOrderElementsOf(beanValidation.validate(row));
+    }
+
+    @Test
+    void validate_validRow_returnsSharedEmptyList() {
+        DealImportRequest row = new DealImportRequest("D-1", "USD", "EUR", TS, new BigDecimal("1.00"));
+
+        assertThat(precompiled.validate(row)).isSameAs(List.of());
+    }
+}